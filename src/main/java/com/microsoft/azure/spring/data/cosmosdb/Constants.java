@@ -19,9 +19,19 @@ public class Constants {
     public static final String DEFAULT_REPOSITORY_IMPLEMENT_POSTFIX = "Impl";
     public static final int DEFAULT_TIME_TO_LIVE = -1; // Indicates never expire
     public static final boolean DEFAULT_AUTO_CREATE_COLLECTION = true;
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    public static final int DEFAULT_DIRTY_TRACKING_CAPACITY = 10_000;
+    public static final int DEFAULT_IN_QUERY_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_PARTITION_FAN_OUT_LIMIT = 10;
+    public static final int DEFAULT_ID_PARTITION_KEY_BUCKETS = 16;
+    public static final int DEFAULT_BULK_CONCURRENCY_PER_PARTITION = 4;
+    public static final int DEFAULT_BULK_CONCURRENT_PARTITIONS = 16;
+    public static final int DEFAULT_BULK_THROTTLED_RETRIES = 10;
 
     public static final String ID_PROPERTY_NAME = "id";
 
+    public static final String ENTITY_MAPPER_CLASS_SUFFIX = "_CosmosEntityMapper";
+
     public static final String COSMOSDB_MODULE_NAME = "cosmosdb";
     public static final String COSMOSDB_MODULE_PREFIX = "cosmosdb";
     public static final String COSMOS_MAPPING_CONTEXT = "cosmosMappingContext";
@@ -8,6 +8,7 @@ package com.microsoft.azure.spring.data.cosmosdb;
 
 import com.azure.data.cosmos.ConnectionPolicy;
 import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosClientBuilder;
 import com.azure.data.cosmos.sync.CosmosSyncClient;
 import com.microsoft.azure.spring.data.cosmosdb.common.MacAddress;
 import com.microsoft.azure.spring.data.cosmosdb.common.PropertyLoader;
@@ -15,12 +16,13 @@ import com.microsoft.azure.spring.data.cosmosdb.common.TelemetrySender;
 import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
 import lombok.Getter;
 import lombok.NonNull;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.PostConstruct;
 
-public class CosmosDbFactory {
+public class CosmosDbFactory implements DisposableBean {
 
     @Getter
     private final CosmosDBConfig config;
@@ -39,38 +41,70 @@ public class CosmosDbFactory {
         return suffix;
     }
 
+    /**
+     * The SDK clients, built on first use and shared by the templates, as each client holds its own connection
+     * pool and caches of the account addresses and partitions.
+     */
+    private CosmosClient cosmosClient;
+
+    private CosmosSyncClient cosmosSyncClient;
+
+    private boolean closed;
+
     public CosmosDbFactory(@NonNull CosmosDBConfig config) {
         validateConfig(config);
 
         this.config = config;
-    }
 
-    public CosmosClient getCosmosClient() {
         final ConnectionPolicy policy = config.getConnectionPolicy();
-        final String userAgent = getUserAgentSuffix() + ";" + policy.userAgentSuffix();
+        policy.userAgentSuffix(getUserAgentSuffix() + ";" + policy.userAgentSuffix());
+    }
+
+    public synchronized CosmosClient getCosmosClient() {
+        Assert.state(!closed, "CosmosDbFactory is closed");
+
+        if (cosmosClient == null) {
+            cosmosClient = createClientBuilder().build();
+        }
+
+        return cosmosClient;
+    }
 
-        policy.userAgentSuffix(userAgent);
+    public synchronized CosmosSyncClient getCosmosSyncClient() {
+        Assert.state(!closed, "CosmosDbFactory is closed");
+
+        if (cosmosSyncClient == null) {
+            cosmosSyncClient = createClientBuilder().buildSyncClient();
+        }
+
+        return cosmosSyncClient;
+    }
+
+    private CosmosClientBuilder createClientBuilder() {
         return CosmosClient.builder()
                            .endpoint(config.getUri())
                            .key(config.getKey())
                            .cosmosKeyCredential(config.getCosmosKeyCredential())
-                           .connectionPolicy(policy)
-                           .consistencyLevel(config.getConsistencyLevel())
-                           .build();
+                           .connectionPolicy(config.getConnectionPolicy())
+                           .consistencyLevel(config.getConsistencyLevel());
     }
 
-    public CosmosSyncClient getCosmosSyncClient() {
-        final ConnectionPolicy policy = config.getConnectionPolicy();
-        final String userAgent = getUserAgentSuffix() + ";" + policy.userAgentSuffix();
+    /**
+     * Close the clients built by the factory, when the application context is closed.
+     */
+    @Override
+    public synchronized void destroy() {
+        closed = true;
 
-        policy.userAgentSuffix(userAgent);
-        return CosmosClient.builder()
-                       .endpoint(config.getUri())
-                       .key(config.getKey())
-                       .cosmosKeyCredential(config.getCosmosKeyCredential())
-                       .connectionPolicy(policy)
-                       .consistencyLevel(config.getConsistencyLevel())
-                       .buildSyncClient();
+        if (cosmosClient != null) {
+            cosmosClient.close();
+            cosmosClient = null;
+        }
+
+        if (cosmosSyncClient != null) {
+            cosmosSyncClient.close();
+            cosmosSyncClient = null;
+        }
     }
 
     private void validateConfig(@NonNull CosmosDBConfig config) {
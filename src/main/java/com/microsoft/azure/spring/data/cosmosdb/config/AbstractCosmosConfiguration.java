@@ -22,12 +22,15 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public abstract class AbstractCosmosConfiguration extends CosmosConfigurationSupport {
 
-    @Bean
+    /**
+     * The clients are owned and closed by the {@link CosmosDbFactory}, which shares them with the templates.
+     */
+    @Bean(destroyMethod = "")
     public CosmosClient cosmosClient(CosmosDBConfig config) {
         return this.cosmosDbFactory(config).getCosmosClient();
     }
 
-    @Bean
+    @Bean(destroyMethod = "")
     public CosmosSyncClient cosmosSyncClient(CosmosDBConfig config) {
         return this.cosmosDbFactory(config).getCosmosSyncClient();
     }
@@ -55,6 +58,9 @@ public abstract class AbstractCosmosConfiguration extends CosmosConfigurationSup
 
     @Bean
     public MappingCosmosConverter mappingCosmosConverter() throws ClassNotFoundException {
-        return new MappingCosmosConverter(this.cosmosMappingContext(), objectMapper);
+        final MappingCosmosConverter converter = new MappingCosmosConverter(this.cosmosMappingContext(), objectMapper);
+
+        converter.setCustomConversions(this.customConversions());
+        return converter;
     }
 }
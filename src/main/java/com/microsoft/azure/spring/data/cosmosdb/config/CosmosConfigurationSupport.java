@@ -7,6 +7,7 @@
 package com.microsoft.azure.spring.data.cosmosdb.config;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.ExpressionResolver;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosCustomConversions;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.config.BeanDefinition;
@@ -34,10 +35,21 @@ public abstract class CosmosConfigurationSupport {
     public CosmosMappingContext cosmosMappingContext() throws ClassNotFoundException {
         final CosmosMappingContext mappingContext = new CosmosMappingContext();
         mappingContext.setInitialEntitySet(getInitialEntitySet());
+        mappingContext.setSimpleTypeHolder(customConversions().getSimpleTypeHolder());
 
         return mappingContext;
     }
 
+    /**
+     * Custom conversions of CosmosDB values, override to register user converters.
+     *
+     * @return the custom conversions
+     */
+    @Bean
+    public CosmosCustomConversions customConversions() {
+        return new CosmosCustomConversions(Collections.emptyList());
+    }
+
     protected Collection<String> getMappingBasePackages() {
         final Package mappingBasePackage = getClass().getPackage();
         return Collections.singleton(mappingBasePackage == null ? null : mappingBasePackage.getName());
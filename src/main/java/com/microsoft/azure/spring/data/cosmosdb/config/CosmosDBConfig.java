@@ -41,6 +41,21 @@ public class CosmosDBConfig {
     @Setter
     private boolean populateQueryMetrics;
 
+    /**
+     * Skip the upserts of entities whose serialized form did not change since they were loaded or saved through
+     * the template. Assumes no other writer modifies or deletes the tracked documents in between.
+     */
+    @Setter
+    private boolean dirtyTracking;
+
+    /**
+     * Number of document partition keys remembered by id, so {@code findById} without a partition key can read the
+     * document directly instead of querying across partitions. Zero disables the cache. A document no longer found
+     * in its cached partition is looked up by query again.
+     */
+    @Setter
+    private int partitionKeyCacheSize;
+
     public static CosmosDBConfigBuilder builder(String uri, CosmosKeyCredential cosmosKeyCredential,
                                                   String database) {
         return defaultBuilder()
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Outcome of a bulk write, one result per entity in the order the entities were given. A failed write does not
+ * stop the others, so check {@link #isSuccessful()} or {@link #getFailures()}.
+ *
+ * @param <T> the entity type
+ */
+@Getter
+public final class BulkWriteResult<T> {
+
+    private final List<ItemResult<T>> items;
+
+    private final double requestCharge;
+
+    public BulkWriteResult(@NonNull List<ItemResult<T>> items) {
+        this.items = Collections.unmodifiableList(items);
+        this.requestCharge = items.stream().mapToDouble(ItemResult::getRequestCharge).sum();
+    }
+
+    public boolean isSuccessful() {
+        return items.stream().allMatch(ItemResult::isSuccessful);
+    }
+
+    public List<ItemResult<T>> getFailures() {
+        return items.stream().filter(item -> !item.isSuccessful()).collect(Collectors.toList());
+    }
+
+    /**
+     * Get the entities written, as read back from Cosmos DB.
+     *
+     * @return the entities, without the failed ones
+     */
+    public List<T> getEntities() {
+        return items.stream().filter(ItemResult::isSuccessful).map(ItemResult::getEntity)
+                    .collect(Collectors.toList());
+    }
+
+    @Override
+    public String toString() {
+        return "BulkWriteResult{"
+            + "items=" + items.size()
+            + ", failures=" + getFailures().size()
+            + ", requestCharge=" + requestCharge
+            + '}';
+    }
+
+    /**
+     * Outcome of writing one entity.
+     *
+     * @param <T> the entity type
+     */
+    @Getter
+    public static final class ItemResult<T> {
+
+        /**
+         * Position of the entity among the entities written.
+         */
+        private final int index;
+
+        /**
+         * The entity written, or the given entity if its write failed or was skipped as unchanged.
+         */
+        private final T entity;
+
+        /**
+         * Cause of the failure, null if the entity was written.
+         */
+        @Nullable
+        private final CosmosDBAccessException exception;
+
+        private final double requestCharge;
+
+        /**
+         * Number of times the write was retried after the service throttled it.
+         */
+        private final int throttledRetries;
+
+        public ItemResult(int index, @NonNull T entity, @Nullable CosmosDBAccessException exception,
+                          double requestCharge, int throttledRetries) {
+            this.index = index;
+            this.entity = entity;
+            this.exception = exception;
+            this.requestCharge = requestCharge;
+            this.throttledRetries = throttledRetries;
+        }
+
+        public boolean isSuccessful() {
+            return exception == null;
+        }
+    }
+}
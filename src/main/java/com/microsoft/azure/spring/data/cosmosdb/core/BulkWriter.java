@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosClientException;
+import com.azure.data.cosmos.CosmosItemResponse;
+import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.internal.HttpConstants;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
+import lombok.NonNull;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Writes many entities concurrently. The entities are grouped by partition key, the partitions are written in
+ * parallel with a bounded number of concurrent writes each, and a write still throttled after the retries of the
+ * SDK is retried after the delay asked by the service, growing exponentially, so the load backs off to the
+ * provisioned throughput instead of failing.
+ */
+final class BulkWriter {
+
+    private static final long MIN_THROTTLED_BACKOFF_MILLIS = 100;
+
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private BulkWriter() {
+    }
+
+    /**
+     * Write the entities.
+     *
+     * @param entities       the entities
+     * @param partitionKeyOf the partition key of an entity
+     * @param writer         the write of an entity to its partition, empty if the write is skipped
+     * @param reader         the entity written, read from the write response of an entity
+     * @param failureMessage the message of the exception reported for a failed write
+     * @param <T>            the entity type
+     * @return the result of each write
+     */
+    static <T> Mono<BulkWriteResult<T>> write(@NonNull List<T> entities,
+                                              @NonNull Function<T, PartitionKey> partitionKeyOf,
+                                              @NonNull BiFunction<T, PartitionKey, Mono<CosmosItemResponse>> writer,
+                                              @NonNull BiFunction<T, CosmosItemResponse, T> reader,
+                                              @NonNull String failureMessage) {
+        final List<PartitionKey> partitionKeys = new ArrayList<>(entities.size());
+        // The SDK partition key has no hash code, its JSON form identifies it.
+        final Map<String, List<Integer>> partitions = new LinkedHashMap<>();
+
+        for (int i = 0; i < entities.size(); i++) {
+            final PartitionKey partitionKey = partitionKeyOf.apply(entities.get(i));
+
+            partitionKeys.add(partitionKey);
+            partitions.computeIfAbsent(partitionKey.toString(), key -> new ArrayList<>()).add(i);
+        }
+
+        return Flux.fromIterable(partitions.values())
+                   .flatMap(indexes -> Flux.fromIterable(indexes)
+                           .flatMap(i -> writeItem(i, entities.get(i), partitionKeys.get(i), writer, reader,
+                               failureMessage), Constants.DEFAULT_BULK_CONCURRENCY_PER_PARTITION),
+                       Constants.DEFAULT_BULK_CONCURRENT_PARTITIONS)
+                   .collectSortedList(Comparator.comparingInt(BulkWriteResult.ItemResult::getIndex))
+                   .map(BulkWriteResult::new);
+    }
+
+    private static <T> Mono<BulkWriteResult.ItemResult<T>> writeItem(
+        int index, T entity, PartitionKey partitionKey,
+        BiFunction<T, PartitionKey, Mono<CosmosItemResponse>> writer, BiFunction<T, CosmosItemResponse, T> reader,
+        String failureMessage) {
+        final AtomicInteger throttledRetries = new AtomicInteger();
+
+        return Mono.defer(() -> writer.apply(entity, partitionKey))
+                   .retryWhen(errors -> errors.flatMap(error -> backOffWhenThrottled(error, throttledRetries)))
+                   .map(response -> new BulkWriteResult.ItemResult<>(index, reader.apply(entity, response), null,
+                       response.requestCharge(), throttledRetries.get()))
+                   .defaultIfEmpty(new BulkWriteResult.ItemResult<>(index, entity, null, 0, 0))
+                   .onErrorResume(error -> Mono.just(new BulkWriteResult.ItemResult<>(index, entity,
+                       new CosmosDBAccessException(failureMessage, Exceptions.unwrap(error)), 0,
+                       throttledRetries.get())));
+    }
+
+    private static Mono<Long> backOffWhenThrottled(Throwable throwable, AtomicInteger throttledRetries) {
+        final Throwable error = Exceptions.unwrap(throwable);
+
+        if (!(error instanceof CosmosClientException)
+            || ((CosmosClientException) error).statusCode() != HttpConstants.StatusCodes.TOO_MANY_REQUESTS
+            || throttledRetries.get() >= Constants.DEFAULT_BULK_THROTTLED_RETRIES) {
+            return Mono.error(error);
+        }
+
+        final int retry = throttledRetries.getAndIncrement();
+        final long backOff = Math.max(((CosmosClientException) error).retryAfterInMilliseconds(),
+            MIN_THROTTLED_BACKOFF_MILLIS << Math.min(retry, MAX_BACKOFF_SHIFT));
+
+        return Mono.delay(Duration.ofMillis(backOff));
+    }
+}
@@ -0,0 +1,224 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CompactDocumentUtils;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.AggregateFunction;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Aggregate per group reduced on the client, as the SDK cannot run GROUP BY or DISTINCT queries across partitions.
+ * The query only selects the grouped and aggregated properties, and the documents are accumulated as they are
+ * streamed from the partitions, so they are never held in memory.
+ */
+final class ClientAggregation {
+
+    /**
+     * Aliases of the grouped and aggregated properties in the selected documents.
+     */
+    private static final String KEY_ALIAS = "groupKey";
+
+    private static final String VALUE_ALIAS = "groupValue";
+
+    private final DocumentQuery query;
+
+    private final Aggregation aggregation;
+
+    /**
+     * Alias of the aggregated property, the key alias when the grouped property is aggregated.
+     */
+    @Nullable
+    private final String valueName;
+
+    /**
+     * Values of the grouped and aggregated properties missing from the selected documents, see
+     * {@link CompactDocumentUtils#getMissingValue(CosmosPersistentEntity, String)}.
+     */
+    @Nullable
+    private final Object missingKey;
+
+    @Nullable
+    private final Object missingValue;
+
+    private final MappingCosmosConverter converter;
+
+    ClientAggregation(@NonNull DocumentQuery query, @NonNull String groupBy, @NonNull Aggregation aggregation,
+                      @NonNull MappingCosmosConverter converter, @NonNull Class<?> domainClass) {
+        final CosmosPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(domainClass);
+        final String property = aggregation.getProperty();
+        final Map<String, String> projection = new LinkedHashMap<>();
+
+        projection.put(groupBy, KEY_ALIAS);
+
+        if (property != null) {
+            projection.putIfAbsent(property, VALUE_ALIAS);
+        }
+
+        this.query = new DocumentQuery(query.getCriteria()).projectAs(projection);
+        this.aggregation = aggregation;
+        this.valueName = property == null ? null : projection.get(property);
+        this.missingKey = getMissingValue(groupBy, entity);
+        this.missingValue = property == null ? null : getMissingValue(property, entity);
+        this.converter = converter;
+    }
+
+    @Nullable
+    private static Object getMissingValue(String property, @Nullable CosmosPersistentEntity<?> entity) {
+        if (entity == null || property.contains(".")) {
+            return null;
+        }
+
+        return CompactDocumentUtils.getMissingValue(entity, property);
+    }
+
+    /**
+     * Get the query selecting the properties to accumulate.
+     *
+     * @return the query
+     */
+    DocumentQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Accumulate a selected document into its group.
+     *
+     * @param groups the accumulators by group key
+     * @param item   the selected document
+     */
+    void accumulate(@NonNull Map<Object, Accumulator> groups, @NonNull CosmosItemProperties item) {
+        final Object key = item.has(KEY_ALIAS) ? item.get(KEY_ALIAS) : missingKey;
+        final Accumulator accumulator = groups.computeIfAbsent(key, k -> new Accumulator(aggregation.getFunction()));
+
+        if (valueName == null) {
+            accumulator.accumulate(null);
+        } else if (item.has(valueName)) {
+            accumulator.accumulate(item.get(valueName));
+        } else if (missingValue != null) {
+            accumulator.accumulate(missingValue);
+        }
+    }
+
+    /**
+     * Convert the accumulated groups to the aggregate of each group key.
+     *
+     * @param groups     the accumulators by group key
+     * @param keyType    the type of the group keys
+     * @param resultType the type of the aggregates
+     * @param <K>        the type of the group keys
+     * @param <R>        the type of the aggregates
+     * @return the aggregates by group key, in order of first read
+     */
+    <K, R> Map<K, R> toResult(@NonNull Map<Object, Accumulator> groups, @NonNull Class<K> keyType,
+                              @NonNull Class<R> resultType) {
+        final Map<K, R> result = new LinkedHashMap<>(groups.size());
+
+        groups.forEach((key, accumulator) -> result.put(converter.convertValue(key, keyType),
+            converter.convertValue(accumulator.getResult(), resultType)));
+
+        return result;
+    }
+
+    /**
+     * Convert the accumulated group keys to the distinct values of the grouped property, the documents without
+     * the property or with a null value are skipped.
+     *
+     * @param groups    the accumulators by group key
+     * @param valueType the type of the values
+     * @param <V>       the type of the values
+     * @return the distinct values, in order of first read
+     */
+    <V> List<V> toDistinctValues(@NonNull Map<Object, Accumulator> groups, @NonNull Class<V> valueType) {
+        return groups.keySet().stream()
+                     .filter(Objects::nonNull)
+                     .map(key -> converter.convertValue(key, valueType))
+                     .collect(Collectors.toList());
+    }
+
+    /**
+     * Accumulator of the values of a group, following Cosmos DB: undefined values are skipped, the sum and average
+     * of non numeric values are undefined, and the minimum and maximum follow the ORDER BY order of types.
+     */
+    static final class Accumulator {
+
+        private final AggregateFunction function;
+
+        private long count;
+
+        private long longSum;
+
+        private double doubleSum;
+
+        private boolean integral = true;
+
+        private boolean numeric = true;
+
+        @Nullable
+        private Object min;
+
+        @Nullable
+        private Object max;
+
+        Accumulator(@NonNull AggregateFunction function) {
+            this.function = function;
+        }
+
+        void accumulate(@Nullable Object value) {
+            count++;
+
+            if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                longSum += ((Number) value).longValue();
+                doubleSum += ((Number) value).doubleValue();
+            } else if (value instanceof Number) {
+                integral = false;
+                doubleSum += ((Number) value).doubleValue();
+            } else {
+                numeric = false;
+            }
+
+            if (count == 1 || PartitionQueryPlan.compareValues(value, min) < 0) {
+                min = value;
+            }
+
+            if (count == 1 || PartitionQueryPlan.compareValues(value, max) > 0) {
+                max = value;
+            }
+        }
+
+        @Nullable
+        Object getResult() {
+            switch (function) {
+                case COUNT:
+                    return count;
+                case SUM:
+                    if (!numeric) {
+                        return null;
+                    }
+                    return integral ? (Object) longSum : (Object) doubleSum;
+                case AVG:
+                    return numeric && count > 0 ? doubleSum / count : null;
+                case MIN:
+                    return min;
+                case MAX:
+                    return max;
+                default:
+                    throw new IllegalStateException("Unsupported aggregate function: " + function);
+            }
+        }
+    }
+}
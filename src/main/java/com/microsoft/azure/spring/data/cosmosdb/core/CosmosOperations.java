@@ -8,13 +8,18 @@ package com.microsoft.azure.spring.data.cosmosdb.core;
 
 import com.azure.data.cosmos.CosmosContainerProperties;
 import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.SqlQuerySpec;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QueryExplanation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.Map;
 
 public interface CosmosOperations {
 
@@ -40,6 +45,10 @@ public interface CosmosOperations {
 
     <T> void upsert(String collectionName, T object, PartitionKey partitionKey);
 
+    <T> BulkWriteResult<T> insertAll(String collectionName, Iterable<T> entities);
+
+    <T> BulkWriteResult<T> upsertAll(String collectionName, Iterable<T> entities);
+
     void deleteById(String collectionName, Object id, PartitionKey partitionKey);
 
     void deleteAll(String collectionName, Class<?> domainClass);
@@ -50,6 +59,10 @@ public interface CosmosOperations {
 
     <T> List<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    <T> List<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String collectionName);
+
+    <T> List<T> runQuery(SqlQuerySpec querySpec, Class<?> domainClass, Class<T> returnType, String collectionName);
+
     <T, ID> List<T> findByIds(Iterable<ID> ids, Class<T> entityClass, String collectionName);
 
     <T> Boolean exists(DocumentQuery query, Class<T> entityClass, String collectionName);
@@ -58,9 +71,24 @@ public interface CosmosOperations {
 
     <T> Page<T> paginationQuery(DocumentQuery query, Class<T> domainClass, String collectionName);
 
+    <T> Slice<T> sliceQuery(DocumentQuery query, Class<T> domainClass, String collectionName);
+
     long count(String collectionName);
 
     <T> long count(DocumentQuery query, Class<T> domainClass, String collectionName);
 
+    <R> R aggregate(DocumentQuery query, Class<?> domainClass, Aggregation aggregation, Class<R> resultType,
+                    String collectionName);
+
+    <K, R> Map<K, R> groupBy(DocumentQuery query, Class<?> domainClass, String groupBy, Class<K> keyType,
+                             Aggregation aggregation, Class<R> resultType, String collectionName);
+
+    <V> List<V> distinct(DocumentQuery query, Class<?> domainClass, String property, Class<V> valueType,
+                         String collectionName);
+
+    QueryExplanation explain(DocumentQuery query, Class<?> domainClass);
+
+    QueryExplanation explain(DocumentQuery query, Class<?> domainClass, String collectionName);
+
     MappingCosmosConverter getConverter();
 }
@@ -9,6 +9,7 @@ package com.microsoft.azure.spring.data.cosmosdb.core;
 import com.azure.data.cosmos.AccessCondition;
 import com.azure.data.cosmos.AccessConditionType;
 import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosContainer;
 import com.azure.data.cosmos.CosmosContainerProperties;
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.CosmosItemProperties;
@@ -18,16 +19,21 @@ import com.azure.data.cosmos.FeedOptions;
 import com.azure.data.cosmos.FeedResponse;
 import com.azure.data.cosmos.PartitionKey;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.AggregateQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.ExistsQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageImpl;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QueryExplanation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
@@ -35,6 +41,8 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.lang.NonNull;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -44,7 +52,10 @@ import reactor.core.publisher.Mono;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,6 +74,8 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
     private final boolean isPopulateQueryMetrics;
 
     private final CosmosClient cosmosClient;
+    private final DocumentChangeTracker changeTracker;
+    private final PartitionKeyCache partitionKeyCache;
     private Function<Class<?>, CosmosEntityInformation<?, ?>> entityInfoCreator =
             Memoizer.memoize(this::getCosmosEntityInformation);
 
@@ -78,6 +91,11 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         this.cosmosClient = cosmosDbFactory.getCosmosClient();
         this.responseDiagnosticsProcessor = cosmosDbFactory.getConfig().getResponseDiagnosticsProcessor();
         this.isPopulateQueryMetrics = cosmosDbFactory.getConfig().isPopulateQueryMetrics();
+        this.changeTracker = cosmosDbFactory.getConfig().isDirtyTracking() ?
+            DocumentChangeTracker.of(cosmosDbFactory) : null;
+
+        final int partitionKeyCacheSize = cosmosDbFactory.getConfig().getPartitionKeyCacheSize();
+        this.partitionKeyCache = partitionKeyCacheSize > 0 ? new PartitionKeyCache(partitionKeyCacheSize) : null;
     }
 
     public void setApplicationContext(ApplicationContext applicationContext) throws BeansException {
@@ -114,7 +132,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             .block();
 
         assert response != null;
-        return mappingCosmosConverter.read(domainClass, response.properties());
+        return toDomainObject(domainClass, response.properties(), collectionName);
     }
 
     public <T> T findById(Object id, Class<T> entityClass) {
@@ -129,43 +147,62 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.notNull(partitionKey, "partitionKey should not be null");
         assertValidId(id);
 
-        final String collectionName = getCollectionName(entityClass);
-        return cosmosClient
-            .getDatabase(databaseName)
-            .getContainer(collectionName)
-            .getItem(id.toString(), partitionKey)
-            .read()
-            .flatMap(cosmosItemResponse -> {
-                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                    cosmosItemResponse, null);
-                return Mono.justOrEmpty(toDomainObject(entityClass,
-                    cosmosItemResponse.properties()));
-            })
-            .onErrorResume(throwable ->
-                findAPIExceptionHandler("Failed to find item", throwable))
-            .block();
+        return readItem(getCollectionName(entityClass), id.toString(), entityClass, partitionKey);
     }
 
+    /**
+     * Find an entity by id alone. The document is read directly when its partition key is known, i.e. the
+     * container is not partitioned, the id is or derives the partition key, or the partition key of the id is
+     * cached, and queried across partitions otherwise.
+     */
     public <T> T findById(String collectionName, Object id, Class<T> domainClass) {
         Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
         Assert.notNull(domainClass, "entityClass should not be null");
         assertValidId(id);
 
-        final String query = String.format("select * from root where root.id = '%s'", id.toString());
+        final CosmosEntityInformation<?, ?> entityInfo = entityInfoCreator.apply(domainClass);
+        final String partitionKeyName = entityInfo.getPartitionKeyFieldName();
+        final String idPartitionKeyValue = entityInfo.getIdPartitionKeyValue(id);
+
+        if (partitionKeyName == null) {
+            return readItem(collectionName, id.toString(), domainClass, PartitionKey.None);
+        } else if (idPartitionKeyValue != null) {
+            return readItem(collectionName, id.toString(), domainClass, new PartitionKey(idPartitionKeyValue));
+        } else if (partitionKeyName.equals(Constants.ID_PROPERTY_NAME)) {
+            return readItem(collectionName, id.toString(), domainClass, new PartitionKey(id.toString()));
+        }
+
+        final PartitionKey cachedPartitionKey = partitionKeyCache == null ? null :
+            partitionKeyCache.get(collectionName, id.toString());
+
+        if (cachedPartitionKey != null) {
+            final T entity = readItem(collectionName, id.toString(), domainClass, cachedPartitionKey);
+
+            if (entity != null) {
+                return entity;
+            }
+
+            partitionKeyCache.evict(collectionName, id.toString());
+        }
+
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL,
+            Constants.ID_PROPERTY_NAME, Collections.singletonList(id)));
+        final SqlQuerySpec querySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(query);
         final FeedOptions options = new FeedOptions();
         options.enableCrossPartitionQuery(true);
         options.populateQueryMetrics(isPopulateQueryMetrics);
         return cosmosClient
             .getDatabase(databaseName)
             .getContainer(collectionName)
-            .queryItems(query, options)
+            .queryItems(querySpec, options)
             .flatMap(cosmosItemFeedResponse -> {
                 fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                     null, cosmosItemFeedResponse);
                 return Mono.justOrEmpty(cosmosItemFeedResponse
                     .results()
                     .stream()
-                    .map(cosmosItem -> mappingCosmosConverter.read(domainClass, cosmosItem))
+                    .map(cosmosItem -> toDomainObject(domainClass, cosmosItem, collectionName))
                     .findFirst());
             })
             .onErrorResume(throwable ->
@@ -173,6 +210,23 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             .blockFirst();
     }
 
+    private <T> T readItem(String collectionName, String id, Class<T> domainClass, PartitionKey partitionKey) {
+        return cosmosClient
+            .getDatabase(databaseName)
+            .getContainer(collectionName)
+            .getItem(id, partitionKey)
+            .read()
+            .flatMap(cosmosItemResponse -> {
+                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    cosmosItemResponse, null);
+                return Mono.justOrEmpty(toDomainObject(domainClass,
+                    cosmosItemResponse.properties(), collectionName));
+            })
+            .onErrorResume(throwable ->
+                findAPIExceptionHandler("Failed to find item", throwable))
+            .block();
+    }
+
     public <T> void upsert(T object, PartitionKey partitionKey) {
         Assert.notNull(object, "Upsert object should not be null");
 
@@ -184,6 +238,12 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.notNull(object, "Upsert object should not be null");
 
         final CosmosItemProperties originalItem = mappingCosmosConverter.writeCosmosItemProperties(object);
+        final byte[] digest = changeTracker == null ? null : changeTracker.digest(originalItem);
+
+        if (digest != null && isUnchanged(collectionName, object.getClass(), originalItem, digest)) {
+            log.debug("skip upsert of unchanged item {} in collection {}", originalItem.id(), collectionName);
+            return;
+        }
 
         log.debug("execute upsert item in database {} collection {}", this.databaseName, collectionName);
 
@@ -201,6 +261,87 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             .block();
 
         assert cosmosItemResponse != null;
+        if (digest != null) {
+            changeTracker.track(collectionName, originalItem.id(), digest);
+        }
+
+        cachePartitionKey(collectionName, object.getClass(), originalItem);
+    }
+
+    /**
+     * Insert entities in bulk, concurrently by partition, see {@link BulkWriter}.
+     *
+     * @param collectionName the container name
+     * @param entities       the entities
+     * @param <T>            the entity type
+     * @return the result of each insert, a failed insert does not stop the others
+     */
+    @Override
+    public <T> BulkWriteResult<T> insertAll(String collectionName, Iterable<T> entities) {
+        return bulkWrite(collectionName, entities, false);
+    }
+
+    /**
+     * Upsert entities in bulk, concurrently by partition, see {@link BulkWriter}.
+     *
+     * @param collectionName the container name
+     * @param entities       the entities
+     * @param <T>            the entity type
+     * @return the result of each upsert, a failed upsert does not stop the others
+     */
+    @Override
+    public <T> BulkWriteResult<T> upsertAll(String collectionName, Iterable<T> entities) {
+        return bulkWrite(collectionName, entities, true);
+    }
+
+    private <T> BulkWriteResult<T> bulkWrite(String collectionName, Iterable<T> entities, boolean upsert) {
+        Assert.hasText(collectionName, "collectionName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final List<T> entityList = new ArrayList<>();
+        entities.forEach(entityList::add);
+
+        log.debug("execute bulk {} of {} items in database {} collection {}", upsert ? "upsert" : "insert",
+            entityList.size(), this.databaseName, collectionName);
+
+        final CosmosContainer container = cosmosClient.getDatabase(this.databaseName).getContainer(collectionName);
+
+        return BulkWriter.write(entityList, this::getPartitionKey, (entity, partitionKey) -> {
+            final CosmosItemProperties item = mappingCosmosConverter.writeCosmosItemProperties(entity);
+            final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
+
+            if (!upsert) {
+                return container.createItem(item, options)
+                                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                                    response, null));
+            } else if (changeTracker != null
+                && isUnchanged(collectionName, entity.getClass(), item, changeTracker.digest(item))) {
+                return Mono.empty();
+            }
+
+            applyVersioning(entity.getClass(), item, options);
+
+            return container.upsertItem(item, options)
+                            .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                                response, null));
+        }, (entity, response) -> {
+            @SuppressWarnings("unchecked")
+            final Class<T> domainClass = (Class<T>) entity.getClass();
+
+            return toDomainObject(domainClass, response.properties(), collectionName);
+        }, upsert ? "Failed to upsert item" : "Failed to insert item").block();
+    }
+
+    /**
+     * Get the partition key of an entity, filling a partition key derived from the entity first.
+     */
+    @SuppressWarnings("unchecked")
+    private PartitionKey getPartitionKey(Object entity) {
+        final CosmosEntityInformation<Object, ?> information =
+            (CosmosEntityInformation<Object, ?>) entityInfoCreator.apply(entity.getClass());
+        final Object partitionKeyValue = information.getPartitionKeyFieldValue(entity);
+
+        return StringUtils.isEmpty(partitionKeyValue) ? PartitionKey.None : new PartitionKey(partitionKeyValue);
     }
 
     public <T> List<T> findAll(Class<T> entityClass) {
@@ -217,7 +358,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
 
         final List<CosmosItemProperties> items = findItems(query, domainClass, collectionName);
         return items.stream()
-                .map(d -> getConverter().read(domainClass, d))
+                .map(d -> toDomainObject(domainClass, d, collectionName))
                 .collect(Collectors.toList());
     }
 
@@ -240,6 +381,14 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                     .onErrorResume(throwable ->
                         exceptionHandler("Failed to delete collection",  throwable))
                     .block();
+
+        if (changeTracker != null) {
+            changeTracker.untrackAll(collectionName);
+        }
+
+        if (partitionKeyCache != null) {
+            partitionKeyCache.evictAll(collectionName);
+        }
     }
 
     public String getCollectionName(Class<?> domainClass) {
@@ -292,6 +441,14 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                     .onErrorResume(throwable ->
                         exceptionHandler("Failed to delete item", throwable))
                     .block();
+
+        if (changeTracker != null) {
+            changeTracker.untrack(collectionName, id.toString());
+        }
+
+        if (partitionKeyCache != null) {
+            partitionKeyCache.evict(collectionName, id.toString());
+        }
     }
 
     @Override
@@ -300,9 +457,31 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.notNull(entityClass, "entityClass should not be null.");
         Assert.hasText(collectionName, "collection should not be null, empty or only whitespaces");
 
-        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "id",
-                Collections.singletonList(ids)));
-        return find(query, entityClass, collectionName);
+        final List<Object> idList = new ArrayList<>();
+        ids.forEach(idList::add);
+
+        if (idList.isEmpty()) {
+            return new ArrayList<>();
+        } else if (idList.size() <= Constants.DEFAULT_IN_QUERY_CHUNK_SIZE) {
+            final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "id",
+                    Collections.singletonList(idList)));
+            return find(query, entityClass, collectionName);
+        }
+
+        // Large id lists are queried in bounded chunks, concurrently, the results are kept in the order of the chunks.
+        final List<CosmosItemProperties> items = Flux
+            .range(0, (idList.size() - 1) / Constants.DEFAULT_IN_QUERY_CHUNK_SIZE + 1)
+            .map(i -> idList.subList(i * Constants.DEFAULT_IN_QUERY_CHUNK_SIZE,
+                Math.min((i + 1) * Constants.DEFAULT_IN_QUERY_CHUNK_SIZE, idList.size())))
+            .flatMapSequential(chunk -> queryItems(new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "id",
+                Collections.singletonList(chunk))), entityClass, collectionName))
+            .collectList()
+            .block();
+
+        assert items != null;
+        return items.stream()
+                    .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties, collectionName))
+                    .collect(Collectors.toList());
     }
 
     public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
@@ -312,12 +491,79 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
 
         return findItems(query, domainClass, collectionName)
             .stream()
-            .map(cosmosItemProperties -> toDomainObject(domainClass, cosmosItemProperties))
+            .map(cosmosItemProperties -> toDomainObject(domainClass, cosmosItemProperties, collectionName))
             .collect(Collectors.toList());
     }
 
+    @Override
+    public <T> List<T> find(@NonNull DocumentQuery query, @NonNull Class<?> domainClass, @NonNull Class<T> returnType,
+                            String collectionName) {
+        Assert.notNull(query, "DocumentQuery should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(collectionName, "container should not be null, empty or only whitespaces");
+
+        return findItems(query, domainClass, collectionName)
+            .stream()
+            .map(cosmosItemProperties -> mappingCosmosConverter.readProjection(domainClass, returnType,
+                cosmosItemProperties))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Run a Cosmos DB SQL query across partitions.
+     *
+     * @param querySpec      the query
+     * @param domainClass    the domain class of the queried documents
+     * @param returnType     the domain class, a projection of it, or the type of the values selected by
+     *                       {@code SELECT VALUE}, which the SDK only supports for numbers and booleans
+     * @param collectionName the container name
+     * @param <T>            the result type
+     * @return the results
+     */
+    @Override
+    public <T> List<T> runQuery(@NonNull SqlQuerySpec querySpec, @NonNull Class<?> domainClass,
+                                @NonNull Class<T> returnType, String collectionName) {
+        Assert.notNull(querySpec, "querySpec should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(collectionName, "container should not be null, empty or only whitespaces");
+
+        final FeedOptions options = new FeedOptions();
+        options.enableCrossPartitionQuery(true);
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+
+        final List<CosmosItemProperties> items = executeQuery(querySpec, collectionName, options)
+            .flatMap(cosmosItemFeedResponse -> {
+                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor, null, cosmosItemFeedResponse);
+                return Flux.fromIterable(cosmosItemFeedResponse.results());
+            })
+            .collectList()
+            .block();
+
+        assert items != null;
+        return items.stream()
+                    .map(item -> toQueryResult(domainClass, returnType, item, collectionName))
+                    .collect(Collectors.toList());
+    }
+
     public <T> Boolean exists(@NonNull DocumentQuery query, @NonNull Class<T> domainClass, String collectionName) {
-        return this.find(query, domainClass, collectionName).size() > 0;
+        final SqlQuerySpec querySpec =
+            new ExistsQueryGenerator(mappingCosmosConverter, domainClass).generateCosmos(query);
+        final FeedOptions options = new FeedOptions();
+
+        options.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+        pinSinglePartition(options, query, domainClass);
+
+        return executeQuery(querySpec, collectionName, options)
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to check existence", throwable))
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    null, response))
+                .flatMapIterable(FeedResponse::results)
+                .hasElements()
+                .block();
     }
 
     /**
@@ -358,8 +604,26 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         return paginationQuery(query, domainClass, collectionName);
     }
 
+    /**
+     * Query a page of the query and count the total elements of the query, the count is skipped for the
+     * following pages of a {@link CosmosPageRequest#reuseTotal()} request.
+     */
     @Override
     public <T> Page<T> paginationQuery(DocumentQuery query, Class<T> domainClass, String collectionName) {
+        final Slice<T> slice = sliceQuery(query, domainClass, collectionName);
+        final CosmosPageRequest pageRequest = (CosmosPageRequest) slice.getPageable();
+        final Long countedTotal = pageRequest.getTotal();
+        final long total = countedTotal == null ? count(query, domainClass, collectionName) : countedTotal;
+
+        return new CosmosPageImpl<>(slice.getContent(), pageRequest.withTotal(total), total);
+    }
+
+    /**
+     * Query a page of the query without counting the total elements, there is a next slice as long as the
+     * query returns a continuation token.
+     */
+    @Override
+    public <T> Slice<T> sliceQuery(DocumentQuery query, Class<T> domainClass, String collectionName) {
         Assert.isTrue(query.getPageable().getPageSize() > 0, "pageable should have page size larger than 0");
         Assert.hasText(collectionName, "container should not be null, empty or only whitespaces");
 
@@ -372,8 +636,10 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         feedOptions.maxItemCount(pageable.getPageSize());
         feedOptions.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
+        pinSinglePartition(feedOptions, query, domainClass);
 
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        final SqlQuerySpec sqlQuerySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(query);
         final FeedResponse<CosmosItemProperties> feedResponse = cosmosClient
             .getDatabase(this.databaseName)
             .getContainer(collectionName)
@@ -396,11 +662,10 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
                 continue;
             }
 
-            final T entity = mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+            final T entity = toDomainObject(domainClass, cosmosItemProperties, collectionName);
             result.add(entity);
         }
 
-        final long total = count(query, domainClass, collectionName);
         final int contentSize = result.size();
 
         int pageSize;
@@ -416,13 +681,19 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             pageSize = pageable.getPageSize();
         }
 
-        final CosmosPageRequest pageRequest = CosmosPageRequest.of(pageable.getOffset(),
+        CosmosPageRequest pageRequest = CosmosPageRequest.of(pageable.getOffset(),
             pageable.getPageNumber(),
             pageSize,
             feedResponse.continuationToken(),
             query.getSort());
 
-        return new CosmosPageImpl<>(result, pageRequest, total);
+        if (pageable instanceof CosmosPageRequest && ((CosmosPageRequest) pageable).isTotalReused()) {
+            final Long total = ((CosmosPageRequest) pageable).getTotal();
+
+            pageRequest = total == null ? pageRequest.reuseTotal() : pageRequest.reuseTotal().withTotal(total);
+        }
+
+        return new SliceImpl<>(result, pageRequest, feedResponse.continuationToken() != null);
     }
 
     @Override
@@ -430,7 +701,7 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         Assert.hasText(collectionName, "container name should not be empty");
 
         final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
-        final Long count = getCountValue(query, true, collectionName);
+        final Long count = getCountValue(query, null, true, collectionName);
         assert count != null;
         return count;
     }
@@ -442,23 +713,132 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
 
         final boolean isCrossPartitionQuery =
                 query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
-        final Long count = getCountValue(query, isCrossPartitionQuery, collectionName);
+        final Long count = getCountValue(query, domainClass, isCrossPartitionQuery, collectionName);
         assert count != null;
         return count;
     }
 
+    @Override
+    public <R> R aggregate(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                           @NonNull Aggregation aggregation, @NonNull Class<R> resultType, String collectionName) {
+        Assert.notNull(aggregation, "aggregation should not be null");
+        Assert.hasText(collectionName, "container name should not be empty");
+
+        // The sort, limit and projection of the query do not apply to its aggregate value.
+        final DocumentQuery aggregateQuery = new DocumentQuery(query.getCriteria());
+        final AggregateQueryGenerator generator =
+            new AggregateQueryGenerator(mappingCosmosConverter, domainClass, aggregation);
+        final SqlQuerySpec querySpec = generator.generateCosmos(aggregateQuery);
+        final FeedOptions options = new FeedOptions();
+
+        options.enableCrossPartitionQuery(aggregateQuery.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+        pinSinglePartition(options, aggregateQuery, domainClass);
+
+        return executeQuery(querySpec, collectionName, options)
+                .doOnNext(response -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    null, response))
+                .flatMapIterable(FeedResponse::results)
+                .filter(item -> item.get(COUNT_VALUE_KEY) != null)
+                .next()
+                .map(item -> toQueryResult(domainClass, resultType, item, collectionName))
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to aggregate", throwable))
+                .block();
+    }
+
+    @Override
+    public <K, R> Map<K, R> groupBy(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                    @NonNull String groupBy, @NonNull Class<K> keyType,
+                                    @NonNull Aggregation aggregation, @NonNull Class<R> resultType,
+                                    String collectionName) {
+        Assert.hasText(groupBy, "groupBy should have text");
+        Assert.notNull(aggregation, "aggregation should not be null");
+        Assert.hasText(collectionName, "container name should not be empty");
+
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, groupBy, aggregation, mappingCosmosConverter, domainClass);
+
+        return queryItems(clientAggregation.getQuery(), domainClass, collectionName)
+                .collect(LinkedHashMap<Object, ClientAggregation.Accumulator>::new, clientAggregation::accumulate)
+                .map(groups -> clientAggregation.toResult(groups, keyType, resultType))
+                .block();
+    }
+
+    @Override
+    public <V> List<V> distinct(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                @NonNull String property, @NonNull Class<V> valueType, String collectionName) {
+        Assert.hasText(property, "property should have text");
+        Assert.hasText(collectionName, "container name should not be empty");
+
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, property, Aggregation.count(), mappingCosmosConverter, domainClass);
+
+        return queryItems(clientAggregation.getQuery(), domainClass, collectionName)
+                .collect(LinkedHashMap<Object, ClientAggregation.Accumulator>::new, clientAggregation::accumulate)
+                .map(groups -> clientAggregation.toDistinctValues(groups, valueType))
+                .block();
+    }
+
+    @Override
+    public QueryExplanation explain(@NonNull DocumentQuery query, @NonNull Class<?> domainClass) {
+        return explain(query, domainClass, getCollectionName(domainClass));
+    }
+
+    @Override
+    public QueryExplanation explain(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                    String collectionName) {
+        Assert.notNull(domainClass, "domainClass should not be null");
+        Assert.hasText(collectionName, "container name should not be empty");
+
+        final PartitionQueryPlan plan = planPartitions(query, domainClass);
+        final DocumentQuery projectedQuery = plan.projectSortProperties(query);
+        final SqlQuerySpec querySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(projectedQuery);
+
+        if (!isPopulateQueryMetrics) {
+            return new QueryExplanation(querySpec, plan.isCrossPartition(), plan.getPartitionKeys(), null);
+        }
+
+        final FeedOptions feedOptions = new FeedOptions();
+        feedOptions.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        feedOptions.populateQueryMetrics(true);
+
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        // Only the first page of each query is read, as a sample of its cost.
+        final List<FeedResponse<CosmosItemProperties>> firstPages = Flux.fromIterable(plan.getFeedOptions(feedOptions))
+                .flatMap(options -> executeQuery(querySpec, collectionName, options).next())
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to explain query", throwable))
+                .collectList()
+                .block();
+
+        return new QueryExplanation(querySpec, plan.isCrossPartition(), plan.getPartitionKeys(),
+            firstPages == null ? null : QueryExplanation.SampleExecution.of(firstPages));
+    }
+
     @Override
     public MappingCosmosConverter getConverter() {
         return this.mappingCosmosConverter;
     }
 
-    private Long getCountValue(DocumentQuery query, boolean isCrossPartitionQuery, String containerName) {
-        final SqlQuerySpec querySpec = new CountQueryGenerator().generateCosmos(query);
+    private Long getCountValue(DocumentQuery query, Class<?> domainClass, boolean isCrossPartitionQuery,
+                               String containerName) {
+        final CountQueryGenerator generator = domainClass == null ? new CountQueryGenerator(mappingCosmosConverter) :
+            new CountQueryGenerator(mappingCosmosConverter, domainClass);
+        final SqlQuerySpec querySpec = generator.generateCosmos(query);
         final FeedOptions options = new FeedOptions();
 
         options.enableCrossPartitionQuery(isCrossPartitionQuery);
         options.populateQueryMetrics(isPopulateQueryMetrics);
 
+        if (domainClass != null) {
+            pinSinglePartition(options, query, domainClass);
+        }
+
         return executeQuery(querySpec, containerName, options)
                 .onErrorResume(throwable ->
                     exceptionHandler("Failed to get count value", throwable))
@@ -488,6 +868,20 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         return Collections.singletonList(entityInfo.getPartitionKeyFieldName());
     }
 
+    private PartitionQueryPlan planPartitions(DocumentQuery query, Class<?> domainClass) {
+        return PartitionQueryPlan.of(query, entityInfoCreator.apply(domainClass), mappingCosmosConverter,
+            Constants.DEFAULT_PARTITION_FAN_OUT_LIMIT);
+    }
+
+    /**
+     * Queries which cannot be fanned out, e.g. aggregates and pages, are only pinned to a single partition.
+     */
+    private void pinSinglePartition(FeedOptions options, DocumentQuery query, Class<?> domainClass) {
+        final Optional<PartitionKey> partitionKey = planPartitions(query, domainClass).getSinglePartitionKey();
+
+        partitionKey.ifPresent(key -> options.partitionKey(key).enableCrossPartitionQuery(false));
+    }
+
     private void assertValidId(Object id) {
         Assert.notNull(id, "id should not be null");
         if (id instanceof String) {
@@ -498,26 +892,45 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
     private List<CosmosItemProperties> findItems(@NonNull DocumentQuery query,
                                                  @NonNull Class<?> domainClass,
                                                  @NonNull String containerName) {
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        return queryItems(query, domainClass, containerName)
+                .collectList()
+                .block();
+    }
+
+    private Flux<CosmosItemProperties> queryItems(@NonNull DocumentQuery query,
+                                                  @NonNull Class<?> domainClass,
+                                                  @NonNull String containerName) {
+        final PartitionQueryPlan plan = planPartitions(query, domainClass);
+        final DocumentQuery projectedQuery = plan.projectSortProperties(query);
+        final SqlQuerySpec sqlQuerySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(projectedQuery);
         final boolean isCrossPartitionQuery =
                 query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
         final FeedOptions feedOptions = new FeedOptions();
         feedOptions.enableCrossPartitionQuery(isCrossPartitionQuery);
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
 
-        return cosmosClient
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        final List<Flux<CosmosItemProperties>> results = plan.getFeedOptions(feedOptions).stream()
+            .map(options -> cosmosClient
                 .getDatabase(this.databaseName)
                 .getContainer(containerName)
-                .queryItems(sqlQuerySpec, feedOptions)
+                .queryItems(sqlQuerySpec, options)
                 .flatMap(cosmosItemFeedResponse -> {
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         null, cosmosItemFeedResponse);
                     return Flux.fromIterable(cosmosItemFeedResponse.results());
-                })
+                }))
+            .collect(Collectors.toList());
+        final Flux<CosmosItemProperties> items = plan.merge(results);
+
+        // Cancel the query once the limit is read instead of requesting the remaining pages.
+        return (query.isLimited() ? items.take(query.getLimit()) : items)
                 .onErrorResume(throwable ->
-                    exceptionHandler("Failed to find items", throwable))
-                .collectList()
-                .block();
+                    exceptionHandler("Failed to find items", throwable));
     }
 
     private CosmosItemResponse deleteItem(@NonNull CosmosItemProperties cosmosItemProperties,
@@ -539,6 +952,14 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
         final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
         applyVersioning(domainClass, cosmosItemProperties, options);
 
+        if (changeTracker != null) {
+            changeTracker.untrack(containerName, cosmosItemProperties.id());
+        }
+
+        if (partitionKeyCache != null) {
+            partitionKeyCache.evict(containerName, cosmosItemProperties.id());
+        }
+
         return cosmosClient
             .getDatabase(this.databaseName)
             .getContainer(containerName)
@@ -551,8 +972,57 @@ public class CosmosTemplate implements CosmosOperations, ApplicationContextAware
             .block();
     }
 
-    private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties) {
-        return mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+    /**
+     * The SDK wraps the numbers and booleans selected by {@code SELECT VALUE} as aggregate values.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T toQueryResult(@NonNull Class<?> domainClass, @NonNull Class<T> returnType,
+                                CosmosItemProperties cosmosItemProperties, String containerName) {
+        if (cosmosItemProperties.has(COUNT_VALUE_KEY)) {
+            return mappingCosmosConverter.convertValue(cosmosItemProperties.get(COUNT_VALUE_KEY), returnType);
+        } else if (returnType.isAssignableFrom(domainClass)) {
+            return (T) toDomainObject(domainClass, cosmosItemProperties, containerName);
+        }
+
+        return mappingCosmosConverter.readProjection(domainClass, returnType, cosmosItemProperties);
+    }
+
+    private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties,
+                                 String containerName) {
+        final T entity = mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+
+        if (changeTracker != null) {
+            changeTracker.track(containerName, cosmosItemProperties.id(), changeTracker.digest(cosmosItemProperties));
+        }
+
+        cachePartitionKey(containerName, domainClass, cosmosItemProperties);
+
+        return entity;
+    }
+
+    /**
+     * Remember the partition key of a document read or written, unless its id alone already locates it.
+     */
+    private void cachePartitionKey(String containerName, Class<?> domainClass,
+                                   CosmosItemProperties cosmosItemProperties) {
+        if (partitionKeyCache == null) {
+            return;
+        }
+
+        final String partitionKeyName = entityInfoCreator.apply(domainClass).getPartitionKeyFieldName();
+
+        if (partitionKeyName != null && !partitionKeyName.equals(Constants.ID_PROPERTY_NAME)) {
+            partitionKeyCache.put(containerName, cosmosItemProperties.id(), cosmosItemProperties.get(partitionKeyName));
+        }
+    }
+
+    /**
+     * Versioned entities are always written, so the write checks their etag.
+     */
+    private boolean isUnchanged(String collectionName, Class<?> domainClass, CosmosItemProperties item,
+                                byte[] digest) {
+        return !entityInfoCreator.apply(domainClass).isVersioned()
+            && changeTracker.isUnchanged(collectionName, item.id(), digest);
     }
 
     private void applyVersioning(Class<?> domainClass,
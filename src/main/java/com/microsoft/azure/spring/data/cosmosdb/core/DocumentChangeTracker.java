@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosItemPropertiesUtils;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
+import lombok.NonNull;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Records a digest of the documents written or read by the templates of a {@link CosmosDbFactory}, by container
+ * and id, so writing back an unchanged document can be skipped. The least recently used digests are evicted beyond
+ * the capacity.
+ * <p>
+ * The templates of a factory share its tracker, so a write by either template replaces the digest recorded when the
+ * other read the document. Writes of versioned entities are never skipped, as they check the etag of the entity.
+ * <p>
+ * The digest is computed from the stored document, without the system properties Cosmos DB adds to it, so a
+ * document read and the same document written back have the same digest, whichever template reads or writes it.
+ * Documents holding properties the entity does not map are never found unchanged.
+ */
+final class DocumentChangeTracker {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final List<String> SYSTEM_PROPERTIES = Arrays.asList("_rid", "_self", "_etag", "_ts",
+        "_attachments");
+
+    private static final TypeReference<Map<String, Object>> PROPERTIES_TYPE =
+        new TypeReference<Map<String, Object>>() {
+        };
+
+    /**
+     * Trackers by factory, weakly referenced so that a closed factory does not retain its tracker.
+     */
+    private static final Map<CosmosDbFactory, DocumentChangeTracker> TRACKERS =
+        Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    /**
+     * Writes the properties in key order, Cosmos DB does not guarantee to keep the order they are written in.
+     */
+    private final ObjectWriter canonicalWriter =
+        objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+
+    private final ItemCache<byte[]> digests;
+
+    DocumentChangeTracker(int capacity) {
+        this.digests = new ItemCache<>(capacity);
+    }
+
+    /**
+     * Get the tracker shared by the templates of a factory.
+     *
+     * @param cosmosDbFactory the factory of the template
+     * @return the tracker
+     */
+    static DocumentChangeTracker of(@NonNull CosmosDbFactory cosmosDbFactory) {
+        return TRACKERS.computeIfAbsent(cosmosDbFactory,
+            factory -> new DocumentChangeTracker(Constants.DEFAULT_DIRTY_TRACKING_CAPACITY));
+    }
+
+    /**
+     * Compute the digest of a document, as written by the converter or read from Cosmos DB.
+     *
+     * @param document the document
+     * @return the digest
+     */
+    byte[] digest(@NonNull CosmosItemProperties document) {
+        try {
+            final MessageDigest messageDigest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            final Map<String, Object> properties = objectMapper.convertValue(
+                CosmosItemPropertiesUtils.getObjectNode(document, objectMapper), PROPERTIES_TYPE);
+
+            properties.keySet().removeAll(SYSTEM_PROPERTIES);
+
+            return messageDigest.digest(canonicalWriter.writeValueAsBytes(properties));
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new CosmosDBAccessException("Failed to compute the digest of document " + document.id(), e);
+        }
+    }
+
+    boolean isUnchanged(@NonNull String containerName, String id, @NonNull byte[] digest) {
+        return Arrays.equals(digests.get(containerName, id), digest);
+    }
+
+    void track(@NonNull String containerName, String id, @NonNull byte[] digest) {
+        digests.put(containerName, id, digest);
+    }
+
+    void untrack(@NonNull String containerName, String id) {
+        digests.remove(containerName, id);
+    }
+
+    void untrackAll(@NonNull String containerName) {
+        digests.removeAll(containerName);
+    }
+}
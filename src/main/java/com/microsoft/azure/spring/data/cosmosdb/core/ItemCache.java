@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Values kept by a template for the documents it reads or writes, by container and id. The least recently used
+ * values are evicted beyond the capacity.
+ *
+ * @param <V> the value type
+ */
+final class ItemCache<V> {
+
+    private final Map<String, V> values;
+
+    ItemCache(int capacity) {
+        this.values = Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    @Nullable
+    V get(@NonNull String containerName, String id) {
+        return id == null ? null : values.get(getKey(containerName, id));
+    }
+
+    void put(@NonNull String containerName, String id, @NonNull V value) {
+        if (id != null) {
+            values.put(getKey(containerName, id), value);
+        }
+    }
+
+    void remove(@NonNull String containerName, String id) {
+        if (id != null) {
+            values.remove(getKey(containerName, id));
+        }
+    }
+
+    void removeAll(@NonNull String containerName) {
+        final String prefix = getKey(containerName, "");
+
+        synchronized (values) {
+            values.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Container names and ids cannot contain a slash.
+     */
+    private static String getKey(String containerName, String id) {
+        return containerName + "/" + id;
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.PartitionKey;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+/**
+ * Records the partition key of the documents written or read by a template, by container and id, so a lookup by id
+ * alone can be a point read instead of a query across partitions. The least recently used keys are evicted beyond
+ * the capacity.
+ */
+final class PartitionKeyCache {
+
+    private final ItemCache<PartitionKey> partitionKeys;
+
+    PartitionKeyCache(int capacity) {
+        this.partitionKeys = new ItemCache<>(capacity);
+    }
+
+    @Nullable
+    PartitionKey get(@NonNull String containerName, @NonNull String id) {
+        return partitionKeys.get(containerName, id);
+    }
+
+    void put(@NonNull String containerName, String id, @Nullable Object partitionKeyValue) {
+        if (partitionKeyValue != null) {
+            partitionKeys.put(containerName, id, new PartitionKey(partitionKeyValue));
+        }
+    }
+
+    void evict(@NonNull String containerName, String id) {
+        partitionKeys.remove(containerName, id);
+    }
+
+    void evictAll(@NonNull String containerName) {
+        partitionKeys.removeAll(containerName);
+    }
+}
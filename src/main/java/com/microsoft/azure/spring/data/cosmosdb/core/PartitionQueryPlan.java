@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.FeedOptions;
+import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Partitions read by a query, planned from the partition key values its criteria can match, directly or through
+ * the properties the partition key is derived from. A query matching a single value is pinned to its partition,
+ * and a query matching a few values is fanned out as parallel single partition queries, whose results are merged
+ * in the order of the query sort.
+ */
+final class PartitionQueryPlan {
+
+    /**
+     * Partition keys of the single partition queries, null if the query reads across partitions.
+     */
+    @Nullable
+    private final List<PartitionKey> partitionKeys;
+
+    @Nullable
+    private final Comparator<CosmosItemProperties> comparator;
+
+    private PartitionQueryPlan(@Nullable List<PartitionKey> partitionKeys,
+                               @Nullable Comparator<CosmosItemProperties> comparator) {
+        this.partitionKeys = partitionKeys;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Plan the partitions read by a query.
+     *
+     * @param query       the query
+     * @param information the information of the domain type
+     * @param converter   the converter of the template
+     * @param fanOutLimit the maximum number of single partition queries
+     * @return the plan
+     */
+    static PartitionQueryPlan of(@NonNull DocumentQuery query, @NonNull CosmosEntityInformation<?, ?> information,
+                                 @NonNull MappingCosmosConverter converter, int fanOutLimit) {
+        final Optional<Set<Object>> values = information.getPartitionKeyValues(query);
+        final Class<?> domainClass = information.getJavaType();
+
+        if (!values.isPresent() || values.get().size() > fanOutLimit) {
+            return new PartitionQueryPlan(null, null);
+        }
+
+        final List<PartitionKey> partitionKeys = values.get().stream()
+                                                       .map(v -> new PartitionKey(converter.convertToCosmosDbValue(v)))
+                                                       .collect(Collectors.toList());
+
+        return new PartitionQueryPlan(partitionKeys, toComparator(query.getSort(), converter, domainClass));
+    }
+
+    boolean isCrossPartition() {
+        return partitionKeys == null;
+    }
+
+    /**
+     * Get the partition keys of the single partition queries.
+     *
+     * @return the partition keys, empty if the query reads across partitions
+     */
+    List<PartitionKey> getPartitionKeys() {
+        return partitionKeys == null ? Collections.emptyList() : partitionKeys;
+    }
+
+    /**
+     * Get the partition key of a query reading a single partition.
+     *
+     * @return the partition key, empty if the query reads no or several partitions
+     */
+    Optional<PartitionKey> getSinglePartitionKey() {
+        return partitionKeys != null && partitionKeys.size() == 1 ? Optional.of(partitionKeys.get(0)) :
+            Optional.empty();
+    }
+
+    /**
+     * Get the options of each query to run, a copy of the given options per single partition query.
+     *
+     * @param options the options of the query across partitions
+     * @return the options
+     */
+    List<FeedOptions> getFeedOptions(@NonNull FeedOptions options) {
+        if (partitionKeys == null) {
+            return Collections.singletonList(options);
+        }
+
+        return partitionKeys.stream()
+                            .map(key -> new FeedOptions(options).partitionKey(key).enableCrossPartitionQuery(false))
+                            .collect(Collectors.toList());
+    }
+
+    /**
+     * Add the sort properties to the projection of a query whose results are merged, since the merge compares the
+     * documents on them. Only the top level property of a nested sort path is selected, as Cosmos DB returns a
+     * selected nested property under its last name.
+     *
+     * @param query the query to run, which is not modified
+     * @return a copy of the query with the extended projection, or the given query if its projection is complete
+     */
+    DocumentQuery projectSortProperties(@NonNull DocumentQuery query) {
+        if (comparator == null || getPartitionKeys().size() < 2 || query.getProjection().isEmpty()) {
+            return query;
+        }
+
+        final Set<String> projection = new LinkedHashSet<>(query.getProjection());
+
+        for (final Sort.Order order : query.getSort()) {
+            projection.add(order.getProperty().split("\\.")[0]);
+        }
+
+        return projection.size() > query.getProjection().size() ? query.copy().project(projection) : query;
+    }
+
+    /**
+     * Merge the results of the queries run with {@link #getFeedOptions(FeedOptions)}, keeping the query sort. The
+     * queries must select the sort properties, see {@link #projectSortProperties(DocumentQuery)}.
+     *
+     * @param results the results of each query
+     * @return the merged results
+     */
+    @SuppressWarnings("unchecked")
+    Flux<CosmosItemProperties> merge(@NonNull List<Flux<CosmosItemProperties>> results) {
+        if (results.isEmpty()) {
+            return Flux.empty();
+        } else if (results.size() == 1) {
+            return results.get(0);
+        }
+
+        final Flux<CosmosItemProperties>[] sources = results.toArray(new Flux[0]);
+
+        return comparator == null ? Flux.merge(sources) : Flux.mergeOrdered(comparator, sources);
+    }
+
+    @Nullable
+    private static Comparator<CosmosItemProperties> toComparator(@NonNull Sort sort,
+                                                                 @NonNull MappingCosmosConverter converter,
+                                                                 @NonNull Class<?> domainClass) {
+        if (sort.isUnsorted()) {
+            return null;
+        }
+
+        final CosmosPersistentEntity<?> entity = converter.getMappingContext().getPersistentEntity(domainClass);
+        final List<Comparator<CosmosItemProperties>> comparators = new ArrayList<>();
+
+        for (final Sort.Order order : sort) {
+            final List<String> path = Arrays.asList(order.getProperty().split("\\."));
+
+            if (entity != null && entity.isCompact()) {
+                path.set(0, entity.getStoredName(path.get(0)));
+            }
+
+            final Comparator<CosmosItemProperties> comparator =
+                Comparator.comparing(item -> item.getObjectByPath(path), PartitionQueryPlan::compareValues);
+
+            comparators.add(order.isDescending() ? comparator.reversed() : comparator);
+        }
+
+        return comparators.stream().reduce(Comparator::thenComparing).orElse(null);
+    }
+
+    /**
+     * Compare values in the order of Cosmos DB ORDER BY, i.e. undefined and null, booleans, numbers, then strings.
+     */
+    static int compareValues(@Nullable Object left, @Nullable Object right) {
+        final int rank = Integer.compare(rankOf(left), rankOf(right));
+
+        if (rank != 0 || left == null || right == null) {
+            return rank;
+        } else if (left instanceof Boolean) {
+            return ((Boolean) left).compareTo((Boolean) right);
+        } else if (left instanceof Number) {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        } else if (left instanceof String) {
+            return ((String) left).compareTo((String) right);
+        }
+
+        return 0;
+    }
+
+    private static int rankOf(@Nullable Object value) {
+        if (value == null) {
+            return 0;
+        } else if (value instanceof Boolean) {
+            return 1;
+        } else if (value instanceof Number) {
+            return 2;
+        } else if (value instanceof String) {
+            return 3;
+        }
+
+        return 4;
+    }
+}
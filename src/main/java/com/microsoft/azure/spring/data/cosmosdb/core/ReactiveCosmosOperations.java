@@ -8,12 +8,17 @@ package com.microsoft.azure.spring.data.cosmosdb.core;
 
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.SqlQuerySpec;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QueryExplanation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 public interface ReactiveCosmosOperations {
 
     String getContainerName(Class<?> domainClass);
@@ -38,6 +43,10 @@ public interface ReactiveCosmosOperations {
 
     <T> Mono<T> upsert(String collectionName, T object, PartitionKey partitionKey);
 
+    <T> Mono<BulkWriteResult<T>> insertAll(String containerName, Iterable<T> entities);
+
+    <T> Mono<BulkWriteResult<T>> upsertAll(String containerName, Iterable<T> entities);
+
     Mono<Void> deleteById(String collectionName, Object id, PartitionKey partitionKey);
 
     Mono<Void> deleteAll(String collectionName, String partitionKey);
@@ -48,6 +57,10 @@ public interface ReactiveCosmosOperations {
 
     <T> Flux<T> find(DocumentQuery query, Class<T> entityClass, String collectionName);
 
+    <T> Flux<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String collectionName);
+
+    <T> Flux<T> runQuery(SqlQuerySpec querySpec, Class<?> domainClass, Class<T> returnType, String collectionName);
+
     Mono<Boolean> exists(DocumentQuery query, Class<?> entityClass, String collectionName);
 
     Mono<Boolean> existsById(Object id, Class<?> entityClass, String containerName);
@@ -56,5 +69,20 @@ public interface ReactiveCosmosOperations {
 
     Mono<Long> count(DocumentQuery query, String containerName);
 
+    Mono<Long> count(DocumentQuery query, Class<?> domainClass, String containerName);
+
+    <R> Mono<R> aggregate(DocumentQuery query, Class<?> domainClass, Aggregation aggregation, Class<R> resultType,
+                          String containerName);
+
+    <K, R> Mono<Map<K, R>> groupBy(DocumentQuery query, Class<?> domainClass, String groupBy, Class<K> keyType,
+                                   Aggregation aggregation, Class<R> resultType, String containerName);
+
+    <V> Flux<V> distinct(DocumentQuery query, Class<?> domainClass, String property, Class<V> valueType,
+                         String containerName);
+
+    Mono<QueryExplanation> explain(DocumentQuery query, Class<?> domainClass);
+
+    Mono<QueryExplanation> explain(DocumentQuery query, Class<?> domainClass, String containerName);
+
     MappingCosmosConverter getConverter();
 }
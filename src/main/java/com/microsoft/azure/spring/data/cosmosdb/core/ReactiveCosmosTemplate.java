@@ -7,6 +7,7 @@
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
 import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosContainer;
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.CosmosItemProperties;
 import com.azure.data.cosmos.CosmosItemRequestOptions;
@@ -14,13 +15,19 @@ import com.azure.data.cosmos.FeedOptions;
 import com.azure.data.cosmos.FeedResponse;
 import com.azure.data.cosmos.PartitionKey;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
 import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.AggregateQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.ExistsQueryGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QueryExplanation;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
@@ -34,7 +41,12 @@ import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.CosmosdbUtils.fillAndProcessResponseDiagnostics;
 import static com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBExceptionUtils.exceptionHandler;
@@ -50,6 +62,10 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     private final CosmosClient cosmosClient;
     private final ResponseDiagnosticsProcessor responseDiagnosticsProcessor;
     private final boolean isPopulateQueryMetrics;
+    private final DocumentChangeTracker changeTracker;
+    private final PartitionKeyCache partitionKeyCache;
+    private final Function<Class<?>, CosmosEntityInformation<?, ?>> entityInfoCreator =
+            Memoizer.memoize(this::getCosmosEntityInformation);
 
     private final List<String> collectionCache;
 
@@ -73,6 +89,11 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         this.cosmosClient = cosmosDbFactory.getCosmosClient();
         this.responseDiagnosticsProcessor = cosmosDbFactory.getConfig().getResponseDiagnosticsProcessor();
         this.isPopulateQueryMetrics = cosmosDbFactory.getConfig().isPopulateQueryMetrics();
+        this.changeTracker = cosmosDbFactory.getConfig().isDirtyTracking() ?
+            DocumentChangeTracker.of(cosmosDbFactory) : null;
+
+        final int partitionKeyCacheSize = cosmosDbFactory.getConfig().getPartitionKeyCacheSize();
+        this.partitionKeyCache = partitionKeyCacheSize > 0 ? new PartitionKeyCache(partitionKeyCacheSize) : null;
     }
 
     /**
@@ -154,7 +175,9 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     }
 
     /**
-     * Find by id
+     * Find by id. The item is read directly when its partition key is known, i.e. the container is not
+     * partitioned, the id is or derives the partition key, or the partition key of the id is cached, and queried
+     * across partitions otherwise.
      *
      * @param containerName the containername
      * @param id            the id
@@ -167,21 +190,51 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.notNull(entityClass, "entityClass should not be null");
         assertValidId(id);
 
-        final String query = String.format("select * from root where root.id = '%s'", id.toString());
+        final CosmosEntityInformation<?, ?> entityInfo = entityInfoCreator.apply(entityClass);
+        final String partitionKeyName = entityInfo.getPartitionKeyFieldName();
+        final String idPartitionKeyValue = entityInfo.getIdPartitionKeyValue(id);
+
+        if (partitionKeyName == null) {
+            return readItem(containerName, id.toString(), entityClass, PartitionKey.None);
+        } else if (idPartitionKeyValue != null) {
+            return readItem(containerName, id.toString(), entityClass, new PartitionKey(idPartitionKeyValue));
+        } else if (partitionKeyName.equals(Constants.ID_PROPERTY_NAME)) {
+            return readItem(containerName, id.toString(), entityClass, new PartitionKey(id.toString()));
+        }
+
+        final PartitionKey cachedPartitionKey = partitionKeyCache == null ? null :
+            partitionKeyCache.get(containerName, id.toString());
+
+        if (cachedPartitionKey != null) {
+            return readItem(containerName, id.toString(), entityClass, cachedPartitionKey)
+                .switchIfEmpty(Mono.defer(() -> {
+                    partitionKeyCache.evict(containerName, id.toString());
+                    return queryById(containerName, id, entityClass);
+                }));
+        }
+
+        return queryById(containerName, id, entityClass);
+    }
+
+    private <T> Mono<T> queryById(String containerName, Object id, Class<T> entityClass) {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IS_EQUAL,
+            Constants.ID_PROPERTY_NAME, Collections.singletonList(id)));
+        final SqlQuerySpec querySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, entityClass).generateCosmos(query);
         final FeedOptions options = new FeedOptions();
         options.enableCrossPartitionQuery(true);
         options.populateQueryMetrics(isPopulateQueryMetrics);
 
         return cosmosClient.getDatabase(databaseName)
                            .getContainer(containerName)
-                           .queryItems(query, options)
+                           .queryItems(querySpec, options)
                            .flatMap(cosmosItemFeedResponse -> {
                                 fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                     null, cosmosItemFeedResponse);
                                 return Mono.justOrEmpty(cosmosItemFeedResponse
                                     .results()
                                     .stream()
-                                    .map(cosmosItem -> toDomainObject(entityClass, cosmosItem))
+                                    .map(cosmosItem -> toDomainObject(entityClass, cosmosItem, containerName))
                                     .findFirst());
                            })
                            .onErrorResume(throwable ->
@@ -202,16 +255,19 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.notNull(entityClass, "entityClass should not be null");
         assertValidId(id);
 
-        final String containerName = getContainerName(entityClass);
+        return readItem(getContainerName(entityClass), id.toString(), entityClass, partitionKey);
+    }
+
+    private <T> Mono<T> readItem(String containerName, String id, Class<T> entityClass, PartitionKey partitionKey) {
         return cosmosClient.getDatabase(databaseName)
                            .getContainer(containerName)
-                           .getItem(id.toString(), partitionKey)
+                           .getItem(id, partitionKey)
                            .read()
                            .flatMap(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                    cosmosItemResponse, null);
                                return Mono.justOrEmpty(toDomainObject(entityClass,
-                                   cosmosItemResponse.properties()));
+                                   cosmosItemResponse.properties(), containerName));
                            })
                            .onErrorResume(throwable ->
                                findAPIExceptionHandler("Failed to find item", throwable));
@@ -240,16 +296,18 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         Assert.notNull(objectToSave, "objectToSave should not be null");
 
         final Class<T> domainClass = (Class<T>) objectToSave.getClass();
+        final String containerName = getContainerName(domainClass);
         final CosmosItemProperties originalItem = mappingCosmosConverter.writeCosmosItemProperties(objectToSave);
         return cosmosClient.getDatabase(this.databaseName)
-                           .getContainer(getContainerName(objectToSave.getClass()))
+                           .getContainer(containerName)
                            .createItem(originalItem, new CosmosItemRequestOptions())
                            .onErrorResume(throwable ->
                                exceptionHandler("Failed to insert item", throwable))
                            .flatMap(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                    cosmosItemResponse, null);
-                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties(),
+                                   containerName));
                            });
     }
 
@@ -279,7 +337,8 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                            .flatMap(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                    cosmosItemResponse, null);
-                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties(),
+                                   containerName));
                            });
     }
 
@@ -312,18 +371,93 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
             options.partitionKey(partitionKey);
         }
 
+        if (changeTracker != null && isUnchanged(containerName, domainClass, originalItem)) {
+            log.debug("skip upsert of unchanged item {} in container {}", originalItem.id(), containerName);
+            return Mono.just(object);
+        }
+
         return cosmosClient.getDatabase(this.databaseName)
                            .getContainer(containerName)
                            .upsertItem(originalItem, options)
                            .flatMap(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                    cosmosItemResponse, null);
-                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties()));
+                               return Mono.just(toDomainObject(domainClass, cosmosItemResponse.properties(),
+                                   containerName));
                            })
                            .onErrorResume(throwable ->
                                exceptionHandler("Failed to upsert item", throwable));
     }
 
+    /**
+     * Insert entities in bulk, concurrently by partition, see {@link BulkWriter}.
+     *
+     * @param containerName the container name
+     * @param entities      the entities
+     * @return Mono with the result of each insert, a failed insert does not stop the others
+     */
+    @Override
+    public <T> Mono<BulkWriteResult<T>> insertAll(String containerName, Iterable<T> entities) {
+        return bulkWrite(containerName, entities, false);
+    }
+
+    /**
+     * Upsert entities in bulk, concurrently by partition, see {@link BulkWriter}.
+     *
+     * @param containerName the container name
+     * @param entities      the entities
+     * @return Mono with the result of each upsert, a failed upsert does not stop the others
+     */
+    @Override
+    public <T> Mono<BulkWriteResult<T>> upsertAll(String containerName, Iterable<T> entities) {
+        return bulkWrite(containerName, entities, true);
+    }
+
+    private <T> Mono<BulkWriteResult<T>> bulkWrite(String containerName, Iterable<T> entities, boolean upsert) {
+        Assert.hasText(containerName, "containerName should not be null, empty or only whitespaces");
+        Assert.notNull(entities, "entities should not be null");
+
+        final List<T> entityList = new ArrayList<>();
+        entities.forEach(entityList::add);
+
+        final CosmosContainer container = cosmosClient.getDatabase(this.databaseName).getContainer(containerName);
+
+        return BulkWriter.write(entityList, this::getPartitionKey,
+            (entity, partitionKey) -> {
+                final CosmosItemProperties item = mappingCosmosConverter.writeCosmosItemProperties(entity);
+                final CosmosItemRequestOptions options = new CosmosItemRequestOptions(partitionKey);
+
+                if (!upsert) {
+                    return container.createItem(item, options)
+                                    .doOnNext(response -> fillAndProcessResponseDiagnostics(
+                                        responseDiagnosticsProcessor, response, null));
+                } else if (changeTracker != null && isUnchanged(containerName, entity.getClass(), item)) {
+                    return Mono.empty();
+                }
+
+                return container.upsertItem(item, options)
+                                .doOnNext(response -> fillAndProcessResponseDiagnostics(
+                                    responseDiagnosticsProcessor, response, null));
+            }, (entity, response) -> {
+                @SuppressWarnings("unchecked")
+                final Class<T> domainClass = (Class<T>) entity.getClass();
+
+                return toDomainObject(domainClass, response.properties(), containerName);
+            }, upsert ? "Failed to upsert item" : "Failed to insert item");
+    }
+
+    /**
+     * Get the partition key of an entity, filling a partition key derived from the entity first.
+     */
+    @SuppressWarnings("unchecked")
+    private PartitionKey getPartitionKey(Object entity) {
+        final CosmosEntityInformation<Object, ?> information =
+            (CosmosEntityInformation<Object, ?>) entityInfoCreator.apply(entity.getClass());
+        final Object partitionKeyValue = information.getPartitionKeyFieldValue(entity);
+
+        return StringUtils.isEmpty(partitionKeyValue) ? PartitionKey.None : new PartitionKey(partitionKeyValue);
+    }
+
     /**
      * Delete an item by id
      *
@@ -347,9 +481,11 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                            .getContainer(containerName)
                            .getItem(id.toString(), partitionKey)
                            .delete(options)
-                           .doOnNext(cosmosItemResponse ->
+                           .doOnNext(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                               cosmosItemResponse, null))
+                                   cosmosItemResponse, null);
+                               untrack(containerName, id.toString());
+                           })
                            .onErrorResume(throwable ->
                                exceptionHandler("Failed to delete item", throwable))
                            .then();
@@ -369,7 +505,7 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
 
         final Criteria criteria = Criteria.getInstance(CriteriaType.ALL);
         final DocumentQuery query = new DocumentQuery(criteria);
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator(mappingCosmosConverter).generateCosmos(query);
         final FeedOptions options = new FeedOptions();
         final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(Collections.singletonList(partitionKeyName));
         options.enableCrossPartitionQuery(isCrossPartitionQuery);
@@ -389,9 +525,11 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                                .getContainer(containerName)
                                .getItem(cosmosItemProperties.id(), cosmosItemProperties.get(partitionKeyName))
                                .delete()
-                               .doOnNext(cosmosItemResponse ->
+                               .doOnNext(cosmosItemResponse -> {
                                    fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
-                                       cosmosItemResponse, null))
+                                       cosmosItemResponse, null);
+                                   untrack(containerName, cosmosItemProperties.id());
+                               })
                                .onErrorResume(throwable ->
                                    exceptionHandler("Failed to delete items", throwable)))
                            .then();
@@ -415,7 +553,7 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         final List<String> partitionKeyName = getPartitionKeyNames(entityClass);
 
         return results.flatMap(d -> deleteItem(d, partitionKeyName, containerName))
-                      .flatMap(cosmosItemProperties -> Mono.just(toDomainObject(entityClass, cosmosItemProperties)));
+                      .map(cosmosItemProperties -> mappingCosmosConverter.read(entityClass, cosmosItemProperties));
     }
 
     /**
@@ -429,7 +567,58 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     @Override
     public <T> Flux<T> find(DocumentQuery query, Class<T> entityClass, String containerName) {
         return findItems(query, entityClass, containerName)
-                .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties));
+                .map(cosmosItemProperties -> toDomainObject(entityClass, cosmosItemProperties, containerName));
+    }
+
+    /**
+     * Run a Cosmos DB SQL query across partitions
+     *
+     * @param querySpec     the query
+     * @param domainClass   the domain class of the queried documents
+     * @param returnType    the domain class, a projection of it, or the type of the values selected by
+     *                      {@code SELECT VALUE}, which the SDK only supports for numbers and booleans
+     * @param containerName the container name
+     * @return Flux with the results or error
+     */
+    @Override
+    public <T> Flux<T> runQuery(SqlQuerySpec querySpec, Class<?> domainClass, Class<T> returnType,
+                                String containerName) {
+        Assert.notNull(querySpec, "querySpec should not be null.");
+        Assert.notNull(domainClass, "domainClass should not be null.");
+        Assert.notNull(returnType, "returnType should not be null.");
+        Assert.hasText(containerName, "container name should not be null, empty or only whitespaces");
+
+        final FeedOptions options = new FeedOptions();
+        options.enableCrossPartitionQuery(true);
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+
+        return cosmosClient.getDatabase(this.databaseName)
+                           .getContainer(containerName)
+                           .queryItems(querySpec, options)
+                           .flatMap(cosmosItemFeedResponse -> {
+                               fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                                   null, cosmosItemFeedResponse);
+                               return Flux.fromIterable(cosmosItemFeedResponse.results());
+                           })
+                           .onErrorResume(throwable ->
+                               exceptionHandler("Failed to run query", throwable))
+                           .map(item -> toQueryResult(domainClass, returnType, item, containerName));
+    }
+
+    /**
+     * Find items and read them as projections
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param returnType    the projection type
+     * @param containerName the container name
+     * @return Flux with found projections or error
+     */
+    @Override
+    public <T> Flux<T> find(DocumentQuery query, Class<?> domainClass, Class<T> returnType, String containerName) {
+        return findItems(query, domainClass, containerName)
+                .map(cosmosItemProperties -> mappingCosmosConverter.readProjection(domainClass, returnType,
+                    cosmosItemProperties));
     }
 
     /**
@@ -442,7 +631,21 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
      */
     @Override
     public Mono<Boolean> exists(DocumentQuery query, Class<?> entityClass, String containerName) {
-        return count(query, true, containerName).flatMap(count -> Mono.just(count > 0));
+        final SqlQuerySpec querySpec =
+            new ExistsQueryGenerator(mappingCosmosConverter, entityClass).generateCosmos(query);
+        final FeedOptions options = new FeedOptions();
+
+        options.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(entityClass)));
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+        pinSinglePartition(options, query, entityClass);
+
+        return executeQuery(querySpec, containerName, options)
+                .doOnNext(feedResponse -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    null, feedResponse))
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to check existence", throwable))
+                .flatMapIterable(FeedResponse::results)
+                .hasElements();
     }
 
     /**
@@ -481,6 +684,169 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         return count(query, true, containerName);
     }
 
+    /**
+     * Count
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param containerName the container name
+     * @return Mono with count or error
+     */
+    @Override
+    public Mono<Long> count(DocumentQuery query, Class<?> domainClass, String containerName) {
+        final FeedOptions options = new FeedOptions();
+
+        options.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        pinSinglePartition(options, query, domainClass);
+
+        return getCountValue(new CountQueryGenerator(mappingCosmosConverter, domainClass).generateCosmos(query),
+            options, containerName);
+    }
+
+    /**
+     * Aggregate
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param aggregation   the aggregate function
+     * @param resultType    the type of the aggregate value
+     * @param containerName the container name
+     * @param <R>           the type of the aggregate value
+     * @return Mono with the aggregate value, empty if undefined, or error
+     */
+    @Override
+    public <R> Mono<R> aggregate(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                 @NonNull Aggregation aggregation, @NonNull Class<R> resultType,
+                                 String containerName) {
+        Assert.notNull(aggregation, "aggregation should not be null");
+
+        // The sort, limit and projection of the query do not apply to its aggregate value.
+        final DocumentQuery aggregateQuery = new DocumentQuery(query.getCriteria());
+        final AggregateQueryGenerator generator =
+            new AggregateQueryGenerator(mappingCosmosConverter, domainClass, aggregation);
+        final SqlQuerySpec querySpec = generator.generateCosmos(aggregateQuery);
+        final FeedOptions options = new FeedOptions();
+
+        options.enableCrossPartitionQuery(aggregateQuery.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        options.populateQueryMetrics(isPopulateQueryMetrics);
+        pinSinglePartition(options, aggregateQuery, domainClass);
+
+        return executeQuery(querySpec, containerName, options)
+                .doOnNext(feedResponse -> fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
+                    null, feedResponse))
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to aggregate", throwable))
+                .flatMapIterable(FeedResponse::results)
+                .filter(item -> item.get(COUNT_VALUE_KEY) != null)
+                .next()
+                .map(item -> toQueryResult(domainClass, resultType, item, containerName));
+    }
+
+    /**
+     * Group by
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param groupBy       the grouped property
+     * @param keyType       the type of the group keys
+     * @param aggregation   the aggregate function of each group
+     * @param resultType    the type of the aggregate values
+     * @param containerName the container name
+     * @param <K>           the type of the group keys
+     * @param <R>           the type of the aggregate values
+     * @return Mono with the aggregate value by group key or error
+     */
+    @Override
+    public <K, R> Mono<Map<K, R>> groupBy(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                          @NonNull String groupBy, @NonNull Class<K> keyType,
+                                          @NonNull Aggregation aggregation, @NonNull Class<R> resultType,
+                                          String containerName) {
+        Assert.hasText(groupBy, "groupBy should have text");
+        Assert.notNull(aggregation, "aggregation should not be null");
+
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, groupBy, aggregation, mappingCosmosConverter, domainClass);
+
+        return findItems(clientAggregation.getQuery(), domainClass, containerName)
+                .collect(LinkedHashMap<Object, ClientAggregation.Accumulator>::new, clientAggregation::accumulate)
+                .map(groups -> clientAggregation.toResult(groups, keyType, resultType));
+    }
+
+    /**
+     * Distinct
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param property      the property
+     * @param valueType     the type of the values
+     * @param containerName the container name
+     * @param <V>           the type of the values
+     * @return Flux with the distinct non null values of the property or error
+     */
+    @Override
+    public <V> Flux<V> distinct(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                @NonNull String property, @NonNull Class<V> valueType, String containerName) {
+        Assert.hasText(property, "property should have text");
+
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, property, Aggregation.count(), mappingCosmosConverter, domainClass);
+
+        return findItems(clientAggregation.getQuery(), domainClass, containerName)
+                .collect(LinkedHashMap<Object, ClientAggregation.Accumulator>::new, clientAggregation::accumulate)
+                .flatMapIterable(groups -> clientAggregation.toDistinctValues(groups, valueType));
+    }
+
+    /**
+     * Explain
+     *
+     * @param query       the document query
+     * @param domainClass the domain class
+     * @return Mono with the query explanation or error
+     */
+    @Override
+    public Mono<QueryExplanation> explain(@NonNull DocumentQuery query, @NonNull Class<?> domainClass) {
+        return explain(query, domainClass, getContainerName(domainClass));
+    }
+
+    /**
+     * Explain
+     *
+     * @param query         the document query
+     * @param domainClass   the domain class
+     * @param containerName the container name
+     * @return Mono with the query explanation, with a sample execution if query metrics are enabled, or error
+     */
+    @Override
+    public Mono<QueryExplanation> explain(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
+                                          String containerName) {
+        final PartitionQueryPlan plan = planPartitions(query, domainClass);
+        final DocumentQuery projectedQuery = plan.projectSortProperties(query);
+        final SqlQuerySpec querySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(projectedQuery);
+
+        if (!isPopulateQueryMetrics) {
+            return Mono.just(new QueryExplanation(querySpec, plan.isCrossPartition(), plan.getPartitionKeys(),
+                null));
+        }
+
+        final FeedOptions feedOptions = new FeedOptions();
+        feedOptions.enableCrossPartitionQuery(query.isCrossPartitionQuery(getPartitionKeyNames(domainClass)));
+        feedOptions.populateQueryMetrics(true);
+
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        // Only the first page of each query is read, as a sample of its cost.
+        return Flux.fromIterable(plan.getFeedOptions(feedOptions))
+                .flatMap(options -> executeQuery(querySpec, containerName, options).next())
+                .onErrorResume(throwable ->
+                    exceptionHandler("Failed to explain query", throwable))
+                .collectList()
+                .map(firstPages -> new QueryExplanation(querySpec, plan.isCrossPartition(), plan.getPartitionKeys(),
+                    QueryExplanation.SampleExecution.of(firstPages)));
+    }
+
     @Override
     public MappingCosmosConverter getConverter() {
         return mappingCosmosConverter;
@@ -491,10 +857,15 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     }
 
     private Mono<Long> getCountValue(DocumentQuery query, boolean isCrossPartitionQuery, String containerName) {
-        final SqlQuerySpec querySpec = new CountQueryGenerator().generateCosmos(query);
         final FeedOptions options = new FeedOptions();
 
         options.enableCrossPartitionQuery(isCrossPartitionQuery);
+
+        return getCountValue(new CountQueryGenerator(mappingCosmosConverter).generateCosmos(query), options,
+            containerName);
+    }
+
+    private Mono<Long> getCountValue(SqlQuerySpec querySpec, FeedOptions options, String containerName) {
         options.populateQueryMetrics(isPopulateQueryMetrics);
 
         return executeQuery(querySpec, containerName, options)
@@ -534,6 +905,14 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                         exceptionHandler("Failed to delete container", throwable))
                     .block();
         this.collectionCache.remove(containerName);
+
+        if (changeTracker != null) {
+            changeTracker.untrackAll(containerName);
+        }
+
+        if (partitionKeyCache != null) {
+            partitionKeyCache.evictAll(containerName);
+        }
     }
 
     /**
@@ -543,26 +922,39 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     public String getContainerName(Class<?> domainClass) {
         Assert.notNull(domainClass, "domainClass should not be null");
 
-        return new CosmosEntityInformation<>(domainClass).getCollectionName();
+        return entityInfoCreator.apply(domainClass).getCollectionName();
     }
 
     private Flux<CosmosItemProperties> findItems(@NonNull DocumentQuery query, @NonNull Class<?> domainClass,
                                                  @NonNull String containerName) {
-        final SqlQuerySpec sqlQuerySpec = new FindQuerySpecGenerator().generateCosmos(query);
+        final PartitionQueryPlan plan = planPartitions(query, domainClass);
+        final DocumentQuery projectedQuery = plan.projectSortProperties(query);
+        final SqlQuerySpec sqlQuerySpec =
+            new FindQuerySpecGenerator(mappingCosmosConverter, domainClass).generateCosmos(projectedQuery);
         final boolean isCrossPartitionQuery = query.isCrossPartitionQuery(getPartitionKeyNames(domainClass));
         final FeedOptions feedOptions = new FeedOptions();
         feedOptions.enableCrossPartitionQuery(isCrossPartitionQuery);
         feedOptions.populateQueryMetrics(isPopulateQueryMetrics);
 
-        return cosmosClient
+        if (query.isLimited()) {
+            feedOptions.maxItemCount(query.getLimit());
+        }
+
+        final List<Flux<CosmosItemProperties>> results = plan.getFeedOptions(feedOptions).stream()
+            .map(options -> cosmosClient
                 .getDatabase(this.databaseName)
                 .getContainer(containerName)
-                .queryItems(sqlQuerySpec, feedOptions)
+                .queryItems(sqlQuerySpec, options)
                 .flatMap(cosmosItemFeedResponse -> {
                     fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                         null, cosmosItemFeedResponse);
                     return Flux.fromIterable(cosmosItemFeedResponse.results());
-                })
+                }))
+            .collect(Collectors.toList());
+        final Flux<CosmosItemProperties> items = plan.merge(results);
+
+        // Cancel the query once the limit is read instead of requesting the remaining pages.
+        return (query.isLimited() ? items.take(query.getLimit()) : items)
                 .onErrorResume(throwable ->
                     exceptionHandler("Failed to query items", throwable));
     }
@@ -575,7 +967,7 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
     }
 
     private List<String> getPartitionKeyNames(Class<?> domainClass) {
-        final CosmosEntityInformation<?, ?> entityInfo = new CosmosEntityInformation<>(domainClass);
+        final CosmosEntityInformation<?, ?> entityInfo = entityInfoCreator.apply(domainClass);
 
         if (entityInfo.getPartitionKeyFieldName() == null) {
             return new ArrayList<>();
@@ -584,6 +976,20 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
         return Collections.singletonList(entityInfo.getPartitionKeyFieldName());
     }
 
+    private PartitionQueryPlan planPartitions(DocumentQuery query, Class<?> domainClass) {
+        return PartitionQueryPlan.of(query, entityInfoCreator.apply(domainClass), mappingCosmosConverter,
+            Constants.DEFAULT_PARTITION_FAN_OUT_LIMIT);
+    }
+
+    /**
+     * Queries which cannot be fanned out, e.g. aggregates, are only pinned to a single partition.
+     */
+    private void pinSinglePartition(FeedOptions options, DocumentQuery query, Class<?> domainClass) {
+        final Optional<PartitionKey> partitionKey = planPartitions(query, domainClass).getSinglePartitionKey();
+
+        partitionKey.ifPresent(key -> options.partitionKey(key).enableCrossPartitionQuery(false));
+    }
+
     private Mono<CosmosItemProperties> deleteItem(@NonNull CosmosItemProperties cosmosItemProperties,
                                                   @NonNull List<String> partitionKeyNames,
                                                   String containerName) {
@@ -604,14 +1010,77 @@ public class ReactiveCosmosTemplate implements ReactiveCosmosOperations, Applica
                            .map(cosmosItemResponse -> {
                                fillAndProcessResponseDiagnostics(responseDiagnosticsProcessor,
                                    cosmosItemResponse, null);
+                               untrack(containerName, cosmosItemProperties.id());
                                return cosmosItemProperties;
                            })
                            .onErrorResume(throwable ->
                                exceptionHandler("Failed to delete item", throwable));
     }
 
-    private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties) {
-        return mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+    /**
+     * The SDK wraps the numbers and booleans selected by {@code SELECT VALUE} as aggregate values.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T toQueryResult(@NonNull Class<?> domainClass, @NonNull Class<T> returnType,
+                                CosmosItemProperties cosmosItemProperties, String containerName) {
+        if (cosmosItemProperties.has(COUNT_VALUE_KEY)) {
+            return mappingCosmosConverter.convertValue(cosmosItemProperties.get(COUNT_VALUE_KEY), returnType);
+        } else if (returnType.isAssignableFrom(domainClass)) {
+            return (T) toDomainObject(domainClass, cosmosItemProperties, containerName);
+        }
+
+        return mappingCosmosConverter.readProjection(domainClass, returnType, cosmosItemProperties);
+    }
+
+    private <T> T toDomainObject(@NonNull Class<T> domainClass, CosmosItemProperties cosmosItemProperties,
+                                 String containerName) {
+        final T entity = mappingCosmosConverter.read(domainClass, cosmosItemProperties);
+
+        if (changeTracker != null) {
+            changeTracker.track(containerName, cosmosItemProperties.id(), changeTracker.digest(cosmosItemProperties));
+        }
+
+        cachePartitionKey(containerName, domainClass, cosmosItemProperties);
+
+        return entity;
+    }
+
+    /**
+     * Remember the partition key of an item read or written, unless its id alone already locates it.
+     */
+    private void cachePartitionKey(String containerName, Class<?> domainClass,
+                                   CosmosItemProperties cosmosItemProperties) {
+        if (partitionKeyCache == null) {
+            return;
+        }
+
+        final List<String> partitionKeyNames = getPartitionKeyNames(domainClass);
+
+        if (!partitionKeyNames.isEmpty() && !partitionKeyNames.get(0).equals(Constants.ID_PROPERTY_NAME)) {
+            partitionKeyCache.put(containerName, cosmosItemProperties.id(),
+                cosmosItemProperties.get(partitionKeyNames.get(0)));
+        }
+    }
+
+    private void untrack(String containerName, String id) {
+        if (changeTracker != null) {
+            changeTracker.untrack(containerName, id);
+        }
+
+        if (partitionKeyCache != null) {
+            partitionKeyCache.evict(containerName, id);
+        }
+    }
+
+    /**
+     * Versioned entities are always written, so the write checks their etag.
+     */
+    private boolean isUnchanged(String containerName, Class<?> domainClass, CosmosItemProperties item) {
+        return !entityInfoCreator.apply(domainClass).isVersioned()
+            && changeTracker.isUnchanged(containerName, item.id(), changeTracker.digest(item));
     }
 
+    private CosmosEntityInformation<?, ?> getCosmosEntityInformation(Class<?> domainClass) {
+        return new CosmosEntityInformation<>(domainClass);
+    }
 }
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Converts the top level properties of documents between their mapped form and the compact form stored for
+ * entities declared with {@code @Document(compact = true)}. Nested objects are kept as is.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CompactDocumentUtils {
+
+    /**
+     * Create the compact form of a mapped document. Null values and the copy of the id under the id property
+     * name are omitted, the other properties are renamed to their stored names. The id and the partition key are
+     * always kept, as the document has to match the partition key of the write. Default values of primitive
+     * properties are kept, so that criteria, sorts and aggregates on them also apply to the documents holding them.
+     *
+     * @param entity       metadata of the entity
+     * @param document     the mapped document, which is not modified
+     * @param objectMapper mapper creating the compact document
+     * @return the compact document
+     */
+    public static ObjectNode compact(@NonNull CosmosPersistentEntity<?> entity, @NonNull ObjectNode document,
+                                     @NonNull ObjectMapper objectMapper) {
+        final ObjectNode compact = objectMapper.createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final String name = field.getKey();
+            final JsonNode value = field.getValue();
+
+            final CosmosPersistentProperty property = entity.getPersistentProperty(name);
+
+            if (Constants.ID_PROPERTY_NAME.equals(name)
+                || property != null && property.isAnnotationPresent(PartitionKey.class)) {
+                compact.set(name, value);
+                continue;
+            } else if (value.isNull() || property != null && property.isIdProperty()) {
+                continue;
+            }
+
+            compact.set(entity.getStoredName(name), value);
+        }
+
+        return compact;
+    }
+
+    /**
+     * Restore the property names of a compact document. Omitted properties are left absent, so they are read
+     * as null.
+     *
+     * @param entity       metadata of the entity
+     * @param document     the compact document, which is not modified
+     * @param objectMapper mapper creating the expanded document
+     * @return the document with the property names
+     */
+    public static ObjectNode expand(@NonNull CosmosPersistentEntity<?> entity, @NonNull ObjectNode document,
+                                    @NonNull ObjectMapper objectMapper) {
+        final ObjectNode expanded = objectMapper.createObjectNode();
+        final Iterator<Map.Entry<String, JsonNode>> fields = document.fields();
+
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+
+            expanded.set(entity.getPropertyName(field.getKey()), field.getValue());
+        }
+
+        return expanded;
+    }
+
+    /**
+     * Get the value read for a top level property missing from a compact document, i.e. the default value of a
+     * primitive number or boolean property.
+     *
+     * @param entity       metadata of the entity
+     * @param propertyName the name of the property
+     * @return the default value, or null if the property is read as null
+     */
+    @Nullable
+    public static Object getMissingValue(@NonNull CosmosPersistentEntity<?> entity, @NonNull String propertyName) {
+        final CosmosPersistentProperty property = entity.getPersistentProperty(propertyName);
+
+        if (!entity.isCompact() || property == null || !property.getType().isPrimitive()) {
+            return null;
+        } else if (property.getType() == boolean.class) {
+            return false;
+        } else if (property.getType() == char.class) {
+            return null;
+        }
+
+        return 0;
+    }
+}
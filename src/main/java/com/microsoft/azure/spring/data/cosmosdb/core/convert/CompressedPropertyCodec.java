@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Compressed;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import lombok.NonNull;
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Compresses and decompresses the properties annotated with {@link Compressed} in mapped documents.
+ * A compressed value is stored as an object holding the codec name and the compressed data, which Jackson writes
+ * as a base64 string. Values below the threshold, or not getting smaller, are stored as is.
+ */
+public class CompressedPropertyCodec {
+
+    public static final String CODEC_FIELD_NAME = "codec";
+
+    public static final String DATA_FIELD_NAME = "data";
+
+    private static final Map<String, CompressionCodec> CODECS_BY_NAME = new ConcurrentHashMap<>();
+
+    private static final Function<Class<? extends CompressionCodec>, CompressionCodec> CODEC_LOOKUP =
+        Memoizer.memoize(CompressedPropertyCodec::createCodec);
+
+    static {
+        CODEC_LOOKUP.apply(GzipCompressionCodec.class);
+        CODEC_LOOKUP.apply(DeflateCompressionCodec.class);
+    }
+
+    private final ObjectMapper objectMapper;
+
+    private final Function<CosmosPersistentEntity<?>, List<CompressedProperty>> compressedPropertiesLookup =
+        Memoizer.memoize(CompressedPropertyCodec::getCompressedProperties);
+
+    public CompressedPropertyCodec(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean hasCompressedProperties(@NonNull CosmosPersistentEntity<?> entity) {
+        return !compressedPropertiesLookup.apply(entity).isEmpty();
+    }
+
+    /**
+     * Compress the annotated properties of a newly mapped document, in place.
+     *
+     * @param entity   metadata of the entity
+     * @param document the mapped document
+     * @return the given document
+     * @throws IOException if a value cannot be compressed
+     */
+    public ObjectNode compress(@NonNull CosmosPersistentEntity<?> entity, @NonNull ObjectNode document)
+        throws IOException {
+        for (final CompressedProperty property : compressedPropertiesLookup.apply(entity)) {
+            final JsonNode value = document.get(property.key);
+
+            if (value == null || !(value.isTextual() || value.isBinary())) {
+                continue;
+            }
+
+            final byte[] data = getData(property, value);
+            if (data.length == 0 || data.length < property.threshold) {
+                continue;
+            }
+
+            final byte[] compressed = property.codec.compress(data);
+            // Base64 grows the data by a third, keep the raw value when compression does not make up for it.
+            if (compressed.length * 4 / 3 < data.length) {
+                final ObjectNode compressedValue = objectMapper.createObjectNode();
+
+                compressedValue.put(CODEC_FIELD_NAME, property.codec.getName());
+                compressedValue.put(DATA_FIELD_NAME, compressed);
+                document.set(property.key, compressedValue);
+            }
+        }
+
+        return document;
+    }
+
+    /**
+     * Decompress the compressed properties of a document. Values are decompressed by the codec named in the
+     * document, which may differ from the declared one after the annotation has changed.
+     *
+     * @param entity   metadata of the entity
+     * @param document the stored document, which is not modified
+     * @return the document with the decompressed values, a shallow copy when any value was compressed
+     * @throws IOException if a value cannot be decompressed
+     */
+    public ObjectNode decompress(@NonNull CosmosPersistentEntity<?> entity, @NonNull ObjectNode document)
+        throws IOException {
+        ObjectNode decompressed = document;
+
+        for (final CompressedProperty property : compressedPropertiesLookup.apply(entity)) {
+            final JsonNode value = document.get(property.key);
+
+            if (value == null || !value.isObject()) {
+                continue;
+            }
+
+            final String codecName = value.path(CODEC_FIELD_NAME).asText();
+            final CompressionCodec codec = property.codec.getName().equals(codecName) ? property.codec :
+                CODECS_BY_NAME.get(codecName);
+            if (codec == null) {
+                throw new IOException("Property " + property.key + " is compressed by unknown codec " + codecName);
+            }
+
+            final byte[] data = codec.decompress(value.path(DATA_FIELD_NAME).binaryValue());
+
+            if (decompressed == document) {
+                decompressed = objectMapper.createObjectNode();
+                decompressed.setAll(document);
+            }
+
+            if (property.isBinary) {
+                decompressed.put(property.key, data);
+            } else {
+                decompressed.put(property.key, new String(data, StandardCharsets.UTF_8));
+            }
+        }
+
+        return decompressed;
+    }
+
+    /**
+     * Get the bytes to compress, the UTF-8 bytes of text values and the decoded bytes of binary values, which may
+     * be given as base64 text.
+     *
+     * @return the bytes, empty if a textual binary value is not valid base64
+     */
+    private static byte[] getData(CompressedProperty property, JsonNode value) throws IOException {
+        if (!value.isTextual()) {
+            return value.binaryValue();
+        } else if (!property.isBinary) {
+            return value.textValue().getBytes(StandardCharsets.UTF_8);
+        }
+
+        try {
+            return Base64Variants.getDefaultVariant().decode(value.textValue());
+        } catch (IllegalArgumentException e) {
+            return new byte[0];
+        }
+    }
+
+    /**
+     * Instantiate a codec, registering it by name to decompress the values it has compressed.
+     */
+    private static CompressionCodec createCodec(Class<? extends CompressionCodec> codecClass) {
+        final CompressionCodec codec = BeanUtils.instantiateClass(codecClass);
+
+        CODECS_BY_NAME.computeIfAbsent(codec.getName(), name -> codec);
+        return codec;
+    }
+
+    private static List<CompressedProperty> getCompressedProperties(CosmosPersistentEntity<?> entity) {
+        final List<CompressedProperty> properties = new ArrayList<>();
+
+        entity.doWithProperties((PropertyHandler<CosmosPersistentProperty>) property -> {
+            final Compressed compressed = property.findAnnotation(Compressed.class);
+
+            if (compressed == null) {
+                return;
+            } else if (!String.class.equals(property.getType()) && !byte[].class.equals(property.getType())) {
+                throw new MappingException("@Compressed supports String and byte[] properties only, property "
+                    + property.getName() + " of " + entity.getType().getName() + " is " + property.getType());
+            }
+
+            properties.add(new CompressedProperty(property, CODEC_LOOKUP.apply(compressed.codec()),
+                compressed.threshold()));
+        });
+
+        return Collections.unmodifiableList(properties);
+    }
+
+    private static final class CompressedProperty {
+
+        private final String key;
+
+        private final CompressionCodec codec;
+
+        private final int threshold;
+
+        private final boolean isBinary;
+
+        private CompressedProperty(CosmosPersistentProperty property, CompressionCodec codec, int threshold) {
+            final JsonProperty jsonProperty = property.findAnnotation(JsonProperty.class);
+
+            this.key = jsonProperty == null || !StringUtils.hasText(jsonProperty.value()) ?
+                property.getName() : jsonProperty.value();
+            this.codec = codec;
+            this.threshold = threshold;
+            this.isBinary = byte[].class.equals(property.getType());
+        }
+    }
+}
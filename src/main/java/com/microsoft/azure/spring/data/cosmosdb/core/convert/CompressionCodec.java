@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import java.io.IOException;
+
+/**
+ * Compression algorithm of the properties annotated with
+ * {@link com.microsoft.azure.spring.data.cosmosdb.core.mapping.Compressed}. Implementations need a public no-args
+ * constructor and must be thread safe.
+ */
+public interface CompressionCodec {
+
+    /**
+     * Name of the codec, stored next to the compressed data.
+     *
+     * @return the name
+     */
+    String getName();
+
+    byte[] compress(byte[] data) throws IOException;
+
+    byte[] decompress(byte[] data) throws IOException;
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.lang.NonNull;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.UUID;
+
+import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
+
+/**
+ * Store converters of the values stored in CosmosDB, which the SDK cannot serialize correctly by itself.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CosmosConverters {
+
+    private static final DateTimeFormatter ISO_8601_COMPATIBLE_DATE_FORMATTER =
+        DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN);
+
+    /**
+     * Get the converters to register as store converters.
+     *
+     * @return converters of CosmosDB values
+     */
+    public static Collection<Object> getConvertersToRegister() {
+        return Arrays.asList(
+            DateToEpochMillisConverter.INSTANCE,
+            InstantToEpochSecondsConverter.INSTANCE,
+            ZonedDateTimeToStringConverter.INSTANCE,
+            EnumToStringConverter.INSTANCE,
+            UUIDToStringConverter.INSTANCE,
+            BigDecimalToDoubleConverter.INSTANCE
+        );
+    }
+
+    @WritingConverter
+    enum DateToEpochMillisConverter implements Converter<Date, Long> {
+        INSTANCE;
+
+        @Override
+        public Long convert(@NonNull Date source) {
+            return source.getTime();
+        }
+    }
+
+    /**
+     * Documents store an Instant as written by the Jackson JavaTimeModule, i.e. decimal epoch seconds with the
+     * nanoseconds as fraction, which CosmosDB keeps as IEEE 754 double.
+     */
+    @WritingConverter
+    enum InstantToEpochSecondsConverter implements Converter<Instant, Double> {
+        INSTANCE;
+
+        @Override
+        public Double convert(@NonNull Instant source) {
+            return BigDecimal.valueOf(source.getEpochSecond()).add(BigDecimal.valueOf(source.getNano(), 9))
+                             .doubleValue();
+        }
+    }
+
+    @WritingConverter
+    enum ZonedDateTimeToStringConverter implements Converter<ZonedDateTime, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(@NonNull ZonedDateTime source) {
+            return source.format(ISO_8601_COMPATIBLE_DATE_FORMATTER);
+        }
+    }
+
+    @WritingConverter
+    enum EnumToStringConverter implements Converter<Enum<?>, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(@NonNull Enum<?> source) {
+            return source.toString();
+        }
+    }
+
+    @WritingConverter
+    enum UUIDToStringConverter implements Converter<UUID, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(@NonNull UUID source) {
+            return source.toString();
+        }
+    }
+
+    /**
+     * CosmosDB keeps numbers as IEEE 754 double, the SDK would otherwise serialize the exact decimal.
+     */
+    @WritingConverter
+    enum BigDecimalToDoubleConverter implements Converter<BigDecimal, Double> {
+        INSTANCE;
+
+        @Override
+        public Double convert(@NonNull BigDecimal source) {
+            return source.doubleValue();
+        }
+    }
+}
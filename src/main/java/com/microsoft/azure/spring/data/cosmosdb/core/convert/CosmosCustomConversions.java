@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdDelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdDelegatingSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.GenericConverter;
+import org.springframework.core.convert.converter.GenericConverter.ConvertiblePair;
+import org.springframework.data.convert.CustomConversions;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.mapping.model.SimpleTypeHolder;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Value conversions of CosmosDB. Converters are looked up by the class of the value, the lookup is cached by
+ * {@link CustomConversions}. Query parameters go through the user registered converters first, then through the
+ * {@link CosmosConverters store converters}.
+ * <p>
+ * User registered converters also apply to documents, the mapping {@link com.fasterxml.jackson.databind.ObjectMapper}
+ * delegates to them through {@link #getJacksonModule(ConversionService)}. Documents keep the Jackson representation
+ * of types without user registered converters.
+ */
+public class CosmosCustomConversions extends CustomConversions {
+
+    private static final StoreConversions STORE_CONVERSIONS =
+        StoreConversions.of(SimpleTypeHolder.DEFAULT, CosmosConverters.getConvertersToRegister());
+
+    private final List<?> converters;
+
+    /**
+     * Create conversions with the given user converters.
+     *
+     * @param converters {@link Converter} or {@link GenericConverter} instances, must not be null
+     */
+    public CosmosCustomConversions(@NonNull List<?> converters) {
+        super(STORE_CONVERSIONS, converters);
+
+        this.converters = Collections.unmodifiableList(new ArrayList<>(converters));
+    }
+
+    /**
+     * Whether user converters are registered.
+     *
+     * @return true if there are user converters
+     */
+    public boolean hasUserConverters() {
+        return !converters.isEmpty();
+    }
+
+    /**
+     * Build a Jackson module which serializes and deserializes values through the user registered converters.
+     *
+     * @param conversionService the conversion service the converters are registered in
+     * @return the Jackson module
+     */
+    public Module getJacksonModule(@NonNull ConversionService conversionService) {
+        final SimpleModule module = new SimpleModule(getClass().getSimpleName());
+
+        for (final Object converter : converters) {
+            final boolean isReading = AnnotationUtils.findAnnotation(converter.getClass(), ReadingConverter.class)
+                != null;
+            final boolean isWriting = AnnotationUtils.findAnnotation(converter.getClass(), WritingConverter.class)
+                != null;
+
+            for (final ConvertiblePair pair : getConvertiblePairs(converter)) {
+                if (isWriting || !isReading && isSimpleType(pair.getTargetType())) {
+                    addSerializer(module, pair, conversionService);
+                }
+
+                if (isReading || !isWriting && isSimpleType(pair.getSourceType())) {
+                    addDeserializer(module, pair, conversionService);
+                }
+            }
+        }
+
+        return module;
+    }
+
+    private static void addSerializer(SimpleModule module, ConvertiblePair pair,
+                                      ConversionService conversionService) {
+        module.addSerializer(pair.getSourceType(),
+            new StdDelegatingSerializer(new JacksonConverter(pair, conversionService)));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static void addDeserializer(SimpleModule module, ConvertiblePair pair,
+                                        ConversionService conversionService) {
+        module.addDeserializer((Class) pair.getTargetType(),
+            new StdDelegatingDeserializer<>(new JacksonConverter(pair, conversionService)));
+    }
+
+    private static Set<ConvertiblePair> getConvertiblePairs(Object converter) {
+        if (converter instanceof GenericConverter) {
+            final Set<ConvertiblePair> pairs = ((GenericConverter) converter).getConvertibleTypes();
+
+            return pairs == null ? Collections.emptySet() : pairs;
+        } else if (converter instanceof Converter) {
+            final Class<?>[] arguments = GenericTypeResolver.resolveTypeArguments(converter.getClass(),
+                Converter.class);
+
+            if (arguments != null) {
+                return Collections.singleton(new ConvertiblePair(arguments[0], arguments[1]));
+            }
+        }
+
+        return Collections.emptySet();
+    }
+
+    /**
+     * Adapts a conversion of the {@link ConversionService} to Jackson.
+     */
+    private static final class JacksonConverter implements com.fasterxml.jackson.databind.util.Converter<Object,
+        Object> {
+
+        private final ConvertiblePair pair;
+
+        private final ConversionService conversionService;
+
+        private JacksonConverter(ConvertiblePair pair, ConversionService conversionService) {
+            this.pair = pair;
+            this.conversionService = conversionService;
+        }
+
+        @Override
+        public Object convert(Object value) {
+            return conversionService.convert(value, pair.getTargetType());
+        }
+
+        @Override
+        public JavaType getInputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(pair.getSourceType());
+        }
+
+        @Override
+        public JavaType getOutputType(TypeFactory typeFactory) {
+            return typeFactory.constructType(pair.getTargetType());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+
+/**
+ * Maps one domain type from and to the Jackson tree of a Cosmos document without bean introspection.
+ * Implementations are generated at compile time by
+ * {@link com.microsoft.azure.spring.data.cosmosdb.processor.CosmosEntityMapperProcessor}, and picked up by
+ * {@link MappingCosmosConverter} when present. Values the mapper cannot handle itself are delegated to the
+ * given {@link ObjectMapper}.
+ *
+ * @param <T> the domain type
+ */
+public interface CosmosEntityMapper<T> {
+
+    /**
+     * Read the entity from a document, the document id is read from the {@code id} property.
+     *
+     * @param document     the document, must not be modified
+     * @param objectMapper mapper for the nested values
+     * @return the entity
+     * @throws IOException if a value cannot be read
+     */
+    T read(ObjectNode document, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Write the entity to a new document tree.
+     *
+     * @param entity       the entity
+     * @param objectMapper mapper for the nested values
+     * @return the document tree
+     */
+    ObjectNode write(T entity, ObjectMapper objectMapper);
+}
@@ -0,0 +1,208 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Lookup of the generated {@link CosmosEntityMapper}s, and the value conversions the generated code relies on.
+ * The conversions handle the common JSON shapes directly and defer to the {@link ObjectMapper} for anything
+ * else, so the outcome matches the plain Jackson mapping.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CosmosEntityMapperUtils {
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private static final List<Class<?>> MAPPED_VALUE_TYPES = Arrays.asList(String.class, Integer.class, Long.class,
+        Double.class, Float.class, Boolean.class, BigDecimal.class, int.class, long.class, double.class,
+        float.class, boolean.class);
+
+    /**
+     * Get the name of the mapper class generated for a domain type. Mappers live in the package of the domain
+     * type, nested types are flattened with underscores.
+     *
+     * @param packageName    package of the domain type
+     * @param nestedTypeName simple names of the domain type and its enclosing types, joined by dots
+     * @return fully qualified name of the mapper class
+     */
+    public static String getMapperClassName(@NonNull String packageName, @NonNull String nestedTypeName) {
+        final String simpleName = nestedTypeName.replace('.', '_') + Constants.ENTITY_MAPPER_CLASS_SUFFIX;
+
+        return packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+    }
+
+    /**
+     * Find the generated mapper of the domain type.
+     *
+     * @param domainType the domain type
+     * @param <T>        type of the domain
+     * @return the mapper, or empty if none was generated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<CosmosEntityMapper<T>> findEntityMapper(@NonNull Class<T> domainType) {
+        final String packageName = ClassUtils.getPackageName(domainType);
+        final String nestedTypeName = ClassUtils.getShortName(domainType);
+        final String mapperClassName = getMapperClassName(packageName, nestedTypeName);
+
+        if (!ClassUtils.isPresent(mapperClassName, domainType.getClassLoader())) {
+            return Optional.empty();
+        }
+
+        try {
+            final Class<?> mapperClass = ClassUtils.forName(mapperClassName, domainType.getClassLoader());
+            if (!CosmosEntityMapper.class.isAssignableFrom(mapperClass)) {
+                return Optional.empty();
+            }
+
+            log.debug("Use generated entity mapper {} for {}", mapperClassName, domainType.getName());
+            return Optional.of((CosmosEntityMapper<T>) BeanUtils.instantiateClass(mapperClass));
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("Failed to load generated entity mapper {}, fall back to Jackson", mapperClassName, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Whether the generated mappers write and read the same documents as the given ObjectMapper. They map the
+     * properties under their field names, include every value and convert the simple types directly, so a naming
+     * strategy, an inclusion rule or custom (de)serializers of the simple types call for the Jackson mapping.
+     *
+     * @param objectMapper the ObjectMapper documents are mapped with
+     * @return true if the generated mappers may be used with the ObjectMapper
+     */
+    public static boolean isCompatible(@NonNull ObjectMapper objectMapper) {
+        final SerializationConfig serializationConfig = objectMapper.getSerializationConfig();
+        final DeserializationConfig deserializationConfig = objectMapper.getDeserializationConfig();
+
+        if (serializationConfig.getPropertyNamingStrategy() != null
+            || deserializationConfig.getPropertyNamingStrategy() != null) {
+            return false;
+        }
+
+        try {
+            final DeserializationContext context = ((DefaultDeserializationContext) objectMapper
+                .getDeserializationContext()).createInstance(deserializationConfig, null, null);
+            final DeserializationContext defaultContext = ((DefaultDeserializationContext) DEFAULT_OBJECT_MAPPER
+                .getDeserializationContext()).createInstance(DEFAULT_OBJECT_MAPPER.getDeserializationConfig(),
+                null, null);
+
+            for (final Class<?> type : MAPPED_VALUE_TYPES) {
+                final JsonInclude.Include inclusion =
+                    serializationConfig.getDefaultPropertyInclusion(type).getValueInclusion();
+                final JavaType javaType = objectMapper.constructType(type);
+
+                if (inclusion != JsonInclude.Include.ALWAYS && inclusion != JsonInclude.Include.USE_DEFAULTS
+                    || objectMapper.getSerializerProviderInstance().findValueSerializer(type).getClass()
+                    != DEFAULT_OBJECT_MAPPER.getSerializerProviderInstance().findValueSerializer(type).getClass()
+                    || context.findRootValueDeserializer(javaType).getClass()
+                    != defaultContext.findRootValueDeserializer(javaType).getClass()) {
+                    return false;
+                }
+            }
+        } catch (JsonMappingException | ClassCastException e) {
+            log.debug("Failed to inspect the ObjectMapper, fall back to Jackson", e);
+            return false;
+        }
+
+        return true;
+    }
+
+    public static String readString(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        return node.isTextual() ? node.textValue() : objectMapper.treeToValue(node, String.class);
+    }
+
+    public static Integer readInteger(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        return node.isInt() ? Integer.valueOf(node.intValue()) : objectMapper.treeToValue(node, Integer.class);
+    }
+
+    public static Long readLong(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper) throws IOException {
+        return node.isIntegralNumber() && node.canConvertToLong() ? Long.valueOf(node.longValue()) :
+            objectMapper.treeToValue(node, Long.class);
+    }
+
+    public static Double readDouble(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        return node.isNumber() ? Double.valueOf(node.doubleValue()) : objectMapper.treeToValue(node, Double.class);
+    }
+
+    public static Float readFloat(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper) throws IOException {
+        return node.isNumber() ? Float.valueOf(node.floatValue()) : objectMapper.treeToValue(node, Float.class);
+    }
+
+    public static Boolean readBoolean(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        return node.isBoolean() ? Boolean.valueOf(node.booleanValue()) :
+            objectMapper.treeToValue(node, Boolean.class);
+    }
+
+    public static BigDecimal readBigDecimal(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        return node.isNumber() ? node.decimalValue() : objectMapper.treeToValue(node, BigDecimal.class);
+    }
+
+    public static <E extends Enum<E>> E readEnum(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper,
+                                                 @NonNull Class<E> enumType) throws IOException {
+        if (node.isTextual() && !objectMapper.isEnabled(DeserializationFeature.READ_ENUMS_USING_TO_STRING)) {
+            try {
+                return Enum.valueOf(enumType, node.textValue());
+            } catch (IllegalArgumentException e) {
+                log.debug("Unknown constant {} of {}, defer to Jackson", node.textValue(), enumType.getName());
+            }
+        }
+
+        return objectMapper.treeToValue(node, enumType);
+    }
+
+    public static <V> V readValue(@NonNull JsonNode node, @NonNull ObjectMapper objectMapper,
+                                  @NonNull TypeReference<V> type) throws IOException {
+        return objectMapper.readerFor(type).readValue(node);
+    }
+
+    public static JsonNode writeEnum(Enum<?> value, @NonNull ObjectMapper objectMapper) {
+        if (value == null) {
+            return NullNode.getInstance();
+        } else if (objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_TO_STRING)
+            || objectMapper.isEnabled(SerializationFeature.WRITE_ENUMS_USING_INDEX)) {
+            return objectMapper.valueToTree(value);
+        }
+
+        return TextNode.valueOf(value.name());
+    }
+
+    public static JsonNode writeValue(Object value, @NonNull ObjectMapper objectMapper) {
+        return value == null ? NullNode.getInstance() : objectMapper.valueToTree(value);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.JsonSerializable;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+
+/**
+ * Gives access to the Jackson tree backing a {@link CosmosItemProperties}, so documents can be mapped
+ * without being written to and parsed from a JSON string.
+ * The SDK keeps the tree in a package private field, when it cannot be reached the document
+ * is parsed once from (or written once to) its JSON representation instead.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class CosmosItemPropertiesUtils {
+
+    private static final String PROPERTY_BAG_FIELD_NAME = "propertyBag";
+
+    private static final Field PROPERTY_BAG_FIELD = findPropertyBagField();
+
+    private static Field findPropertyBagField() {
+        final Field field = ReflectionUtils.findField(JsonSerializable.class, PROPERTY_BAG_FIELD_NAME);
+
+        if (field == null || !ObjectNode.class.equals(field.getType())) {
+            log.debug("Property bag of JsonSerializable is not accessible, fall back to JSON text parsing");
+            return null;
+        }
+
+        try {
+            ReflectionUtils.makeAccessible(field);
+        } catch (RuntimeException e) {
+            log.debug("Property bag of JsonSerializable is not accessible, fall back to JSON text parsing", e);
+            return null;
+        }
+
+        return field;
+    }
+
+    /**
+     * Get the Jackson tree of the given document. The returned node is shared with the document when
+     * available, callers must not modify it.
+     *
+     * @param cosmosItemProperties the source document
+     * @param objectMapper         mapper used to parse the document if its tree is not accessible
+     * @return the object node of the document
+     * @throws IOException if the fallback parsing of the document fails
+     */
+    public static ObjectNode getObjectNode(@NonNull CosmosItemProperties cosmosItemProperties,
+                                           @NonNull ObjectMapper objectMapper) throws IOException {
+        if (PROPERTY_BAG_FIELD != null) {
+            final Object propertyBag = ReflectionUtils.getField(PROPERTY_BAG_FIELD, cosmosItemProperties);
+
+            if (propertyBag != null) {
+                return (ObjectNode) propertyBag;
+            }
+        }
+
+        final JsonNode jsonNode = objectMapper.readTree(cosmosItemProperties.toJson());
+        if (!jsonNode.isObject()) {
+            throw new IOException("Cosmos document is not a JSON object");
+        }
+
+        return (ObjectNode) jsonNode;
+    }
+
+    /**
+     * Create a document backed by the given Jackson tree. The tree is adopted as is, without being
+     * copied or re-parsed.
+     *
+     * @param objectNode   the content of the document
+     * @param objectMapper mapper used to write the tree if it cannot be adopted
+     * @return the document
+     * @throws IOException if the fallback writing of the tree fails
+     */
+    public static CosmosItemProperties toCosmosItemProperties(@NonNull ObjectNode objectNode,
+                                                              @NonNull ObjectMapper objectMapper)
+        throws IOException {
+        if (PROPERTY_BAG_FIELD != null) {
+            final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties();
+
+            ReflectionUtils.setField(PROPERTY_BAG_FIELD, cosmosItemProperties, objectNode);
+            return cosmosItemProperties;
+        }
+
+        return new CosmosItemProperties(objectMapper.writeValueAsString(objectNode));
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Raw zlib compression, which saves the gzip header and trailer on small values.
+ */
+public class DeflateCompressionCodec implements CompressionCodec {
+
+    public static final String NAME = "deflate";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public byte[] compress(byte[] data) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(data.length / 2);
+
+        try (OutputStream deflaterStream = new DeflaterOutputStream(outputStream)) {
+            deflaterStream.write(data);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    public byte[] decompress(byte[] data) throws IOException {
+        try (InputStream inflaterStream = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return StreamUtils.copyToByteArray(inflaterStream);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyProperty;
+import lombok.NonNull;
+import org.springframework.cglib.proxy.Callback;
+import org.springframework.cglib.proxy.Enhancer;
+import org.springframework.cglib.proxy.Factory;
+import org.springframework.cglib.proxy.LazyLoader;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.objenesis.Objenesis;
+import org.springframework.objenesis.SpringObjenesis;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Sets the properties annotated with {@link LazyProperty} to proxies, which parse the document value on first
+ * access. Entities are read from a copy of the document without the lazy properties, the proxies keep a
+ * reference to the original values.
+ * <p>
+ * Proxies written back before being accessed are serialized from the original value, without being parsed.
+ */
+public class LazyPropertyLoader {
+
+    private static final Objenesis OBJENESIS = new SpringObjenesis();
+
+    private static final Function<Class<?>, Class<?>> PROXY_CLASS_LOOKUP =
+        Memoizer.memoize(LazyPropertyLoader::createProxyClass);
+
+    private final ObjectMapper objectMapper;
+
+    private final Function<CosmosPersistentEntity<?>, List<LazyPropertyMapping>> lazyPropertiesLookup =
+        Memoizer.memoize(this::getLazyProperties);
+
+    public LazyPropertyLoader(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Check whether the value is loaded, values which are not lazy proxies are always loaded.
+     *
+     * @param value the property value
+     * @return false if the value is a lazy proxy not accessed yet
+     */
+    public static boolean isLoaded(Object value) {
+        return !(value instanceof LazyPropertyProxy) || getLoader(value).isLoaded();
+    }
+
+    /**
+     * Get the module serializing lazy proxies, which has to be registered in the ObjectMapper writing entities.
+     *
+     * @return the Jackson module
+     */
+    public static Module getJacksonModule() {
+        return new SimpleModule(LazyPropertyLoader.class.getSimpleName())
+            .addSerializer(LazyPropertyProxy.class, new LazyPropertyProxySerializer());
+    }
+
+    public boolean hasLazyProperties(@NonNull CosmosPersistentEntity<?> entity) {
+        return !lazyPropertiesLookup.apply(entity).isEmpty();
+    }
+
+    /**
+     * Create a shallow copy of the document without the lazy properties.
+     *
+     * @param entity   metadata of the entity
+     * @param document the document, which is not modified
+     * @return the copy of the document
+     */
+    public ObjectNode withoutLazyProperties(@NonNull CosmosPersistentEntity<?> entity,
+                                            @NonNull ObjectNode document) {
+        final ObjectNode copy = objectMapper.createObjectNode();
+
+        copy.setAll(document);
+        lazyPropertiesLookup.apply(entity).forEach(mapping -> copy.remove(mapping.key));
+
+        return copy;
+    }
+
+    /**
+     * Set the lazy properties of the entity read from the document.
+     *
+     * @param entity   metadata of the entity
+     * @param instance the entity read without the lazy properties
+     * @param document the document, which must not be modified afterwards
+     * @param <T>      type of the entity
+     * @return the entity with the lazy properties
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T setLazyProperties(@NonNull CosmosPersistentEntity<?> entity, @NonNull T instance,
+                                   @NonNull ObjectNode document) {
+        final PersistentPropertyAccessor<T> accessor =
+            ((CosmosPersistentEntity<T>) entity).getPropertyAccessor(instance);
+
+        for (final LazyPropertyMapping mapping : lazyPropertiesLookup.apply(entity)) {
+            final JsonNode value = document.get(mapping.key);
+
+            if (value != null && !value.isNull()) {
+                accessor.setProperty(mapping.property, createProxy(mapping, value));
+            }
+        }
+
+        return accessor.getBean();
+    }
+
+    private Object createProxy(LazyPropertyMapping mapping, JsonNode value) {
+        final Factory proxy = (Factory) OBJENESIS.newInstance(PROXY_CLASS_LOOKUP.apply(mapping.property.getType()));
+
+        proxy.setCallbacks(new Callback[]{new LazyValueLoader(mapping.property.getType(), mapping.reader, value)});
+
+        return proxy;
+    }
+
+    /**
+     * Generate the proxy class, instances are created without calling any constructor of the proxied type.
+     */
+    private static Class<?> createProxyClass(Class<?> type) {
+        final Enhancer enhancer = new Enhancer();
+
+        if (type.isInterface()) {
+            enhancer.setInterfaces(new Class<?>[]{type, LazyPropertyProxy.class});
+        } else {
+            enhancer.setSuperclass(type);
+            enhancer.setInterfaces(new Class<?>[]{LazyPropertyProxy.class});
+        }
+
+        // JDK types are loaded by the bootstrap class loader, which does not see the marker interface.
+        enhancer.setClassLoader(type.getClassLoader() == null ? LazyPropertyLoader.class.getClassLoader() :
+            type.getClassLoader());
+        enhancer.setCallbackType(LazyValueLoader.class);
+
+        return enhancer.createClass();
+    }
+
+    private List<LazyPropertyMapping> getLazyProperties(CosmosPersistentEntity<?> entity) {
+        final List<LazyPropertyMapping> mappings = new ArrayList<>();
+
+        entity.doWithProperties((PropertyHandler<CosmosPersistentProperty>) property -> {
+            if (!property.isAnnotationPresent(LazyProperty.class)) {
+                return;
+            }
+
+            final Field field = property.getField();
+            final Class<?> type = property.getType();
+
+            if (field == null || property.isIdProperty() || property.isImmutable()
+                || !type.isInterface() && (Modifier.isFinal(type.getModifiers()) || type.isPrimitive()
+                || type.isArray())) {
+                throw new MappingException("@LazyProperty requires a mutable property of an interface or non-final "
+                    + "class type, property " + property.getName() + " of " + entity.getType().getName()
+                    + " is not supported");
+            }
+
+            mappings.add(new LazyPropertyMapping(property,
+                objectMapper.readerFor(objectMapper.getTypeFactory().constructType(field.getGenericType()))));
+        });
+
+        return Collections.unmodifiableList(mappings);
+    }
+
+    private static LazyValueLoader getLoader(Object proxy) {
+        return (LazyValueLoader) ((Factory) proxy).getCallback(0);
+    }
+
+    /**
+     * Marker of the lazy property proxies.
+     */
+    public interface LazyPropertyProxy {
+    }
+
+    private static final class LazyPropertyMapping {
+
+        private final CosmosPersistentProperty property;
+
+        private final String key;
+
+        private final ObjectReader reader;
+
+        private LazyPropertyMapping(CosmosPersistentProperty property, ObjectReader reader) {
+            final JsonProperty jsonProperty = property.findAnnotation(JsonProperty.class);
+
+            this.property = property;
+            this.key = jsonProperty == null || !StringUtils.hasText(jsonProperty.value()) ?
+                property.getName() : jsonProperty.value();
+            this.reader = reader;
+        }
+    }
+
+    /**
+     * Loads the value on the first call of any proxy method, all the calls are then dispatched to the value.
+     */
+    private static final class LazyValueLoader implements LazyLoader {
+
+        private final Class<?> type;
+
+        private final ObjectReader reader;
+
+        private volatile JsonNode value;
+
+        private volatile Object target;
+
+        private LazyValueLoader(Class<?> type, ObjectReader reader, JsonNode value) {
+            this.type = type;
+            this.reader = reader;
+            this.value = value;
+        }
+
+        private boolean isLoaded() {
+            return value == null;
+        }
+
+        @Override
+        public Object loadObject() {
+            try {
+                target = reader.readValue(value);
+                // Release the document value once parsed, the proxy keeps the loaded value.
+                value = null;
+
+                return target;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read lazy property of type " + type, e);
+            }
+        }
+    }
+
+    private static final class LazyPropertyProxySerializer extends StdSerializer<LazyPropertyProxy> {
+
+        private static final long serialVersionUID = 1L;
+
+        private LazyPropertyProxySerializer() {
+            super(LazyPropertyProxy.class);
+        }
+
+        @Override
+        public void serialize(LazyPropertyProxy proxy, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+            final LazyValueLoader loader = getLoader(proxy);
+            final JsonNode value = loader.value;
+
+            if (value != null) {
+                generator.writeTree(value);
+            } else {
+                provider.defaultSerializeValue(loader.target, generator);
+            }
+        }
+    }
+}
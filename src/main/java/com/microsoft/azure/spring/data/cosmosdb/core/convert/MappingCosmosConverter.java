@@ -8,50 +8,119 @@ package com.microsoft.azure.spring.data.cosmosdb.core.convert;
 import com.azure.data.cosmos.CosmosItemProperties;
 import com.azure.data.cosmos.internal.Utils;
 import com.azure.data.cosmos.internal.query.QueryItem;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.MappingStrategy;
 import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
-import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.data.convert.EntityConverter;
 import org.springframework.data.mapping.MappingException;
 import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.projection.ProjectionInformation;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
 
+import java.beans.PropertyDescriptor;
 import java.io.IOException;
-import java.time.ZonedDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Date;
-
-import static com.microsoft.azure.spring.data.cosmosdb.Constants.ISO_8601_COMPATIBLE_DATE_PATTERN;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class MappingCosmosConverter
     implements EntityConverter<CosmosPersistentEntity<?>, CosmosPersistentProperty,
     Object, CosmosItemProperties>,
     ApplicationContextAware {
 
+    private static final Function<Class<?>, Optional<CosmosEntityMapper<?>>> ENTITY_MAPPER_LOOKUP =
+        Memoizer.memoize(MappingCosmosConverter::findEntityMapper);
+
+    private static final CosmosCustomConversions DEFAULT_CONVERSIONS =
+        new CosmosCustomConversions(Collections.emptyList());
+
+    private static final int MAX_CONVERSION_STEPS = 3;
+
+    private static final GenericConversionService DEFAULT_CONVERSION_SERVICE = new GenericConversionService();
+
+    static {
+        DEFAULT_CONVERSIONS.registerConvertersIn(DEFAULT_CONVERSION_SERVICE);
+    }
+
     protected final MappingContext<? extends CosmosPersistentEntity<?>,
                                           CosmosPersistentProperty> mappingContext;
     protected GenericConversionService conversionService;
     private ApplicationContext applicationContext;
+    private final ObjectMapper sourceObjectMapper;
     private ObjectMapper objectMapper;
+    private PersistentEntityDocumentMapper persistentEntityDocumentMapper;
+    private LazyPropertyLoader lazyPropertyLoader;
+    private boolean useEntityMappers;
+    private CosmosCustomConversions customConversions = DEFAULT_CONVERSIONS;
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+    private final CompressedPropertyCodec compressedPropertyCodec;
 
     public MappingCosmosConverter(
         MappingContext<? extends CosmosPersistentEntity<?>, CosmosPersistentProperty> mappingContext,
         @Qualifier(Constants.OBJECTMAPPER_BEAN_NAME) ObjectMapper objectMapper) {
         this.mappingContext = mappingContext;
         this.conversionService = new GenericConversionService();
-        this.objectMapper = objectMapper == null ? ObjectMapperFactory.getObjectMapper() :
+        this.sourceObjectMapper = objectMapper == null ? ObjectMapperFactory.getObjectMapper() :
             objectMapper;
+        this.compressedPropertyCodec = new CompressedPropertyCodec(this.sourceObjectMapper);
+
+        this.customConversions.registerConvertersIn(this.conversionService);
+        this.setObjectMapper(this.customConversions);
+    }
+
+    /**
+     * Set the custom conversions applied to query parameters and, when it has user converters, to documents.
+     * Documents are then mapped by an ObjectMapper delegating to the user converters.
+     *
+     * @param customConversions the custom conversions
+     */
+    public void setCustomConversions(@NonNull CosmosCustomConversions customConversions) {
+        this.customConversions = customConversions;
+        this.conversionService = new GenericConversionService();
+        this.customConversions.registerConvertersIn(this.conversionService);
+        this.setObjectMapper(customConversions);
+    }
+
+    /**
+     * Documents are mapped by a copy of the given ObjectMapper, extended to write lazy properties and to apply the
+     * user converters, so the given one is left untouched.
+     */
+    private void setObjectMapper(CosmosCustomConversions customConversions) {
+        this.objectMapper = sourceObjectMapper.copy();
+        this.objectMapper.registerModule(LazyPropertyLoader.getJacksonModule());
+
+        if (customConversions.hasUserConverters()) {
+            this.objectMapper.registerModule(customConversions.getJacksonModule(conversionService));
+        }
+
+        this.persistentEntityDocumentMapper = new PersistentEntityDocumentMapper(this.objectMapper);
+        this.lazyPropertyLoader = new LazyPropertyLoader(this.objectMapper);
+        this.useEntityMappers = CosmosEntityMapperUtils.isCompatible(this.objectMapper);
+    }
+
+    public CosmosCustomConversions getCustomConversions() {
+        return customConversions;
     }
 
     @Override
@@ -66,27 +135,154 @@ public class MappingCosmosConverter
         return readInternal(entity, type, cosmosItemProperties);
     }
 
+    /**
+     * Read a projection of the domain type from a document, which may hold only the projected properties.
+     * DTOs are instantiated from the document directly, closed interface projections are backed by a map of the
+     * projected property values and open interface projections by the domain entity.
+     *
+     * @param domainType  the domain type of the document
+     * @param returnType  the projection type
+     * @param cosmosItemProperties the document
+     * @param <R>         type of the projection
+     * @return the projection
+     */
+    @SuppressWarnings("unchecked")
+    public <R> R readProjection(@NonNull Class<?> domainType, @NonNull Class<R> returnType,
+                                CosmosItemProperties cosmosItemProperties) {
+        if (cosmosItemProperties == null) {
+            return null;
+        } else if (returnType.isAssignableFrom(domainType)) {
+            return (R) read(domainType, cosmosItemProperties);
+        }
+
+        try {
+            final CosmosPersistentEntity<?> domainEntity = mappingContext.getRequiredPersistentEntity(domainType);
+            final ObjectNode objectNode = toMappedDocument(domainEntity,
+                CosmosItemPropertiesUtils.getObjectNode(cosmosItemProperties, objectMapper));
+
+            if (!returnType.isInterface()) {
+                final CosmosPersistentEntity<R> entity =
+                    (CosmosPersistentEntity<R>) mappingContext.getRequiredPersistentEntity(returnType);
+
+                return persistentEntityDocumentMapper.read(entity, withDomainIdName(domainEntity, objectNode));
+            }
+
+            final ProjectionInformation information = projectionFactory.getProjectionInformation(returnType);
+            if (!information.isClosed()) {
+                return projectionFactory.createProjection(returnType, read(domainType, cosmosItemProperties));
+            }
+
+            final List<String> properties = information.getInputProperties().stream()
+                                                       .map(PropertyDescriptor::getName)
+                                                       .collect(Collectors.toList());
+            final Map<String, Object> values =
+                persistentEntityDocumentMapper.readProperties(domainEntity, objectNode, properties);
+
+            return projectionFactory.createProjection(returnType, values);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read the source document " + cosmosItemProperties.toJson()
+                + "  to projection type " + returnType, e);
+        }
+    }
+
+    /**
+     * Apply the storage options of the entity to a newly mapped document.
+     */
+    private ObjectNode toStoredDocument(CosmosPersistentEntity<?> entity, ObjectNode document) throws IOException {
+        ObjectNode stored = document;
+
+        if (compressedPropertyCodec.hasCompressedProperties(entity)) {
+            stored = compressedPropertyCodec.compress(entity, stored);
+        }
+
+        return entity.isCompact() ? CompactDocumentUtils.compact(entity, stored, objectMapper) : stored;
+    }
+
+    /**
+     * Revert the storage options of the entity, the stored document is not modified.
+     */
+    private ObjectNode toMappedDocument(CosmosPersistentEntity<?> entity, ObjectNode document) throws IOException {
+        ObjectNode mapped = entity.isCompact() ? CompactDocumentUtils.expand(entity, document, objectMapper) :
+            document;
+
+        if (compressedPropertyCodec.hasCompressedProperties(entity)) {
+            mapped = compressedPropertyCodec.decompress(entity, mapped);
+        }
+
+        return mapped;
+    }
+
+    /**
+     * DTOs declare the id under the name of the domain id field, add it next to the id key on a shallow copy.
+     */
+    private ObjectNode withDomainIdName(CosmosPersistentEntity<?> domainEntity, ObjectNode objectNode) {
+        final CosmosPersistentProperty idProperty = domainEntity.getIdProperty();
+        final JsonNode idValue = objectNode.get(Constants.ID_PROPERTY_NAME);
+
+        if (idProperty == null || idValue == null || objectNode.has(idProperty.getName())) {
+            return objectNode;
+        }
+
+        final ObjectNode renamed = objectMapper.createObjectNode();
+
+        renamed.setAll(objectNode);
+        renamed.set(idProperty.getName(), idValue);
+
+        return renamed;
+    }
+
     private <R> R readInternal(final CosmosPersistentEntity<?> entity, Class<R> type,
                                final CosmosItemProperties cosmosItemProperties) {
 
         try {
-            final CosmosPersistentProperty idProperty = entity.getIdProperty();
-            final Object idValue = cosmosItemProperties.id();
-            final JSONObject jsonObject = new JSONObject(cosmosItemProperties.toJson());
-
-            if (idProperty != null) {
-                // Replace the key id to the actual id field name in domain
-                jsonObject.remove(Constants.ID_PROPERTY_NAME);
-                jsonObject.put(idProperty.getName(), idValue);
+            final ObjectNode objectNode = toMappedDocument(entity,
+                CosmosItemPropertiesUtils.getObjectNode(cosmosItemProperties, objectMapper));
+
+            if (!lazyPropertyLoader.hasLazyProperties(entity)) {
+                return readDocument(entity, type, objectNode);
             }
 
-            return objectMapper.readValue(jsonObject.toString(), type);
+            final R instance = readDocument(entity, type,
+                lazyPropertyLoader.withoutLazyProperties(entity, objectNode));
+
+            return lazyPropertyLoader.setLazyProperties(entity, instance, objectNode);
         } catch (IOException e) {
             throw new IllegalStateException("Failed to read the source document " + cosmosItemProperties.toJson()
                 + "  to target type " + type, e);
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <R> R readDocument(final CosmosPersistentEntity<?> entity, Class<R> type, ObjectNode objectNode)
+        throws IOException {
+        final CosmosPersistentProperty idProperty = entity.getIdProperty();
+        final Optional<CosmosEntityMapper<R>> entityMapper = getEntityMapper(type);
+
+        if (entity.getMappingStrategy() == MappingStrategy.PERSISTENT_ENTITY) {
+            return (R) persistentEntityDocumentMapper.read(entity, objectNode);
+        } else if (entityMapper.isPresent()) {
+            // Generated mappers read the id from the id key directly
+            return entityMapper.get().read(objectNode, objectMapper);
+        }
+
+        if (idProperty != null && !Constants.ID_PROPERTY_NAME.equals(idProperty.getName())) {
+            // Replace the key id to the actual id field name in domain, on a shallow copy so the
+            // source document is left untouched.
+            final ObjectNode renamed = objectMapper.createObjectNode();
+            final JsonNode idValue = objectNode.get(Constants.ID_PROPERTY_NAME);
+
+            renamed.setAll(objectNode);
+            renamed.remove(Constants.ID_PROPERTY_NAME);
+            if (idValue != null) {
+                renamed.set(idProperty.getName(), idValue);
+            }
+
+            return objectMapper.treeToValue(renamed, type);
+        }
+
+        return objectMapper.treeToValue(objectNode, type);
+    }
+
     @Override
     @Deprecated
     public void write(Object sourceEntity, CosmosItemProperties document) {
@@ -110,9 +306,24 @@ public class MappingCosmosConverter
         final CosmosItemProperties cosmosItemProperties;
 
         try {
-            cosmosItemProperties =
-                new CosmosItemProperties(objectMapper.writeValueAsString(sourceEntity));
-        } catch (JsonProcessingException e) {
+            final Optional<CosmosEntityMapper<Object>> entityMapper = getEntityMapper(sourceEntity.getClass());
+            final JsonNode jsonNode;
+
+            if (persistentEntity.getMappingStrategy() == MappingStrategy.PERSISTENT_ENTITY) {
+                jsonNode = persistentEntityDocumentMapper.write(persistentEntity, sourceEntity);
+            } else if (entityMapper.isPresent()) {
+                jsonNode = entityMapper.get().write(sourceEntity, objectMapper);
+            } else {
+                jsonNode = objectMapper.valueToTree(sourceEntity);
+            }
+            if (!jsonNode.isObject()) {
+                throw new CosmosDBAccessException("Failed to map document value, entity type "
+                    + sourceEntity.getClass().getName() + " is not serialized as JSON object.");
+            }
+
+            cosmosItemProperties = CosmosItemPropertiesUtils.toCosmosItemProperties(
+                toStoredDocument(persistentEntity, (ObjectNode) jsonNode), objectMapper);
+        } catch (IllegalArgumentException | IOException e) {
             throw new CosmosDBAccessException("Failed to map document value.", e);
         }
 
@@ -132,6 +343,7 @@ public class MappingCosmosConverter
     @Override
     public void setApplicationContext(ApplicationContext applicationContext) {
         this.applicationContext = applicationContext;
+        this.projectionFactory.setBeanFactory(applicationContext);
     }
 
     @Override
@@ -139,11 +351,51 @@ public class MappingCosmosConverter
         return conversionService;
     }
 
+    /**
+     * Convert a value read from Cosmos DB, e.g. a number selected by {@code SELECT VALUE}, with the custom
+     * conversions or else the default conversions between numbers, booleans and strings.
+     *
+     * @param value the value read
+     * @param type  the type to convert to
+     * @param <T>   the type to convert to
+     * @return the converted value, null if the value is null
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public <T> T convertValue(@Nullable Object value, @NonNull Class<T> type) {
+        final Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(type);
+
+        if (value == null || targetType.isInstance(value)) {
+            return (T) value;
+        } else if (conversionService.canConvert(value.getClass(), targetType)) {
+            return (T) conversionService.convert(value, targetType);
+        }
+
+        return (T) DefaultConversionService.getSharedInstance().convert(value, targetType);
+    }
+
     public MappingContext<? extends CosmosPersistentEntity<?>, CosmosPersistentProperty> getMappingContext() {
         return mappingContext;
     }
 
 
+    /**
+     * Get the generated mapper of the type, unless the ObjectMapper is configured in a way the generated mappers
+     * do not follow.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Optional<CosmosEntityMapper<T>> getEntityMapper(Class<?> type) {
+        if (!useEntityMappers) {
+            return Optional.empty();
+        }
+
+        return (Optional<CosmosEntityMapper<T>>) (Optional<?>) ENTITY_MAPPER_LOOKUP.apply(type);
+    }
+
+    private static Optional<CosmosEntityMapper<?>> findEntityMapper(Class<?> type) {
+        return CosmosEntityMapperUtils.findEntityMapper(type).map(m -> (CosmosEntityMapper<?>) m);
+    }
+
     private ConvertingPropertyAccessor getPropertyAccessor(Object entity) {
         final CosmosPersistentEntity<?> entityInformation =
             mappingContext.getPersistentEntity(entity.getClass());
@@ -154,28 +406,42 @@ public class MappingCosmosConverter
     }
 
     /**
-     * Convert a property value to the value stored in CosmosDB
+     * Convert a value to the value stored in CosmosDB, through the registered custom conversions.
      *
-     * @param fromPropertyValue
-     * @return
+     * @param fromPropertyValue the value, e.g. a query parameter
+     * @return the converted value
      */
+    public Object convertToCosmosDbValue(Object fromPropertyValue) {
+        return convertToCosmosDbValue(fromPropertyValue, customConversions, conversionService);
+    }
+
+    /**
+     * Convert a property value to the value stored in CosmosDB, through the store converters only.
+     *
+     * @param fromPropertyValue the value
+     * @return the converted value
+     * @deprecated use {@link #convertToCosmosDbValue(Object)}, which also applies user converters
+     */
+    @Deprecated
     public static Object toCosmosDbValue(Object fromPropertyValue) {
-        if (fromPropertyValue == null) {
-            return null;
-        }
+        return convertToCosmosDbValue(fromPropertyValue, DEFAULT_CONVERSIONS, DEFAULT_CONVERSION_SERVICE);
+    }
 
-        // com.microsoft.azure.data.cosmos.JsonSerializable#set(String, T) cannot set values for Date and Enum correctly
+    private static Object convertToCosmosDbValue(Object value, CosmosCustomConversions conversions,
+                                                 ConversionService conversionService) {
+        Object converted = value;
+
+        // The SDK cannot serialize values like Date and Enum correctly, convert until a stored type is reached.
+        for (int i = 0; converted != null && i < MAX_CONVERSION_STEPS; i++) {
+            final Optional<Class<?>> target = conversions.getCustomWriteTarget(converted.getClass());
+
+            if (!target.isPresent() || target.get().isInstance(converted)) {
+                break;
+            }
 
-        if (fromPropertyValue instanceof Date) {
-            fromPropertyValue = ((Date) fromPropertyValue).getTime();
-        } else
-        if (fromPropertyValue instanceof ZonedDateTime) {
-            fromPropertyValue = ((ZonedDateTime) fromPropertyValue)
-                                        .format(DateTimeFormatter.ofPattern(ISO_8601_COMPATIBLE_DATE_PATTERN));
-        } else if (fromPropertyValue instanceof Enum) {
-            fromPropertyValue = fromPropertyValue.toString();
+            converted = conversionService.convert(converted, target.get());
         }
 
-        return fromPropertyValue;
+        return converted;
     }
 }
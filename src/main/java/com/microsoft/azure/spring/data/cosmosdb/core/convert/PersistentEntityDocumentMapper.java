@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.convert;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.common.Memoizer;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import lombok.NonNull;
+import org.springframework.data.convert.EntityInstantiators;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
+import org.springframework.data.mapping.PreferredConstructor;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.model.ParameterValueProvider;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Maps documents property by property from the {@link CosmosPersistentEntity} metadata. Entities are created
+ * by the Spring Data {@link EntityInstantiators} and populated through the persistent property accessors, both of
+ * which generate classes at runtime instead of using reflection where possible.
+ * <p>
+ * Values of simple types are converted directly, other values are bound by the {@link ObjectMapper}, so the
+ * documents are compatible with the ones mapped by Jackson as a whole.
+ */
+public class PersistentEntityDocumentMapper {
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityInstantiators instantiators = new EntityInstantiators();
+
+    private final Function<CosmosPersistentEntity<?>, List<PropertyMapping>> propertyMappingsLookup =
+        Memoizer.memoize(this::getPropertyMappings);
+
+    public PersistentEntityDocumentMapper(@NonNull ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the entity from the document.
+     *
+     * @param entity   metadata of the entity
+     * @param document the document, which is not modified
+     * @param <T>      type of the entity
+     * @return the entity
+     * @throws IOException if a property value cannot be bound
+     */
+    public <T> T read(@NonNull CosmosPersistentEntity<T> entity, @NonNull ObjectNode document) throws IOException {
+        final List<PropertyMapping> mappings = propertyMappingsLookup.apply(entity);
+        final PreferredConstructor<T, CosmosPersistentProperty> constructor = entity.getPersistenceConstructor();
+        final T instance;
+
+        try {
+            instance = instantiators.getInstantiatorFor(entity)
+                                    .createInstance(entity, new DocumentParameterValueProvider(entity, document));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        final PersistentPropertyAccessor<T> accessor = entity.getPropertyAccessor(instance);
+
+        for (final PropertyMapping mapping : mappings) {
+            if (!mapping.isReadable || constructor != null && constructor.isConstructorParameter(mapping.property)) {
+                continue;
+            }
+
+            final JsonNode value = getValue(document, mapping);
+            if (value == null || value.isNull() && mapping.property.getType().isPrimitive()) {
+                continue;
+            }
+
+            accessor.setProperty(mapping.property, readValue(mapping, value));
+        }
+
+        return accessor.getBean();
+    }
+
+    /**
+     * Read the given properties of the entity from the document, converted to the property types.
+     *
+     * @param entity     metadata of the entity
+     * @param document   the document, which may hold only a subset of the properties
+     * @param properties names of the properties to read
+     * @return the property values by property name, missing properties are absent
+     * @throws IOException if a property value cannot be bound
+     */
+    public Map<String, Object> readProperties(@NonNull CosmosPersistentEntity<?> entity,
+                                              @NonNull ObjectNode document,
+                                              @NonNull Collection<String> properties) throws IOException {
+        final Map<String, Object> values = new HashMap<>();
+
+        for (final PropertyMapping mapping : propertyMappingsLookup.apply(entity)) {
+            if (!properties.contains(mapping.property.getName())) {
+                continue;
+            }
+
+            final JsonNode value = getValue(document, mapping);
+            if (value != null) {
+                values.put(mapping.property.getName(), readValue(mapping, value));
+            }
+        }
+
+        return values;
+    }
+
+    /**
+     * Write the entity to a new document.
+     *
+     * @param entity metadata of the entity
+     * @param source the entity
+     * @return the document
+     */
+    public ObjectNode write(@NonNull CosmosPersistentEntity<?> entity, @NonNull Object source) {
+        final PersistentPropertyAccessor<?> accessor = entity.getPropertyAccessor(source);
+        final ObjectNode document = objectMapper.createObjectNode();
+        final JsonInclude.Include inclusion =
+            objectMapper.getSerializationConfig().getDefaultPropertyInclusion().getValueInclusion();
+        final boolean writeNull = inclusion == JsonInclude.Include.ALWAYS
+            || inclusion == JsonInclude.Include.USE_DEFAULTS;
+
+        for (final PropertyMapping mapping : propertyMappingsLookup.apply(entity)) {
+            if (!mapping.isWritable) {
+                continue;
+            }
+
+            final Object value = accessor.getProperty(mapping.property);
+            if (value != null || writeNull) {
+                writeValue(document, mapping.writeKey, value);
+            }
+        }
+
+        return document;
+    }
+
+    private List<PropertyMapping> getPropertyMappings(CosmosPersistentEntity<?> entity) {
+        final List<PropertyMapping> mappings = new ArrayList<>();
+
+        entity.doWithProperties((PropertyHandler<CosmosPersistentProperty>) property -> {
+            final JsonIgnore ignore = property.findAnnotation(JsonIgnore.class);
+
+            if (ignore == null || !ignore.value()) {
+                mappings.add(new PropertyMapping(property, objectMapper.readerFor(getJavaType(property))));
+            }
+        });
+
+        return Collections.unmodifiableList(mappings);
+    }
+
+    private JavaType getJavaType(CosmosPersistentProperty property) {
+        final Field field = property.getField();
+        final Method getter = property.getGetter();
+        final Type type;
+
+        if (field != null) {
+            type = field.getGenericType();
+        } else if (getter != null) {
+            type = getter.getGenericReturnType();
+        } else {
+            type = property.getType();
+        }
+
+        return objectMapper.getTypeFactory().constructType(type);
+    }
+
+    private static JsonNode getValue(ObjectNode document, PropertyMapping mapping) {
+        final JsonNode value = document.get(mapping.readKey);
+
+        // Projected documents may only hold the renamed id property.
+        return value == null ? document.get(mapping.writeKey) : value;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object readValue(PropertyMapping mapping, JsonNode value) throws IOException {
+        final Class<?> type = mapping.valueType;
+
+        if (value.isNull()) {
+            return mapping.reader.readValue(value);
+        } else if (String.class.equals(type)) {
+            return CosmosEntityMapperUtils.readString(value, objectMapper);
+        } else if (Integer.class.equals(type)) {
+            return CosmosEntityMapperUtils.readInteger(value, objectMapper);
+        } else if (Long.class.equals(type)) {
+            return CosmosEntityMapperUtils.readLong(value, objectMapper);
+        } else if (Double.class.equals(type)) {
+            return CosmosEntityMapperUtils.readDouble(value, objectMapper);
+        } else if (Boolean.class.equals(type)) {
+            return CosmosEntityMapperUtils.readBoolean(value, objectMapper);
+        } else if (type.isEnum()) {
+            return CosmosEntityMapperUtils.readEnum(value, objectMapper, (Class<? extends Enum>) type);
+        }
+
+        return mapping.reader.readValue(value);
+    }
+
+    private void writeValue(ObjectNode document, String key, Object value) {
+        if (value == null) {
+            document.putNull(key);
+        } else if (value instanceof String) {
+            document.put(key, (String) value);
+        } else if (value instanceof Integer) {
+            document.put(key, (Integer) value);
+        } else if (value instanceof Long) {
+            document.put(key, (Long) value);
+        } else if (value instanceof Double) {
+            document.put(key, (Double) value);
+        } else if (value instanceof Boolean) {
+            document.put(key, (Boolean) value);
+        } else if (value instanceof BigDecimal) {
+            document.put(key, (BigDecimal) value);
+        } else if (value instanceof Enum) {
+            document.set(key, CosmosEntityMapperUtils.writeEnum((Enum<?>) value, objectMapper));
+        } else {
+            document.set(key, objectMapper.valueToTree(value));
+        }
+    }
+
+    private final class DocumentParameterValueProvider implements ParameterValueProvider<CosmosPersistentProperty> {
+
+        private final CosmosPersistentEntity<?> entity;
+
+        private final ObjectNode document;
+
+        private final Map<String, PropertyMapping> mappings = new HashMap<>();
+
+        private DocumentParameterValueProvider(CosmosPersistentEntity<?> entity, ObjectNode document) {
+            this.entity = entity;
+            this.document = document;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getParameterValue(PreferredConstructor.Parameter<T, CosmosPersistentProperty> parameter) {
+            final String name = parameter.getName();
+
+            if (name == null) {
+                throw new MappingException("Parameter name of the persistence constructor of "
+                    + entity.getType().getName() + " is not available, compile with debug information.");
+            }
+
+            if (mappings.isEmpty()) {
+                propertyMappingsLookup.apply(entity).forEach(m -> mappings.put(m.property.getName(), m));
+            }
+
+            final PropertyMapping mapping = mappings.get(name);
+            if (mapping == null) {
+                throw new MappingException("No property " + name + " found for the persistence constructor of "
+                    + entity.getType().getName());
+            }
+
+            final JsonNode value = getValue(document, mapping);
+
+            try {
+                return (T) (value == null ? mapping.reader.readValue(objectMapper.nullNode()) :
+                    readValue(mapping, value));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class PropertyMapping {
+
+        private final CosmosPersistentProperty property;
+
+        private final String readKey;
+
+        private final String writeKey;
+
+        private final boolean isReadable;
+
+        private final boolean isWritable;
+
+        private final Class<?> valueType;
+
+        private final ObjectReader reader;
+
+        private PropertyMapping(CosmosPersistentProperty property, ObjectReader reader) {
+            final JsonProperty jsonProperty = property.findAnnotation(JsonProperty.class);
+            final String name = jsonProperty == null || !StringUtils.hasText(jsonProperty.value()) ?
+                property.getName() : jsonProperty.value();
+
+            this.property = property;
+            this.reader = reader;
+            this.valueType = ClassUtils.resolvePrimitiveIfNecessary(property.getType());
+            // The id of the document is always kept in the id key, whatever the name of the id property.
+            this.readKey = property.isIdProperty() ? Constants.ID_PROPERTY_NAME : name;
+            this.writeKey = name;
+            this.isReadable = !property.isImmutable() || property.getWither() != null;
+            this.isWritable = property.isWritable();
+        }
+    }
+}
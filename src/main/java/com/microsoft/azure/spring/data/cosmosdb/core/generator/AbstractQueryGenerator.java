@@ -7,12 +7,14 @@ package com.microsoft.azure.spring.data.cosmosdb.core.generator;
 
 import com.azure.data.cosmos.SqlParameterList;
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CompactDocumentUtils;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QuerySpecTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
 import org.javatuples.Pair;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
@@ -21,14 +23,117 @@ import org.springframework.util.StringUtils;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
-import static com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter.toCosmosDbValue;
-
-@NoArgsConstructor(access = AccessLevel.PROTECTED)
 public abstract class AbstractQueryGenerator {
 
+    private final MappingCosmosConverter converter;
+
+    private final CosmosPersistentEntity<?> entity;
+
+    /**
+     * Generator converting parameters with the store converters only.
+     */
+    protected AbstractQueryGenerator() {
+        this.converter = null;
+        this.entity = null;
+    }
+
+    /**
+     * Generator converting parameters with the custom conversions of the given converter.
+     *
+     * @param converter the converter of the template
+     */
+    protected AbstractQueryGenerator(@NonNull MappingCosmosConverter converter) {
+        this.converter = converter;
+        this.entity = null;
+    }
+
+    /**
+     * Generator converting parameters with the custom conversions of the given converter, and translating the
+     * property names to the stored names of the domain type when it is compact.
+     *
+     * @param converter  the converter of the template
+     * @param domainType the domain type of the queried documents
+     */
+    protected AbstractQueryGenerator(@NonNull MappingCosmosConverter converter, @NonNull Class<?> domainType) {
+        this.converter = converter;
+        this.entity = converter.getMappingContext().getPersistentEntity(domainType);
+    }
+
+    private boolean isCompact() {
+        return entity != null && entity.isCompact();
+    }
+
+    /**
+     * Get the path of a property in the stored documents, only the top level property is renamed.
+     *
+     * @param subject path of the property
+     * @return the stored path
+     */
+    protected String getStoredSubject(@NonNull String subject) {
+        if (!isCompact()) {
+            return subject;
+        }
+
+        final int index = subject.indexOf('.');
+        final String property = index < 0 ? subject : subject.substring(0, index);
+
+        return entity.getStoredName(property) + (index < 0 ? "" : subject.substring(index));
+    }
+
+    /**
+     * Get the value of a property in the stored documents, for aggregates. A primitive property missing from the
+     * documents of a compact entity has its default value, as when the documents are read.
+     *
+     * @param subject path of the property
+     * @return the expression of the value
+     */
+    protected String getStoredValue(@NonNull String subject) {
+        final String value = "r." + getStoredSubject(subject);
+        final Object missingValue = isCompact() && !subject.contains(".") ?
+            CompactDocumentUtils.getMissingValue(entity, subject) : null;
+
+        if (missingValue == null) {
+            return value;
+        }
+
+        return String.format("(IS_DEFINED(%s) ? %s : %s)", value, value, missingValue);
+    }
+
+    /**
+     * Compact documents omit the top level null values, whose properties are undefined. The criteria matching null
+     * also match the documents without the property, and {@code NOT IS_NULL} is only true for defined properties.
+     */
+    private String orMissing(@NonNull Criteria criteria, @NonNull String subject, @NonNull String condition) {
+        if (!isCompact() || criteria.getSubject().contains(".")) {
+            return condition;
+        }
+
+        switch (criteria.getType()) {
+            case IS_NULL:
+                return String.format("(NOT IS_DEFINED(r.%s) OR %s)", subject, condition);
+            case IS_NOT_NULL:
+                return String.format("(IS_DEFINED(r.%s) AND %s)", subject, condition);
+            case IS_EQUAL:
+                if (criteria.getSubjectValues().get(0) == null) {
+                    return String.format("(NOT IS_DEFINED(r.%s) OR %s)", subject, condition);
+                }
+                return condition;
+            default:
+                return condition;
+        }
+    }
+
+    @SuppressWarnings("deprecation")
+    private Object toCosmosDbValue(Object value) {
+        return converter == null ? MappingCosmosConverter.toCosmosDbValue(value) :
+            converter.convertToCosmosDbValue(value);
+    }
+
     private String generateQueryParameter(@NonNull String subject) {
         return subject.replaceAll("\\.", "_"); // user.name is not valid sql parameter identifier.
     }
@@ -36,12 +141,12 @@ public abstract class AbstractQueryGenerator {
     private String generateUnaryQuery(@NonNull Criteria criteria) {
         Assert.isTrue(criteria.getSubjectValues().isEmpty(), "Unary criteria should have no one subject value");
         Assert.isTrue(CriteriaType.isUnary(criteria.getType()), "Criteria type should be unary operation");
-        final String subject = criteria.getSubject();
+        final String subject = getStoredSubject(criteria.getSubject());
 
         if (CriteriaType.isFunction(criteria.getType())) {
-            return String.format("%s(r.%s)", criteria.getType().getSqlKeyword(), subject);
+            return orMissing(criteria, subject, String.format("%s(r.%s)", criteria.getType().getSqlKeyword(), subject));
         } else {
-            return String.format("r.%s %s", subject, criteria.getType().getSqlKeyword());
+            return orMissing(criteria, subject, String.format("r.%s %s", subject, criteria.getType().getSqlKeyword()));
         }
     }
 
@@ -49,21 +154,22 @@ public abstract class AbstractQueryGenerator {
         Assert.isTrue(criteria.getSubjectValues().size() == 1, "Binary criteria should have only one subject value");
         Assert.isTrue(CriteriaType.isBinary(criteria.getType()), "Criteria type should be binary operation");
 
-        final String subject = criteria.getSubject();
+        final String subject = getStoredSubject(criteria.getSubject());
         final Object subjectValue = toCosmosDbValue(criteria.getSubjectValues().get(0));
         final String parameter = generateQueryParameter(subject);
+        final String keyword = criteria.getType().getSqlKeyword();
 
         parameters.add(Pair.with(parameter, subjectValue));
 
         if (CriteriaType.isFunction(criteria.getType())) {
-            return String.format("%s(r.%s, @%s)", criteria.getType().getSqlKeyword(), subject, parameter);
+            return orMissing(criteria, subject, String.format("%s(r.%s, @%s)", keyword, subject, parameter));
         } else {
-            return String.format("r.%s %s @%s", subject, criteria.getType().getSqlKeyword(), parameter);
+            return orMissing(criteria, subject, String.format("r.%s %s @%s", subject, keyword, parameter));
         }
     }
 
     private String generateBetween(@NonNull Criteria criteria, @NonNull List<Pair<String, Object>> parameters) {
-        final String subject = criteria.getSubject();
+        final String subject = getStoredSubject(criteria.getSubject());
         final Object value1 = toCosmosDbValue(criteria.getSubjectValues().get(0));
         final Object value2 = toCosmosDbValue(criteria.getSubjectValues().get(1));
         final String subject1 = "start";
@@ -85,29 +191,44 @@ public abstract class AbstractQueryGenerator {
         return String.join(" ", left, type.getSqlKeyword(), right);
     }
 
-    @SuppressWarnings("unchecked")
-    private String generateInQuery(Criteria criteria) {
+    /**
+     * The IN range is bound as a single array parameter, so the query text does not depend on the range.
+     */
+    private String generateInQuery(@NonNull Criteria criteria, @NonNull List<Pair<String, Object>> parameters) {
+        final String subject = getStoredSubject(criteria.getSubject());
+        final String parameter = generateQueryParameter(subject);
+        final String function = String.format("ARRAY_CONTAINS(@%s, r.%s)", parameter, subject);
+
+        parameters.add(Pair.with(parameter, toInRangeValues(criteria)));
+
+        if (criteria.getType() == CriteriaType.NOT_IN) {
+            // NOT ARRAY_CONTAINS is true for undefined values, which NOT IN never matched
+            return String.format("(IS_DEFINED(r.%s) AND NOT %s)", subject, function);
+        }
+
+        return function;
+    }
+
+    private List<Object> toInRangeValues(@NonNull Criteria criteria) {
         Assert.isTrue(criteria.getSubjectValues().size() == 1, "Criteria should have only one subject value");
         if (!(criteria.getSubjectValues().get(0) instanceof Collection)) {
             throw new IllegalQueryException("IN keyword requires Collection type in parameters");
         }
-        final List<String> inRangeValues = new ArrayList<>();
-        final Collection values = (Collection) criteria.getSubjectValues().get(0);
-
-        values.forEach(o -> {
-            if (o instanceof Integer || o instanceof Long) {
-                inRangeValues.add(String.format("%d", o));
-            } else if (o instanceof String) {
-                inRangeValues.add(String.format("'%s'", (String) o));
-            } else if (o instanceof Boolean) {
-                inRangeValues.add(String.format("%b", (Boolean) o));
-            } else {
-                throw new IllegalQueryException("IN keyword Range only support Number and String type.");
+
+        final Collection<?> values = (Collection<?>) criteria.getSubjectValues().get(0);
+        final List<Object> inRangeValues = new ArrayList<>(values.size());
+
+        for (final Object value : values) {
+            final Object converted = toCosmosDbValue(value);
+
+            if (!(converted instanceof Number || converted instanceof String || converted instanceof Boolean)) {
+                throw new IllegalQueryException("IN keyword Range only support Number, String and Boolean type.");
             }
-        });
 
-        final String inRange = String.join(",", inRangeValues);
-        return String.format("r.%s %s (%s)", criteria.getSubject(), criteria.getType().getSqlKeyword(), inRange);
+            inRangeValues.add(converted);
+        }
+
+        return inRangeValues;
     }
 
     private String generateQueryBody(@NonNull Criteria criteria, @NonNull List<Pair<String, Object>> parameters) {
@@ -118,7 +239,7 @@ public abstract class AbstractQueryGenerator {
                 return "";
             case IN:
             case NOT_IN:
-                return generateInQuery(criteria);
+                return generateInQuery(criteria, parameters);
             case BETWEEN:
                 return generateBetween(criteria, parameters);
             case IS_NULL:
@@ -176,7 +297,7 @@ public abstract class AbstractQueryGenerator {
 
         final String direction = order.isDescending() ? "DESC" : "ASC";
 
-        return String.format("r.%s %s", order.getProperty(), direction);
+        return String.format("r.%s %s", getStoredSubject(order.getProperty()), direction);
     }
 
     private String generateQuerySort(@NonNull Sort sort) {
@@ -202,6 +323,12 @@ public abstract class AbstractQueryGenerator {
 
     protected SqlQuerySpec generateCosmosQuery(@NonNull DocumentQuery query,
                                                                             @NonNull String queryHead) {
+        final QuerySpecTemplate template = query.getTemplate();
+
+        if (template != null && isApplicable(template, query)) {
+            return bind(template, query, queryHead);
+        }
+
         final Pair<String, List<Pair<String, Object>>> queryBody = generateQueryBody(query);
         final String queryString = String.join(" ", queryHead, queryBody.getValue0(), generateQueryTail(query));
         final List<Pair<String, Object>> parameters = queryBody.getValue1();
@@ -210,11 +337,109 @@ public abstract class AbstractQueryGenerator {
 
         sqlParameters.addAll(
                 parameters.stream()
-                        .map(p -> new com.azure.data.cosmos.SqlParameter("@" + p.getValue0(),
-                                toCosmosDbValue(p.getValue1())))
+                        .map(p -> new com.azure.data.cosmos.SqlParameter("@" + p.getValue0(), p.getValue1()))
                         .collect(Collectors.toList())
         );
 
         return new SqlQuerySpec(queryString, sqlParameters);
     }
+
+    /**
+     * Compile the query text of all the queries with the same criteria shape and sort as the given one, the
+     * criteria values are not used. The equality criteria of compact documents, whose text depends on their
+     * values, cannot be compiled.
+     *
+     * @param query the query, whose criteria values may be placeholders
+     * @return the template, or empty if the query cannot be compiled
+     */
+    public Optional<QuerySpecTemplate> compile(@NonNull DocumentQuery query) {
+        if (!isCompilable(query.getCriteria())) {
+            return Optional.empty();
+        }
+
+        final DocumentQuery placeholderQuery = new DocumentQuery(withEmptyRanges(query.getCriteria()))
+            .with(query.getSort());
+        final Pair<String, List<Pair<String, Object>>> queryBody = generateQueryBody(placeholderQuery);
+        final String queryText = String.join(" ", "", queryBody.getValue0(), generateQueryTail(query));
+        final List<String> parameterNames = queryBody.getValue1().stream()
+                                                     .map(p -> "@" + p.getValue0())
+                                                     .collect(Collectors.toList());
+
+        return Optional.of(new QuerySpecTemplate(isCompact() ? entity.getType() : null, query.getSort(),
+            queryText, parameterNames));
+    }
+
+    private boolean isCompilable(@NonNull Criteria criteria) {
+        switch (criteria.getType()) {
+            case IS_EQUAL:
+                return !isCompact() || criteria.getSubject().contains(".");
+            case AND:
+            case OR:
+                return criteria.getSubCriteria().stream().allMatch(this::isCompilable);
+            default:
+                return true;
+        }
+    }
+
+    private static Criteria withEmptyRanges(@NonNull Criteria criteria) {
+        final CriteriaType type = criteria.getType();
+
+        if (type == CriteriaType.IN || type == CriteriaType.NOT_IN) {
+            final List<Object> emptyRange = Collections.singletonList(Collections.emptyList());
+
+            return Criteria.getInstance(type, criteria.getSubject(), emptyRange);
+        } else if (CriteriaType.isClosed(type)) {
+            return Criteria.getInstance(type, withEmptyRanges(criteria.getSubCriteria().get(0)),
+                withEmptyRanges(criteria.getSubCriteria().get(1)));
+        }
+
+        return criteria;
+    }
+
+    /**
+     * Templates compiled with the stored names of a compact domain type only apply to the same domain type.
+     */
+    private boolean isApplicable(@NonNull QuerySpecTemplate template, @NonNull DocumentQuery query) {
+        if (!template.getSort().equals(query.getSort())) {
+            return false;
+        }
+
+        final Class<?> domainType = template.getDomainType();
+
+        return domainType == null ? !isCompact() : isCompact() && entity.getType().equals(domainType);
+    }
+
+    private SqlQuerySpec bind(@NonNull QuerySpecTemplate template, @NonNull DocumentQuery query,
+                              @NonNull String queryHead) {
+        final List<Object> values = new ArrayList<>();
+        final List<String> names = template.getParameterNames();
+        final SqlParameterList sqlParameters = new SqlParameterList();
+
+        collectValues(query.getCriteria(), values);
+        Assert.isTrue(values.size() == names.size(), "query should have the criteria shape of the template");
+
+        for (int i = 0; i < names.size(); i++) {
+            sqlParameters.add(new com.azure.data.cosmos.SqlParameter(names.get(i), values.get(i)));
+        }
+
+        return new SqlQuerySpec(queryHead + template.getQueryBody(), sqlParameters);
+    }
+
+    /**
+     * Visit the converted criteria values in the order of {@link #generateQueryBody(Criteria, List)}.
+     */
+    private void collectValues(@NonNull Criteria criteria, @NonNull List<Object> values) {
+        final CriteriaType type = criteria.getType();
+
+        if (CriteriaType.isClosed(type)) {
+            criteria.getSubCriteria().forEach(c -> collectValues(c, values));
+        } else if (type == CriteriaType.IN || type == CriteriaType.NOT_IN) {
+            values.add(toInRangeValues(criteria));
+        } else if (type == CriteriaType.BETWEEN) {
+            values.add(toCosmosDbValue(criteria.getSubjectValues().get(0)));
+            values.add(toCosmosDbValue(criteria.getSubjectValues().get(1)));
+        } else if (CriteriaType.isBinary(type)) {
+            values.add(toCosmosDbValue(criteria.getSubjectValues().get(0)));
+        }
+    }
 }
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.generator;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+
+/**
+ * Generate a query selecting the value of an aggregate function, which the SDK reduces across partitions.
+ */
+public class AggregateQueryGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
+
+    private final Aggregation aggregation;
+
+    public AggregateQueryGenerator(MappingCosmosConverter converter, Class<?> domainType, Aggregation aggregation) {
+        super(converter, domainType);
+
+        this.aggregation = aggregation;
+    }
+
+    @Override
+    public SqlQuerySpec generateCosmos(DocumentQuery query) {
+        final String property = aggregation.getProperty();
+        final String argument = property == null ? "1" : getStoredValue(property);
+
+        return super.generateCosmosQuery(query, String.format("SELECT VALUE %s(%s) FROM r",
+            aggregation.getFunction().getSqlKeyword(), argument));
+    }
+}
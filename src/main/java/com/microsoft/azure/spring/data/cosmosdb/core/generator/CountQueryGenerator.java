@@ -6,10 +6,23 @@
 package com.microsoft.azure.spring.data.cosmosdb.core.generator;
 
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 
 public class CountQueryGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
 
+    public CountQueryGenerator() {
+        super();
+    }
+
+    public CountQueryGenerator(MappingCosmosConverter converter) {
+        super(converter);
+    }
+
+    public CountQueryGenerator(MappingCosmosConverter converter, Class<?> domainType) {
+        super(converter, domainType);
+    }
+
     @Override
     public SqlQuerySpec generateCosmos(DocumentQuery query) {
         return super.generateCosmosQuery(query, "SELECT VALUE COUNT(1) FROM r");
@@ -0,0 +1,34 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.generator;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+
+/**
+ * Generate a query selecting at most one constant value, so the existence of matching documents is checked
+ * without reading them.
+ */
+public class ExistsQueryGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
+
+    public ExistsQueryGenerator() {
+        super();
+    }
+
+    public ExistsQueryGenerator(MappingCosmosConverter converter) {
+        super(converter);
+    }
+
+    public ExistsQueryGenerator(MappingCosmosConverter converter, Class<?> domainType) {
+        super(converter, domainType);
+    }
+
+    @Override
+    public SqlQuerySpec generateCosmos(DocumentQuery query) {
+        return super.generateCosmosQuery(query, "SELECT TOP 1 VALUE 1 FROM r");
+    }
+}
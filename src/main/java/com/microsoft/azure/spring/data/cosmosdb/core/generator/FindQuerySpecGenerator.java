@@ -6,14 +6,55 @@
 package com.microsoft.azure.spring.data.cosmosdb.core.generator;
 
 import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
-import lombok.NoArgsConstructor;
 
-@NoArgsConstructor
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 public class FindQuerySpecGenerator extends AbstractQueryGenerator implements QuerySpecGenerator {
 
+    public FindQuerySpecGenerator() {
+        super();
+    }
+
+    public FindQuerySpecGenerator(MappingCosmosConverter converter) {
+        super(converter);
+    }
+
+    public FindQuerySpecGenerator(MappingCosmosConverter converter, Class<?> domainType) {
+        super(converter, domainType);
+    }
+
     @Override
     public SqlQuerySpec generateCosmos(DocumentQuery query) {
-        return super.generateCosmosQuery(query, "SELECT * FROM ROOT r");
+        return super.generateCosmosQuery(query, generateQueryHead(query));
+    }
+
+    private String generateQueryHead(DocumentQuery query) {
+        final String top = query.isLimited() ? String.format("TOP %d ", query.getLimit()) : "";
+
+        if (query.getProjection().isEmpty()) {
+            return String.format("SELECT %s* FROM ROOT r", top);
+        }
+
+        final List<String> selectList = query.getProjection().stream()
+                                             .map(property -> toSelectItem(property, query))
+                                             .collect(Collectors.toList());
+
+        return String.format("SELECT %s%s FROM ROOT r", top, String.join(", ", selectList));
+    }
+
+    /**
+     * Properties are selected with quoted names, which may be SQL keywords, e.g. {@code r["value"]}.
+     */
+    private String toSelectItem(String property, DocumentQuery query) {
+        final String alias = query.getProjectionAliases().get(property);
+        final String item = "r" + Arrays.stream(getStoredSubject(property).split("\\."))
+                                         .map(name -> String.format("[\"%s\"]", name))
+                                         .collect(Collectors.joining());
+
+        return alias == null ? item : String.format("%s AS %s", item, alias);
     }
 }
@@ -11,16 +11,29 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.expression.BeanFactoryAccessor;
 import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.data.mapping.MappingException;
+import org.springframework.data.mapping.PropertyHandler;
 import org.springframework.data.mapping.model.BasicPersistentEntity;
+import org.springframework.data.util.Lazy;
 import org.springframework.data.util.TypeInformation;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
 
 public class BasicCosmosPersistentEntity<T> extends BasicPersistentEntity<T, CosmosPersistentProperty>
         implements CosmosPersistentEntity<T>, ApplicationContextAware {
 
     private final StandardEvaluationContext context;
 
+    private final Lazy<Map<String, String>> storedNames = Lazy.of(this::getCompactNames);
+
+    private final Lazy<Map<String, String>> propertyNames = Lazy.of(() -> invert(storedNames.get()));
+
     public BasicCosmosPersistentEntity(TypeInformation<T> typeInformation) {
         super(typeInformation);
         this.context = new StandardEvaluationContext();
@@ -40,4 +53,74 @@ public class BasicCosmosPersistentEntity<T> extends BasicPersistentEntity<T, Cos
     public String getLanguage() {
         return "";
     }
+
+    @Override
+    public MappingStrategy getMappingStrategy() {
+        final Document document = findAnnotation(Document.class);
+
+        return document == null ? MappingStrategy.JACKSON : document.mappingStrategy();
+    }
+
+    @Override
+    public boolean isCompact() {
+        final Document document = findAnnotation(Document.class);
+
+        return document != null && document.compact();
+    }
+
+    @Override
+    public String getStoredName(String propertyName) {
+        return storedNames.get().getOrDefault(propertyName, propertyName);
+    }
+
+    @Override
+    public String getPropertyName(String storedName) {
+        return propertyNames.get().getOrDefault(storedName, storedName);
+    }
+
+    @Override
+    public void verify() {
+        super.verify();
+
+        final Set<String> names = new HashSet<>();
+
+        doWithProperties((PropertyHandler<CosmosPersistentProperty>) property -> {
+            if (property.isAnnotationPresent(CompactName.class)
+                && (property.isIdProperty() || property.isAnnotationPresent(PartitionKey.class))) {
+                throw new MappingException("@CompactName is not supported on the id or partition key property "
+                    + property.getName() + " of " + getType().getName());
+            }
+
+            if (!names.add(getStoredName(property.getName()))) {
+                throw new MappingException("Stored name " + getStoredName(property.getName())
+                    + " of property " + property.getName() + " is not unique in " + getType().getName());
+            }
+        });
+    }
+
+    private Map<String, String> getCompactNames() {
+        if (!isCompact()) {
+            return Collections.emptyMap();
+        }
+
+        final Map<String, String> names = new HashMap<>();
+
+        doWithProperties((PropertyHandler<CosmosPersistentProperty>) property -> {
+            final CompactName compactName = property.findAnnotation(CompactName.class);
+
+            if (compactName != null) {
+                names.put(property.getName(), compactName.value());
+            }
+        });
+
+        return names;
+    }
+
+    private static Map<String, String> invert(Map<String, String> names) {
+        final Map<String, String> inverted = new HashMap<>();
+
+        names.forEach((key, value) -> inverted.put(value, key));
+
+        return inverted;
+    }
 }
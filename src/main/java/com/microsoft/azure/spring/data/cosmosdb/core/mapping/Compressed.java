@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CompressionCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.GzipCompressionCodec;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Store a String or byte[] property compressed. Values reaching the threshold are stored as an object holding
+ * the codec name and the base64 encoded compressed data, smaller values are stored as is. Compressed properties
+ * cannot be used in query criteria.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface Compressed {
+
+    /**
+     * The compression algorithm
+     *
+     * @return the codec class, instantiated once and shared
+     */
+    Class<? extends CompressionCodec> codec() default GzipCompressionCodec.class;
+
+    /**
+     * The size in bytes from which the values are compressed
+     *
+     * @return the threshold
+     */
+    int threshold() default Constants.DEFAULT_COMPRESSION_THRESHOLD;
+}
@@ -14,4 +14,24 @@ public interface CosmosPersistentEntity<T> extends PersistentEntity<T, CosmosPer
     String getCollection();
 
     String getLanguage();
+
+    MappingStrategy getMappingStrategy();
+
+    boolean isCompact();
+
+    /**
+     * Get the name of a top level property in the stored documents.
+     *
+     * @param propertyName name of the property
+     * @return the short name for compact entities when declared, the property name otherwise
+     */
+    String getStoredName(String propertyName);
+
+    /**
+     * Get the name of a top level property from its name in the stored documents.
+     *
+     * @param storedName name of the property in the stored documents
+     * @return the property name
+     */
+    String getPropertyName(String storedName);
 }
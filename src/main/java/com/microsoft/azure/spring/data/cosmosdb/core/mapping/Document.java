@@ -23,4 +23,14 @@ public @interface Document {
     int timeToLive() default Constants.DEFAULT_TIME_TO_LIVE;
 
     boolean autoCreateCollection() default Constants.DEFAULT_AUTO_CREATE_COLLECTION;
+
+    MappingStrategy mappingStrategy() default MappingStrategy.JACKSON;
+
+    /**
+     * Store the documents in compact form: top level null values are omitted, and the properties annotated with
+     * {@link CompactName} are stored under their short names.
+     *
+     * @return true if the documents are stored in compact form
+     */
+    boolean compact() default false;
 }
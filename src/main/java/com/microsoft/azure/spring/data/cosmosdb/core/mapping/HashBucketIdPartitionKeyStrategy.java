@@ -0,0 +1,38 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Spreads the documents over a fixed number of partition key values, the bucket of an id is the hash of its string
+ * form modulo the number of buckets. Extend it with a no-argument constructor to choose the number of buckets,
+ * which cannot change once documents are stored.
+ */
+public class HashBucketIdPartitionKeyStrategy implements IdPartitionKeyStrategy {
+
+    private final int bucketCount;
+
+    public HashBucketIdPartitionKeyStrategy() {
+        this(Constants.DEFAULT_ID_PARTITION_KEY_BUCKETS);
+    }
+
+    public HashBucketIdPartitionKeyStrategy(int bucketCount) {
+        Assert.isTrue(bucketCount > 0, "bucketCount should be positive");
+
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * {@link String#hashCode()} is specified, so the bucket of an id is the same on every JVM.
+     */
+    @Override
+    public String getPartitionKey(@NonNull Object id) {
+        return String.valueOf(Math.floorMod(id.toString().hashCode(), bucketCount));
+    }
+}
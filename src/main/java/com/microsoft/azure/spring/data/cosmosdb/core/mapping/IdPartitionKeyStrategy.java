@@ -0,0 +1,24 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import org.springframework.lang.NonNull;
+
+/**
+ * Derives the partition key value of a document from its id, so a document can be read, checked and deleted by
+ * id alone in a single partition. Set with {@link PartitionKey#idStrategy()}, implementations need a no-argument
+ * constructor and must return the same value for the same id in every application instance.
+ */
+public interface IdPartitionKeyStrategy {
+
+    /**
+     * Derive the partition key value of an id.
+     *
+     * @param id the id of the document
+     * @return the partition key value
+     */
+    String getPartitionKey(@NonNull Object id);
+}
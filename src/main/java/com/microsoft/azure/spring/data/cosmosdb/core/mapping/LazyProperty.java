@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Leave the property value unparsed when the entity is read, until the value is first accessed.
+ * The value is a proxy backed by the document, which is parsed once by the ObjectMapper on the first method call.
+ * <p>
+ * Supported on mutable properties of interface types, e.g. {@code List} or {@code Map}, and of non-final classes,
+ * which are proxied by a generated subclass. Final methods of such classes are not proxied and must not be used.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+public @interface LazyProperty {
+}
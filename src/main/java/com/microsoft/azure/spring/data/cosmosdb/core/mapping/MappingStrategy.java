@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+/**
+ * How documents of a domain class are mapped from and to the entity.
+ */
+public enum MappingStrategy {
+
+    /**
+     * Bind the whole document with the Jackson ObjectMapper, or with the entity mapper generated at build time
+     * when present.
+     */
+    JACKSON,
+
+    /**
+     * Map the document property by property from the mapping metadata of the entity, the entity is created and
+     * populated through the Spring Data entity instantiator and property accessor, which are class generated
+     * where possible. Values of non simple properties are still bound by the ObjectMapper.
+     */
+    PERSISTENT_ENTITY
+}
@@ -18,4 +18,30 @@ public @interface PartitionKey {
      * @return
      */
     String value() default "";
+
+    /**
+     * Derive the partition key value from the id, so repositories can find, check and delete documents by id alone
+     * with point operations. The repositories fill an unset partition key field from the id when saving. The
+     * interface itself, the default, means the partition key is not derived from the id.
+     *
+     * @return the strategy
+     */
+    Class<? extends IdPartitionKeyStrategy> idStrategy() default IdPartitionKeyStrategy.class;
+
+    /**
+     * Compose the partition key value from other properties of the entity, e.g. {@code {"tenantId", "month"}}
+     * for the synthetic key {@code acme|202001}, so writes spread over more partitions than any single property
+     * allows. The repositories fill an unset partition key field from its components when saving, and queries
+     * matching every component with equality or IN criteria are routed to the partitions of the composed values.
+     *
+     * @return the names of the component properties, empty if the partition key is not composed
+     */
+    String[] components() default {};
+
+    /**
+     * The delimiter joining the {@link #components()} of a composed partition key.
+     *
+     * @return the delimiter
+     */
+    String delimiter() default "|";
 }
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import org.springframework.lang.NonNull;
+import org.springframework.util.Assert;
+
+/**
+ * Partitions the documents by the prefix of their id, e.g. the tenant {@code acme} of the id {@code acme:42}.
+ * An id without the delimiter is its own partition key. Extend it with a no-argument constructor to choose
+ * another delimiter.
+ */
+public class PrefixIdPartitionKeyStrategy implements IdPartitionKeyStrategy {
+
+    private static final String DEFAULT_DELIMITER = ":";
+
+    private final String delimiter;
+
+    public PrefixIdPartitionKeyStrategy() {
+        this(DEFAULT_DELIMITER);
+    }
+
+    public PrefixIdPartitionKeyStrategy(@NonNull String delimiter) {
+        Assert.hasLength(delimiter, "delimiter should not be empty");
+
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public String getPartitionKey(@NonNull Object id) {
+        final String value = id.toString();
+        final int end = value.indexOf(delimiter);
+
+        return end < 0 ? value : value.substring(0, end);
+    }
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+public enum AggregateFunction {
+
+    COUNT("COUNT"),
+    SUM("SUM"),
+    MIN("MIN"),
+    MAX("MAX"),
+    AVG("AVG");
+
+    @Getter
+    private String sqlKeyword;
+}
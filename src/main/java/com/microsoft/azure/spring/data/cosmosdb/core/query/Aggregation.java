@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Aggregate function applied to a property of the queried documents, e.g. {@code Aggregation.sum("age")}.
+ * Like Cosmos DB, the documents without the property are ignored, and sums and averages of non numeric values
+ * are undefined.
+ */
+@Getter
+public final class Aggregation {
+
+    private final AggregateFunction function;
+
+    /**
+     * Path of the aggregated property, null to count the documents.
+     */
+    @Nullable
+    private final String property;
+
+    private Aggregation(@NonNull AggregateFunction function, @Nullable String property) {
+        this.function = function;
+        this.property = property;
+    }
+
+    private static Aggregation of(@NonNull AggregateFunction function, @NonNull String property) {
+        Assert.hasText(property, "property should have text");
+
+        return new Aggregation(function, property);
+    }
+
+    public static Aggregation count() {
+        return new Aggregation(AggregateFunction.COUNT, null);
+    }
+
+    public static Aggregation count(@NonNull String property) {
+        return of(AggregateFunction.COUNT, property);
+    }
+
+    public static Aggregation sum(@NonNull String property) {
+        return of(AggregateFunction.SUM, property);
+    }
+
+    public static Aggregation min(@NonNull String property) {
+        return of(AggregateFunction.MIN, property);
+    }
+
+    public static Aggregation max(@NonNull String property) {
+        return of(AggregateFunction.MAX, property);
+    }
+
+    public static Aggregation avg(@NonNull String property) {
+        return of(AggregateFunction.AVG, property);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(%s)", function.getSqlKeyword(), property == null ? "1" : property);
+    }
+}
@@ -9,6 +9,7 @@ import com.azure.data.cosmos.FeedResponse;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
 
 /**
  * CosmosPageRequest representing page request during pagination query, field
@@ -25,6 +26,12 @@ public class CosmosPageRequest extends PageRequest {
     // Request continuation token used to resume query
     private String requestContinuation;
 
+    // Count the total elements with the first page only, and reuse it for the following pages
+    private boolean totalReused;
+
+    // Total elements counted for a previous page, null if not counted yet
+    private Long total;
+
     public CosmosPageRequest(int page, int size, String requestContinuation) {
         super(page, size, Sort.unsorted());
         this.requestContinuation = requestContinuation;
@@ -48,6 +55,13 @@ public class CosmosPageRequest extends PageRequest {
         this.requestContinuation = requestContinuation;
     }
 
+    private CosmosPageRequest(long offset, int page, int size, String requestContinuation, Sort sort,
+                              boolean totalReused, Long total) {
+        this(offset, page, size, requestContinuation, sort);
+        this.totalReused = totalReused;
+        this.total = total;
+    }
+
     public static CosmosPageRequest of(int page, int size, String requestContinuation, Sort sort) {
         return new CosmosPageRequest(0, page, size, requestContinuation, sort);
     }
@@ -56,10 +70,37 @@ public class CosmosPageRequest extends PageRequest {
         return new CosmosPageRequest(offset, page, size, requestContinuation, sort);
     }
 
+    /**
+     * Count the total elements of the query with this page only, the pages following it through
+     * {@link org.springframework.data.domain.Page#nextPageable()} reuse the total instead of counting again.
+     * The total of later pages does not reflect the documents changed since the count.
+     *
+     * @return the page request reusing its total
+     */
+    public CosmosPageRequest reuseTotal() {
+        return new CosmosPageRequest(offset, getPageNumber(), getPageSize(), requestContinuation, getSort(),
+            true, total);
+    }
+
+    /**
+     * Page request of the given total elements, kept only by requests reusing their total.
+     *
+     * @param totalElements the total elements counted for the query
+     * @return the page request
+     */
+    public CosmosPageRequest withTotal(long totalElements) {
+        if (!totalReused) {
+            return this;
+        }
+
+        return new CosmosPageRequest(offset, getPageNumber(), getPageSize(), requestContinuation, getSort(),
+            true, totalElements);
+    }
+
     @Override
     public Pageable next() {
         return new CosmosPageRequest(this.offset + (long) this.getPageSize(),
-            this.getPageNumber() + 1, getPageSize(), this.requestContinuation, getSort());
+            this.getPageNumber() + 1, getPageSize(), this.requestContinuation, getSort(), totalReused, total);
     }
 
     @Override
@@ -71,11 +112,27 @@ public class CosmosPageRequest extends PageRequest {
         return this.requestContinuation;
     }
 
+    public boolean isTotalReused() {
+        return totalReused;
+    }
+
+    /**
+     * Get the total elements counted for a previous page.
+     *
+     * @return the total, or null if it has to be counted
+     */
+    @Nullable
+    public Long getTotal() {
+        return total;
+    }
+
     @Override
     public int hashCode() {
         int result = super.hashCode();
 
         result = 31 * result + (requestContinuation != null ? requestContinuation.hashCode() : 0);
+        result = 31 * result + (totalReused ? 1 : 0);
+        result = 31 * result + (total != null ? total.hashCode() : 0);
 
         return result;
     }
@@ -95,6 +152,9 @@ public class CosmosPageRequest extends PageRequest {
         final boolean continuationTokenEquals = requestContinuation != null ?
                 requestContinuation.equals(that.requestContinuation) : that.requestContinuation == null;
 
-        return continuationTokenEquals && super.equals(that);
+        final boolean totalEquals = totalReused == that.totalReused
+                && (total != null ? total.equals(that.total) : that.total == null);
+
+        return continuationTokenEquals && totalEquals && super.equals(that);
     }
 }
@@ -9,10 +9,19 @@ import lombok.Getter;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 public class DocumentQuery {
 
@@ -25,6 +34,26 @@ public class DocumentQuery {
     @Getter
     private Pageable pageable = Pageable.unpaged();
 
+    @Getter
+    private List<String> projection = Collections.emptyList();
+
+    /**
+     * Names of the selected properties by path, the properties without alias are named after the last segment of
+     * their path.
+     */
+    @Getter
+    private Map<String, String> projectionAliases = Collections.emptyMap();
+
+    @Getter
+    @Nullable
+    private QuerySpecTemplate template;
+
+    /**
+     * Maximum number of documents to read, 0 if the query is not limited.
+     */
+    @Getter
+    private int limit = 0;
+
     public DocumentQuery(@NonNull Criteria criteria) {
         this.criteria = criteria;
     }
@@ -44,7 +73,83 @@ public class DocumentQuery {
         return this;
     }
 
-    private boolean isCrossPartitionQuery(@NonNull String keyName) {
+    /**
+     * Select only the given properties of the documents, all properties are selected when empty.
+     *
+     * @param properties the names of the properties to select
+     * @return the DocumentQuery
+     */
+    public DocumentQuery project(@NonNull Collection<String> properties) {
+        Assert.notNull(properties, "properties should not be null");
+
+        this.projection = Collections.unmodifiableList(new ArrayList<>(properties));
+        return this;
+    }
+
+    /**
+     * Select only the given properties of the documents, each under its alias, e.g. to read nested properties
+     * whose paths end with the same name.
+     *
+     * @param aliases the aliases by path of the properties to select
+     * @return the DocumentQuery
+     */
+    public DocumentQuery projectAs(@NonNull Map<String, String> aliases) {
+        Assert.notNull(aliases, "aliases should not be null");
+
+        this.projection = Collections.unmodifiableList(new ArrayList<>(aliases.keySet()));
+        this.projectionAliases = Collections.unmodifiableMap(new LinkedHashMap<>(aliases));
+        return this;
+    }
+
+    /**
+     * Read at most the given number of documents, e.g. for the findFirst and findTopN query methods.
+     *
+     * @param maxResults the maximum number of documents
+     * @return the DocumentQuery
+     */
+    public DocumentQuery limit(int maxResults) {
+        Assert.isTrue(maxResults > 0, "maxResults should be positive");
+
+        this.limit = maxResults;
+        return this;
+    }
+
+    public boolean isLimited() {
+        return limit > 0;
+    }
+
+    /**
+     * Generate the query from a template compiled for queries of the same criteria shape, the template is
+     * ignored if the sort of the query differs from the compiled one.
+     *
+     * @param template the compiled template
+     * @return the DocumentQuery
+     */
+    public DocumentQuery with(@NonNull QuerySpecTemplate template) {
+        Assert.notNull(template, "template should not be null");
+
+        this.template = template;
+        return this;
+    }
+
+    /**
+     * Copy the query, e.g. to change the copy before running it while the given query is left untouched.
+     *
+     * @return the copy
+     */
+    public DocumentQuery copy() {
+        final DocumentQuery copy = new DocumentQuery(criteria);
+
+        copy.sort = sort;
+        copy.pageable = pageable;
+        copy.projection = projection;
+        copy.projectionAliases = projectionAliases;
+        copy.template = template;
+        copy.limit = limit;
+        return copy;
+    }
+
+        private boolean isCrossPartitionQuery(@NonNull String keyName) {
         Assert.hasText(keyName, "PartitionKey should have text.");
 
         final Optional<Criteria> criteria = this.getSubjectCriteria(this.criteria, keyName);
@@ -74,6 +179,74 @@ public class DocumentQuery {
                 .orElse(hasKeywordOr());
     }
 
+    /**
+     * Get the partition key values of the documents the criteria can match, e.g. {a, b} for
+     * {@code pk = a OR pk IN (b)}. Conjunctions intersect the values of their bounded sides, disjunctions unite
+     * the values of their sides when both are bounded.
+     *
+     * @param keyName the name of the partition key property
+     * @return the values, empty if the criteria do not bound the partition key
+     */
+    public Optional<Set<Object>> getPartitionKeyValues(@NonNull String keyName) {
+        Assert.hasText(keyName, "PartitionKey should have text.");
+
+        return Optional.ofNullable(getPartitionKeyValues(this.criteria, keyName));
+    }
+
+    @Nullable
+    private Set<Object> getPartitionKeyValues(@NonNull Criteria criteria, @NonNull String keyName) {
+        switch (criteria.getType()) {
+            case IS_EQUAL:
+                return keyName.equals(criteria.getSubject()) ?
+                    toPartitionKeyValues(criteria.getSubjectValues()) : null;
+            case IN:
+                final Object range = criteria.getSubjectValues().get(0);
+
+                return keyName.equals(criteria.getSubject()) && range instanceof Collection ?
+                    toPartitionKeyValues((Collection<?>) range) : null;
+            case AND:
+                return intersect(getPartitionKeyValues(criteria.getSubCriteria().get(0), keyName),
+                    getPartitionKeyValues(criteria.getSubCriteria().get(1), keyName));
+            case OR:
+                return unite(getPartitionKeyValues(criteria.getSubCriteria().get(0), keyName),
+                    getPartitionKeyValues(criteria.getSubCriteria().get(1), keyName));
+            default:
+                return null;
+        }
+    }
+
+    @Nullable
+    private static Set<Object> intersect(@Nullable Set<Object> left, @Nullable Set<Object> right) {
+        if (left == null || right == null) {
+            return left == null ? right : left;
+        }
+
+        left.retainAll(right);
+        return left;
+    }
+
+    @Nullable
+    private static Set<Object> unite(@Nullable Set<Object> left, @Nullable Set<Object> right) {
+        if (left == null || right == null) {
+            return null;
+        }
+
+        left.addAll(right);
+        return left;
+    }
+
+    /**
+     * Null partition key values are not pinned, the partition of documents without the key differs from it.
+     */
+    @Nullable
+    private static Set<Object> toPartitionKeyValues(@NonNull Collection<?> values) {
+        if (values.stream().anyMatch(Objects::isNull)) {
+            return null;
+        }
+
+        return new LinkedHashSet<>(values);
+    }
+
     public Optional<Criteria> getCriteriaByType(@NonNull CriteriaType criteriaType) {
         return getCriteriaByType(criteriaType, this.criteria);
     }
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.FeedResponse;
+import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.azure.data.cosmos.internal.QueryMetrics;
+import lombok.Getter;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How a query would run, e.g. to check a derived query is not a scan across partitions: the generated SQL, the
+ * partitions it reads and, when query metrics are enabled, the cost of reading its first page.
+ */
+@Getter
+public final class QueryExplanation {
+
+    private final SqlQuerySpec querySpec;
+
+    private final boolean crossPartition;
+
+    /**
+     * Partition keys of the single partition queries run in parallel, empty if the query reads across partitions.
+     */
+    private final List<PartitionKey> partitionKeys;
+
+    /**
+     * Cost of reading the first page, null if query metrics are not enabled.
+     */
+    @Nullable
+    private final SampleExecution sampleExecution;
+
+    public QueryExplanation(@NonNull SqlQuerySpec querySpec, boolean crossPartition,
+                            @NonNull List<PartitionKey> partitionKeys, @Nullable SampleExecution sampleExecution) {
+        this.querySpec = querySpec;
+        this.crossPartition = crossPartition;
+        this.partitionKeys = Collections.unmodifiableList(partitionKeys);
+        this.sampleExecution = sampleExecution;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryExplanation{"
+            + "query='" + querySpec.queryText() + '\''
+            + ", crossPartition=" + crossPartition
+            + ", partitionKeys=" + partitionKeys
+            + ", sampleExecution=" + sampleExecution
+            + '}';
+    }
+
+    /**
+     * Request charge and query metrics of the first page of each query run, summed over the queries.
+     */
+    @Getter
+    public static final class SampleExecution {
+
+        private final double requestCharge;
+
+        private final long retrievedDocumentCount;
+
+        private final long outputDocumentCount;
+
+        private final long indexHitDocumentCount;
+
+        private final Duration totalQueryExecutionTime;
+
+        public SampleExecution(double requestCharge, long retrievedDocumentCount, long outputDocumentCount,
+                               long indexHitDocumentCount, @NonNull Duration totalQueryExecutionTime) {
+            this.requestCharge = requestCharge;
+            this.retrievedDocumentCount = retrievedDocumentCount;
+            this.outputDocumentCount = outputDocumentCount;
+            this.indexHitDocumentCount = indexHitDocumentCount;
+            this.totalQueryExecutionTime = totalQueryExecutionTime;
+        }
+
+        /**
+         * Read the sample execution from the first page of each query run with query metrics populated.
+         *
+         * @param firstPages the first page of each query
+         * @return the sample execution
+         */
+        public static SampleExecution of(@NonNull Collection<? extends FeedResponse<?>> firstPages) {
+            double requestCharge = 0;
+            QueryMetrics metrics = QueryMetrics.ZERO;
+
+            for (final FeedResponse<?> page : firstPages) {
+                final Map<String, QueryMetrics> metricsByRange = BridgeInternal.queryMetricsFromFeedResponse(page);
+
+                requestCharge += page.requestCharge();
+
+                if (metricsByRange != null && !metricsByRange.isEmpty()) {
+                    metrics = metrics.add(metricsByRange.values().toArray(new QueryMetrics[0]));
+                }
+            }
+
+            return new SampleExecution(requestCharge, metrics.getRetrievedDocumentCount(),
+                metrics.getOutputDocumentCount(), metrics.getIndexHitDocumentCount(),
+                metrics.getTotalQueryExecutionTime());
+        }
+
+        /**
+         * Get the ratio of the retrieved documents matched by the index, a low ratio means the filter was mostly
+         * evaluated by loading the documents.
+         *
+         * @return the ratio, 1 if no documents were retrieved
+         */
+        public double getIndexHitRatio() {
+            return retrievedDocumentCount == 0 ? 1 : (double) indexHitDocumentCount / retrievedDocumentCount;
+        }
+
+        @Override
+        public String toString() {
+            return "SampleExecution{"
+                + "requestCharge=" + requestCharge
+                + ", retrievedDocumentCount=" + retrievedDocumentCount
+                + ", outputDocumentCount=" + outputDocumentCount
+                + ", indexHitRatio=" + getIndexHitRatio()
+                + ", totalQueryExecutionTime=" + totalQueryExecutionTime
+                + '}';
+        }
+    }
+}
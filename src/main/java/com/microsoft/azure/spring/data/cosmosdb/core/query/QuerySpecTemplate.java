@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SQL text of the criteria and sort of a query, compiled once for all the queries of the same shape, e.g. the
+ * queries of a repository query method. The parameter slots are bound in the order the criteria values are
+ * visited, left to right.
+ */
+@Getter
+public final class QuerySpecTemplate {
+
+    /**
+     * Domain type whose stored property names the text uses, null if the names are not translated.
+     */
+    @Nullable
+    private final Class<?> domainType;
+
+    private final Sort sort;
+
+    /**
+     * Everything following the query head, i.e. the WHERE and ORDER BY clauses.
+     */
+    private final String queryBody;
+
+    private final List<String> parameterNames;
+
+    public QuerySpecTemplate(@Nullable Class<?> domainType, @NonNull Sort sort, @NonNull String queryBody,
+                             @NonNull List<String> parameterNames) {
+        this.domainType = domainType;
+        this.sort = sort;
+        this.queryBody = queryBody;
+        this.parameterNames = Collections.unmodifiableList(parameterNames);
+    }
+}
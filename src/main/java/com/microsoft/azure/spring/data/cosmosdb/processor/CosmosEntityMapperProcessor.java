@@ -0,0 +1,541 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.processor;
+
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Annotation processor generating a reflection free {@link
+ * com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosEntityMapper} for each {@link
+ * com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document} class.
+ * The processor is not registered as a service, enable it explicitly on the compiler, e.g. with
+ * {@code -processor com.microsoft.azure.spring.data.cosmosdb.processor.CosmosEntityMapperProcessor}.
+ * <p>
+ * Only classes whose Jackson mapping is plain bean mapping get a mapper: a no-arg constructor, non-final
+ * properties exposed through accessors or fields, and no Jackson annotations. Other classes are reported as
+ * a note and keep being mapped by Jackson.
+ */
+@SupportedAnnotationTypes(CosmosEntityMapperProcessor.DOCUMENT_ANNOTATION)
+public class CosmosEntityMapperProcessor extends AbstractProcessor {
+
+    static final String DOCUMENT_ANNOTATION = "com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document";
+
+    // Referenced by name only, the processor path may not contain the runtime dependencies.
+    private static final String ENTITY_MAPPER =
+        "com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosEntityMapper";
+    private static final String ENTITY_MAPPER_UTILS =
+        "com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosEntityMapperUtils";
+
+    private static final String ID_ANNOTATION = "org.springframework.data.annotation.Id";
+    private static final String JACKSON_ANNOTATION_PREFIX = "com.fasterxml.jackson.";
+    private static final String LOMBOK_DATA = "lombok.Data";
+    private static final String LOMBOK_GETTER = "lombok.Getter";
+    private static final String LOMBOK_SETTER = "lombok.Setter";
+    private static final String LOMBOK_NO_ARGS_CONSTRUCTOR = "lombok.NoArgsConstructor";
+    private static final String[] LOMBOK_CONSTRUCTORS = {"lombok.AllArgsConstructor",
+        "lombok.RequiredArgsConstructor", "lombok.Builder", "lombok.Value"};
+
+    private static final String READ_METHOD_INTEGER = "readInteger";
+
+    private static final Map<String, String> READ_METHODS;
+    private static final Map<TypeKind, String> PRIMITIVE_READ_METHODS;
+
+    static {
+        final Map<String, String> readMethods = new HashMap<>();
+
+        readMethods.put("java.lang.String", "readString");
+        readMethods.put("java.lang.Integer", READ_METHOD_INTEGER);
+        readMethods.put("java.lang.Long", "readLong");
+        readMethods.put("java.lang.Double", "readDouble");
+        readMethods.put("java.lang.Float", "readFloat");
+        readMethods.put("java.lang.Boolean", "readBoolean");
+        readMethods.put("java.math.BigDecimal", "readBigDecimal");
+
+        READ_METHODS = readMethods;
+
+        final Map<TypeKind, String> primitiveReadMethods = new HashMap<>();
+
+        primitiveReadMethods.put(TypeKind.INT, READ_METHOD_INTEGER);
+        primitiveReadMethods.put(TypeKind.LONG, "readLong");
+        primitiveReadMethods.put(TypeKind.DOUBLE, "readDouble");
+        primitiveReadMethods.put(TypeKind.FLOAT, "readFloat");
+        primitiveReadMethods.put(TypeKind.BOOLEAN, "readBoolean");
+
+        PRIMITIVE_READ_METHODS = primitiveReadMethods;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        final TypeElement document = processingEnv.getElementUtils().getTypeElement(DOCUMENT_ANNOTATION);
+
+        if (document == null) {
+            return false;
+        }
+
+        for (final TypeElement type : ElementFilter.typesIn(roundEnv.getElementsAnnotatedWith(document))) {
+            if (type.getKind() != ElementKind.CLASS) {
+                continue;
+            }
+
+            final EntityModel model = buildModel(type);
+
+            if (model.unsupportedReason != null) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "No Cosmos entity mapper generated for "
+                    + type.getQualifiedName() + ", " + model.unsupportedReason, type);
+            } else {
+                writeMapper(model);
+            }
+        }
+
+        return false;
+    }
+
+    private EntityModel buildModel(TypeElement type) {
+        final EntityModel model = new EntityModel(type);
+        final Set<Modifier> modifiers = type.getModifiers();
+
+        if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)) {
+            return model.unsupported("class is abstract or private");
+        } else if (type.getNestingKind() != NestingKind.TOP_LEVEL && !modifiers.contains(Modifier.STATIC)) {
+            return model.unsupported("inner class is not static");
+        } else if (!type.getTypeParameters().isEmpty()) {
+            return model.unsupported("class is generic");
+        } else if (hasJacksonAnnotation(type)) {
+            return model.unsupported("class has Jackson annotations");
+        } else if (!hasNoArgsConstructor(type)) {
+            return model.unsupported("class has no accessible no-args constructor");
+        }
+
+        final Map<String, ExecutableElement> methods = new HashMap<>();
+        for (final ExecutableElement method :
+            ElementFilter.methodsIn(processingEnv.getElementUtils().getAllMembers(type))) {
+            if (method.getModifiers().contains(Modifier.PUBLIC) && !method.getModifiers().contains(Modifier.STATIC)) {
+                methods.put(method.getSimpleName().toString() + "/" + method.getParameters().size(), method);
+            }
+        }
+
+        for (final VariableElement field : getFields(type)) {
+            final String unsupportedReason = addProperty(model, field, methods);
+
+            if (unsupportedReason != null) {
+                return model.unsupported(unsupportedReason);
+            }
+        }
+
+        for (final ExecutableElement method : methods.values()) {
+            if (isGetter(method) && !model.getterNames.contains(method.getSimpleName().toString())) {
+                // Jackson writes the value of a getter without a field, the generated code would drop it
+                return model.unsupported("getter " + method.getSimpleName() + " has no property field");
+            }
+        }
+
+        return model;
+    }
+
+    private static boolean isGetter(ExecutableElement method) {
+        final String name = method.getSimpleName().toString();
+        final TypeKind returnKind = method.getReturnType().getKind();
+
+        if (!method.getParameters().isEmpty() || returnKind == TypeKind.VOID || "getClass".equals(name)) {
+            return false;
+        }
+
+        return name.length() > 3 && name.startsWith("get")
+            || name.length() > 2 && name.startsWith("is") && returnKind == TypeKind.BOOLEAN;
+    }
+
+    private String addProperty(EntityModel model, VariableElement field, Map<String, ExecutableElement> methods) {
+        final String name = field.getSimpleName().toString();
+        final TypeElement owner = (TypeElement) field.getEnclosingElement();
+        final boolean isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+        final String getterName = (isBoolean ? "is" : "get") + capitalize(name);
+        final String setterName = "set" + capitalize(name);
+
+        if (hasJacksonAnnotation(field)) {
+            return "property " + name + " has Jackson annotations";
+        } else if (field.getModifiers().contains(Modifier.FINAL)) {
+            return "property " + name + " is final";
+        }
+
+        final boolean hasGetter = methods.containsKey(getterName + "/0")
+            || hasLombokAccessor(field, owner, LOMBOK_GETTER);
+        final boolean hasSetter = methods.containsKey(setterName + "/1")
+            || hasLombokAccessor(field, owner, LOMBOK_SETTER);
+        final boolean isPublicField = field.getModifiers().contains(Modifier.PUBLIC);
+        final boolean isFieldAccessible = !field.getModifiers().contains(Modifier.PRIVATE)
+            && getPackage(owner).equals(getPackage(model.type));
+
+        if (!hasGetter && !hasSetter && !isPublicField) {
+            // Not visible to Jackson either
+            return null;
+        } else if (hasGetter && !getterName.equals("get" + capitalize(decapitalize(name)))
+            && !getterName.equals("is" + capitalize(decapitalize(name)))) {
+            return "property " + name + " is named differently by Jackson";
+        }
+
+        final PropertyModel property = new PropertyModel(name, field.asType());
+
+        property.isId = isIdProperty(field);
+        if (hasGetter) {
+            model.getterNames.add(getterName);
+            property.readExpression = "entity." + getterName + "()";
+        } else if (isPublicField) {
+            property.readExpression = "entity." + name;
+        }
+
+        if (hasSetter) {
+            property.writeFormat = "entity." + setterName + "(%s)";
+        } else if (isFieldAccessible) {
+            property.writeFormat = "entity." + name + " = %s";
+        } else {
+            return "property " + name + " cannot be set";
+        }
+
+        if (property.isId && model.idProperty != null) {
+            return "class has more than one id property";
+        } else if (property.isId) {
+            model.idProperty = property;
+        }
+
+        model.properties.put(name, property);
+        return null;
+    }
+
+    private List<VariableElement> getFields(TypeElement type) {
+        final List<TypeElement> hierarchy = new ArrayList<>();
+        TypeElement current = type;
+
+        while (current != null && !Object.class.getName().equals(current.getQualifiedName().toString())) {
+            hierarchy.add(0, current);
+
+            final TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ?
+                (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+
+        final List<VariableElement> fields = new ArrayList<>();
+        for (final TypeElement element : hierarchy) {
+            for (final VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)
+                    && !field.getModifiers().contains(Modifier.TRANSIENT)) {
+                    fields.add(field);
+                }
+            }
+        }
+
+        return fields;
+    }
+
+    private boolean hasNoArgsConstructor(TypeElement type) {
+        if (hasAnnotation(type, LOMBOK_NO_ARGS_CONSTRUCTOR)) {
+            return true;
+        }
+
+        for (final String annotation : LOMBOK_CONSTRUCTORS) {
+            if (hasAnnotation(type, annotation)) {
+                // Lombok may replace the default constructor after this processor has run.
+                return false;
+            }
+        }
+
+        return ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                            .anyMatch(c -> c.getParameters().isEmpty() && !c.getModifiers().contains(Modifier.PRIVATE));
+    }
+
+    private boolean isIdProperty(VariableElement field) {
+        return hasAnnotation(field, ID_ANNOTATION) || Constants.ID_PROPERTY_NAME.equals(field.getSimpleName()
+                                                                                              .toString());
+    }
+
+    private boolean hasLombokAccessor(VariableElement field, TypeElement owner, String accessor) {
+        return hasAnnotation(field, accessor) || hasAnnotation(owner, accessor) || hasAnnotation(owner, LOMBOK_DATA);
+    }
+
+    private boolean hasJacksonAnnotation(Element element) {
+        for (final AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation.getAnnotationType().toString().startsWith(JACKSON_ANNOTATION_PREFIX)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean hasEnumJacksonAnnotation(TypeElement enumType) {
+        if (hasJacksonAnnotation(enumType)) {
+            return true;
+        }
+
+        return enumType.getEnclosedElements().stream().anyMatch(this::hasJacksonAnnotation);
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+                      .anyMatch(a -> a.getAnnotationType().toString().equals(annotationName));
+    }
+
+    private String getPackage(TypeElement type) {
+        final PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+
+        return packageElement.isUnnamed() ? "" : packageElement.getQualifiedName().toString();
+    }
+
+    private String getNestedTypeName(TypeElement type) {
+        final String packageName = getPackage(type);
+        final String qualifiedName = type.getQualifiedName().toString();
+
+        return packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+    }
+
+    private void writeMapper(EntityModel model) {
+        final String packageName = getPackage(model.type);
+        final String mapperSimpleName = getNestedTypeName(model.type).replace('.', '_')
+            + Constants.ENTITY_MAPPER_CLASS_SUFFIX;
+        final String mapperName = packageName.isEmpty() ? mapperSimpleName : packageName + "." + mapperSimpleName;
+        final String entityName = model.type.getQualifiedName().toString();
+
+        try {
+            final JavaFileObject file = processingEnv.getFiler().createSourceFile(mapperName, model.type);
+
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                if (!packageName.isEmpty()) {
+                    out.println("package " + packageName + ";");
+                    out.println();
+                }
+
+                out.println("/**");
+                out.println(" * Cosmos entity mapper of {@link " + entityName + "}, generated by "
+                    + getClass().getSimpleName() + ".");
+                out.println(" */");
+                out.println("public final class " + mapperSimpleName + " implements "
+                    + ENTITY_MAPPER + "<" + entityName + "> {");
+                writeTypeReferences(out, model);
+                out.println();
+                writeRead(out, model, entityName);
+                out.println();
+                writeWrite(out, model, entityName);
+                out.println("}");
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                "Failed to generate Cosmos entity mapper " + mapperName + ": " + e.getMessage(), model.type);
+        }
+    }
+
+    private void writeTypeReferences(PrintWriter out, EntityModel model) {
+        for (final PropertyModel property : model.properties.values()) {
+            if (getReadMethod(property.type) == null && !isPlainEnum(property.type)) {
+                final String type = boxedTypeName(property.type);
+
+                out.println();
+                out.println("    private static final com.fasterxml.jackson.core.type.TypeReference<" + type + "> "
+                    + typeReferenceName(property) + " =");
+                out.println("        new com.fasterxml.jackson.core.type.TypeReference<" + type + ">() { };");
+            }
+        }
+    }
+
+    private void writeRead(PrintWriter out, EntityModel model, String entityName) {
+        out.println("    @Override");
+        out.println("    public " + entityName + " read(com.fasterxml.jackson.databind.node.ObjectNode document,");
+        out.println("                       com.fasterxml.jackson.databind.ObjectMapper objectMapper)");
+        out.println("        throws java.io.IOException {");
+        out.println("        final " + entityName + " entity = new " + entityName + "();");
+        out.println("        com.fasterxml.jackson.databind.JsonNode value;");
+
+        for (final PropertyModel property : model.properties.values()) {
+            final String key = property.isId ? Constants.ID_PROPERTY_NAME : property.name;
+            final boolean isPrimitive = property.type.getKind().isPrimitive();
+
+            out.println();
+            out.println("        value = document.get(\"" + key + "\");");
+            if (isPrimitive) {
+                out.println("        if (value != null && !value.isNull()) {");
+                out.println("            " + String.format(property.writeFormat, readValueExpression(property)) + ";");
+            } else {
+                out.println("        if (value != null) {");
+                out.println("            " + String.format(property.writeFormat,
+                    "value.isNull() ? null : " + readValueExpression(property)) + ";");
+            }
+            out.println("        }");
+        }
+
+        out.println();
+        out.println("        return entity;");
+        out.println("    }");
+    }
+
+    private void writeWrite(PrintWriter out, EntityModel model, String entityName) {
+        out.println("    @Override");
+        out.println("    public com.fasterxml.jackson.databind.node.ObjectNode write(" + entityName + " entity,");
+        out.println("        com.fasterxml.jackson.databind.ObjectMapper objectMapper) {");
+        out.println("        final com.fasterxml.jackson.databind.node.ObjectNode document = "
+            + "objectMapper.createObjectNode();");
+        out.println();
+
+        for (final PropertyModel property : model.properties.values()) {
+            if (property.readExpression == null) {
+                continue;
+            }
+
+            final String key = "\"" + property.name + "\"";
+            if (property.type.getKind().isPrimitive() && property.type.getKind() != TypeKind.CHAR
+                || getReadMethod(property.type) != null) {
+                out.println("        document.put(" + key + ", " + property.readExpression + ");");
+            } else if (isPlainEnum(property.type)) {
+                out.println("        document.set(" + key + ", " + utils("writeEnum") + "(" + property.readExpression
+                    + ", objectMapper));");
+            } else {
+                out.println("        document.set(" + key + ", " + utils("writeValue") + "(" + property.readExpression
+                    + ", objectMapper));");
+            }
+        }
+
+        out.println();
+        out.println("        return document;");
+        out.println("    }");
+    }
+
+    private String readValueExpression(PropertyModel property) {
+        final String readMethod = getReadMethod(property.type);
+
+        if (readMethod != null) {
+            return utils(readMethod) + "(value, objectMapper)";
+        } else if (isPlainEnum(property.type)) {
+            return utils("readEnum") + "(value, objectMapper, " + property.type.toString() + ".class)";
+        }
+
+        return utils("readValue") + "(value, objectMapper, " + typeReferenceName(property) + ")";
+    }
+
+    private String getReadMethod(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return PRIMITIVE_READ_METHODS.get(type.getKind());
+        } else if (type.getKind() == TypeKind.DECLARED) {
+            return READ_METHODS.get(type.toString());
+        }
+
+        return null;
+    }
+
+    private boolean isPlainEnum(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+
+        final Element element = ((DeclaredType) type).asElement();
+        return element.getKind() == ElementKind.ENUM && !hasEnumJacksonAnnotation((TypeElement) element);
+    }
+
+    private String boxedTypeName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type)
+                                .getQualifiedName().toString();
+        }
+
+        return type.toString();
+    }
+
+    private static String typeReferenceName(PropertyModel property) {
+        final StringBuilder builder = new StringBuilder();
+
+        for (final char c : property.name.toCharArray()) {
+            if (Character.isUpperCase(c) && builder.length() > 0) {
+                builder.append('_');
+            }
+            builder.append(Character.toUpperCase(c));
+        }
+
+        return builder.append("_TYPE").toString();
+    }
+
+    private static String utils(String method) {
+        return ENTITY_MAPPER_UTILS + "." + method;
+    }
+
+    private static String capitalize(String name) {
+        return name.isEmpty() ? name : name.substring(0, 1).toUpperCase(Locale.ROOT) + name.substring(1);
+    }
+
+    /**
+     * Name of the property as Jackson derives it from a getter, leading upper case characters are lower cased.
+     */
+    private static String decapitalize(String name) {
+        final StringBuilder builder = new StringBuilder(name);
+
+        for (int i = 0; i < builder.length() && Character.isUpperCase(builder.charAt(i)); i++) {
+            builder.setCharAt(i, Character.toLowerCase(builder.charAt(i)));
+        }
+
+        return builder.toString();
+    }
+
+    private static final class EntityModel {
+        private final TypeElement type;
+        private final Map<String, PropertyModel> properties = new LinkedHashMap<>();
+        private final Set<String> getterNames = new HashSet<>();
+        private PropertyModel idProperty;
+        private String unsupportedReason;
+
+        private EntityModel(TypeElement type) {
+            this.type = type;
+        }
+
+        private EntityModel unsupported(String reason) {
+            this.unsupportedReason = reason;
+            return this;
+        }
+    }
+
+    private static final class PropertyModel {
+        private final String name;
+        private final TypeMirror type;
+        private boolean isId;
+        private String readExpression;
+        private String writeFormat;
+
+        private PropertyModel(String name, TypeMirror type) {
+            this.name = name;
+            this.type = type;
+        }
+    }
+}
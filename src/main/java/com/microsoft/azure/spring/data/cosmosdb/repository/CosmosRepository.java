@@ -7,10 +7,13 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
 import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.PagingAndSortingRepository;
 
 import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @NoRepositoryBean
@@ -34,5 +37,35 @@ public interface CosmosRepository<T, ID extends Serializable> extends PagingAndS
      */
     void deleteById(ID id, PartitionKey partitionKey);
 
+    /**
+     * Computes an aggregate over all entities in the database, e.g. {@code aggregate(Aggregation.sum("age"),
+     * Long.class)}.
+     * @param aggregation the aggregate function, must not be null.
+     * @param resultType the type of the aggregate value, must not be null.
+     * @param <R> the type of the aggregate value
+     * @return the aggregate value or {@literal Optional#empty()} if undefined, e.g. the minimum of no entities
+     */
+    <R> Optional<R> aggregate(Aggregation aggregation, Class<R> resultType);
+
+    /**
+     * Computes an aggregate for each value of a property over all entities in the database.
+     * @param property the grouped property, must not be null.
+     * @param keyType the type of the property, must not be null.
+     * @param aggregation the aggregate function of each group, must not be null.
+     * @param resultType the type of the aggregate values, must not be null.
+     * @param <K> the type of the property
+     * @param <R> the type of the aggregate values
+     * @return the aggregate values by property value, the entities without the property are grouped by null
+     */
+    <K, R> Map<K, R> groupBy(String property, Class<K> keyType, Aggregation aggregation, Class<R> resultType);
+
+    /**
+     * Returns the distinct values of a property over all entities in the database.
+     * @param property the property, must not be null.
+     * @param valueType the type of the property, must not be null.
+     * @param <V> the type of the property
+     * @return the distinct non null values of the property
+     */
+    <V> List<V> findDistinct(String property, Class<V> valueType);
 }
 
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository;
+
+import org.springframework.data.annotation.QueryAnnotation;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Cosmos DB SQL query executed by a repository method, instead of the query derived from the method name.
+ * <p>
+ * Method parameters are bound by name, e.g. {@code @lastName} for the parameter named {@code lastName} or
+ * annotated with {@code @Param("lastName")}, or by index among the bindable parameters, e.g. {@code @0}.
+ * Collection parameters are bound as arrays, e.g. {@code ARRAY_CONTAINS(@ids, r.id)}.
+ * <pre>
+ * &#64;Query("SELECT TOP 10 * FROM r WHERE r.lastName = @lastName ORDER BY r.age")
+ * List&lt;Person&gt; findYoungest(&#64;Param("lastName") String lastName);
+ *
+ * &#64;Query("SELECT VALUE COUNT(1) FROM r WHERE r.age &gt;= @0")
+ * long countAdults(int age);
+ * </pre>
+ * The results are read as the domain type, as a projection of it, or as the number or boolean value selected by
+ * {@code SELECT VALUE}.
+ */
+@Documented
+@QueryAnnotation
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+public @interface Query {
+
+    /**
+     * The Cosmos DB SQL query.
+     *
+     * @return the query
+     */
+    String value();
+}
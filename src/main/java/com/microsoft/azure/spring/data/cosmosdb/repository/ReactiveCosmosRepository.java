@@ -6,10 +6,14 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository;
 
 import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import org.springframework.data.repository.NoRepositoryBean;
 import org.springframework.data.repository.reactive.ReactiveSortingRepository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 @NoRepositoryBean
 public interface ReactiveCosmosRepository<T, K> extends ReactiveSortingRepository<T, K> {
 
@@ -30,4 +34,35 @@ public interface ReactiveCosmosRepository<T, K> extends ReactiveSortingRepositor
      * @throws IllegalArgumentException in case the given {@code id} is {@literal null}.
      */
     Mono<Void> deleteById(K id, PartitionKey partitionKey);
+
+    /**
+     * Computes an aggregate over all entities in the database, e.g. {@code aggregate(Aggregation.sum("age"),
+     * Long.class)}.
+     * @param aggregation the aggregate function, must not be null.
+     * @param resultType the type of the aggregate value, must not be null.
+     * @param <R> the type of the aggregate value
+     * @return {@link Mono} emitting the aggregate value or {@link Mono#empty()} if undefined.
+     */
+    <R> Mono<R> aggregate(Aggregation aggregation, Class<R> resultType);
+
+    /**
+     * Computes an aggregate for each value of a property over all entities in the database.
+     * @param property the grouped property, must not be null.
+     * @param keyType the type of the property, must not be null.
+     * @param aggregation the aggregate function of each group, must not be null.
+     * @param resultType the type of the aggregate values, must not be null.
+     * @param <G> the type of the property
+     * @param <R> the type of the aggregate values
+     * @return {@link Mono} emitting the aggregate values by property value.
+     */
+    <G, R> Mono<Map<G, R>> groupBy(String property, Class<G> keyType, Aggregation aggregation, Class<R> resultType);
+
+    /**
+     * Returns the distinct values of a property over all entities in the database.
+     * @param property the property, must not be null.
+     * @param valueType the type of the property, must not be null.
+     * @param <V> the type of the property
+     * @return {@link Flux} emitting the distinct non null values of the property.
+     */
+    <V> Flux<V> findDistinct(String property, Class<V> valueType);
 }
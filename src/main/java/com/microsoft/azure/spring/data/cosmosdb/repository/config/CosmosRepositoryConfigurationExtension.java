@@ -14,6 +14,7 @@ import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.data.repository.config.AnnotationRepositoryConfigurationSource;
 import org.springframework.data.repository.config.RepositoryConfigurationExtensionSupport;
 import org.springframework.data.repository.config.RepositoryConfigurationSource;
 import org.springframework.data.repository.core.RepositoryMetadata;
@@ -68,6 +69,11 @@ public class CosmosRepositoryConfigurationExtension extends RepositoryConfigurat
         super.postProcess(builder, source);
     }
 
+    @Override
+    public void postProcess(BeanDefinitionBuilder builder, AnnotationRepositoryConfigurationSource config) {
+        builder.addPropertyValue("queryAnalysis", config.getAttributes().getEnum("queryAnalysis"));
+    }
+
     //  Overriding this to provide reactive repository support.
     @Override
     protected boolean useRepositoryConfiguration(RepositoryMetadata metadata) {
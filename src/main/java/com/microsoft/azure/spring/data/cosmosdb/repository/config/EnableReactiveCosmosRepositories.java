@@ -7,6 +7,7 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.config;
 
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.QueryAnalysis;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.ReactiveCosmosRepositoryFactoryBean;
 import org.springframework.context.annotation.ComponentScan.Filter;
 import org.springframework.context.annotation.Import;
@@ -49,5 +50,13 @@ public @interface EnableReactiveCosmosRepositories {
     Class<?> repositoryBaseClass() default DefaultRepositoryBaseClass.class;
 
     boolean considerNestedRepositories() default false;
+
+    /**
+     * Analyze the derived query methods when the repositories are created, and log or fail on the methods
+     * expensive in request units, e.g. running across partitions or without a limit.
+     *
+     * @return the analysis mode, off by default
+     */
+    QueryAnalysis queryAnalysis() default QueryAnalysis.OFF;
 }
 
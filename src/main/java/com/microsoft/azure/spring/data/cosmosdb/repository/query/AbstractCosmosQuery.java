@@ -5,16 +5,30 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class AbstractCosmosQuery implements RepositoryQuery {
 
     private final CosmosQueryMethod method;
     private final CosmosOperations operations;
 
+    /**
+     * Projected keys by returned type, a single one unless the method has a dynamic projection parameter.
+     */
+    private final Map<Class<?>, List<String>> projectedKeys = new ConcurrentHashMap<>();
+
     public AbstractCosmosQuery(CosmosQueryMethod method, CosmosOperations operations) {
         this.method = method;
         this.operations = operations;
@@ -25,20 +39,58 @@ public abstract class AbstractCosmosQuery implements RepositoryQuery {
         final DocumentQuery query = createQuery(accessor);
 
         final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
         final String collection = ((CosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
 
-        final CosmosQueryExecution execution = getExecution(accessor);
-        return execution.execute(query, processor.getReturnedType().getDomainType(), collection);
+        if (isProjectionQuery(returnedType)) {
+            query.project(getProjectedKeys(returnedType));
+        }
+
+        final CosmosQueryExecution execution = getExecution(accessor, returnedType);
+        return processor.processResult(execution.execute(query, returnedType.getDomainType(), collection));
+    }
+
+    /**
+     * Paged and sliced queries read the whole domain entities, the projection is applied to the content afterwards.
+     */
+    private boolean isProjectionQuery(ReturnedType returnedType) {
+        return returnedType.isProjecting() && !isDeleteQuery() && !isExistsQuery() && !isCountQuery()
+            && !method.isPageQuery() && !method.isSliceQuery();
     }
 
+    /**
+     * Only DTO classes and closed interface projections are read from the selected properties alone. Open
+     * projections are backed by the whole domain entity, so the whole document is selected for them.
+     */
+    private List<String> getProjectedKeys(ReturnedType returnedType) {
+        return projectedKeys.computeIfAbsent(returnedType.getReturnedType(), type -> {
+            if (!returnedType.needsCustomConstruction()) {
+                return Collections.emptyList();
+            }
+
+            final CosmosEntityInformation<?, ?> information =
+                new CosmosEntityInformation<>(returnedType.getDomainType());
+            final String idName = information.getIdField().getName();
 
-    private CosmosQueryExecution getExecution(CosmosParameterAccessor accessor) {
+            return returnedType.getInputProperties().stream()
+                               .map(name -> idName.equals(name) ? Constants.ID_PROPERTY_NAME : name)
+                               .collect(Collectors.toList());
+        });
+    }
+
+    private CosmosQueryExecution getExecution(CosmosParameterAccessor accessor, ReturnedType returnedType) {
         if (isDeleteQuery()) {
             return new CosmosQueryExecution.DeleteExecution(operations);
         } else if (method.isPageQuery()) {
             return new CosmosQueryExecution.PagedExecution(operations, accessor.getPageable());
+        } else if (method.isSliceQuery()) {
+            return new CosmosQueryExecution.SlicedExecution(operations, accessor.getPageable());
         } else if (isExistsQuery()) {
             return new CosmosQueryExecution.ExistsExecution(operations);
+        } else if (isCountQuery()) {
+            return new CosmosQueryExecution.CountExecution(operations);
+        } else if (isProjectionQuery(returnedType)) {
+            return new CosmosQueryExecution.ProjectionExecution(operations, returnedType.getReturnedType());
         } else {
             return new CosmosQueryExecution.MultiEntityExecution(operations);
         }
@@ -54,4 +106,6 @@ public abstract class AbstractCosmosQuery implements RepositoryQuery {
 
     protected abstract boolean isExistsQuery();
 
+    protected abstract boolean isCountQuery();
+
 }
@@ -5,16 +5,30 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
 import org.springframework.data.repository.query.RepositoryQuery;
 import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
 
     private final ReactiveCosmosQueryMethod method;
     private final ReactiveCosmosOperations operations;
 
+    /**
+     * Projected keys by returned type, a single one unless the method has a dynamic projection parameter.
+     */
+    private final Map<Class<?>, List<String>> projectedKeys = new ConcurrentHashMap<>();
+
     public AbstractReactiveCosmosQuery(ReactiveCosmosQueryMethod method,
                                        ReactiveCosmosOperations operations) {
         this.method = method;
@@ -28,15 +42,48 @@ public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
 
         final ResultProcessor processor =
             method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
         final String collection =
             ((ReactiveCosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
 
-        final ReactiveCosmosQueryExecution execution = getExecution(accessor);
-        return execution.execute(query, processor.getReturnedType().getDomainType(), collection);
+        if (isProjectionQuery(returnedType)) {
+            query.project(getProjectedKeys(returnedType));
+        }
+
+        final ReactiveCosmosQueryExecution execution = getExecution(accessor, returnedType);
+        return processor.processResult(execution.execute(query, returnedType.getDomainType(), collection));
+    }
+
+    /**
+     * Paged queries read the whole domain entities, the projection is applied to the page content afterwards.
+     */
+    private boolean isProjectionQuery(ReturnedType returnedType) {
+        return returnedType.isProjecting() && !isDeleteQuery() && !isExistsQuery() && !isCountQuery()
+            && !method.isPageQuery();
     }
 
+    /**
+     * Only DTO classes and closed interface projections are read from the selected properties alone. Open
+     * projections are backed by the whole domain entity, so the whole document is selected for them.
+     */
+    private List<String> getProjectedKeys(ReturnedType returnedType) {
+        return projectedKeys.computeIfAbsent(returnedType.getReturnedType(), type -> {
+            if (!returnedType.needsCustomConstruction()) {
+                return Collections.emptyList();
+            }
+
+            final CosmosEntityInformation<?, ?> information =
+                new CosmosEntityInformation<>(returnedType.getDomainType());
+            final String idName = information.getIdField().getName();
 
-    private ReactiveCosmosQueryExecution getExecution(ReactiveCosmosParameterAccessor accessor) {
+            return returnedType.getInputProperties().stream()
+                               .map(name -> idName.equals(name) ? Constants.ID_PROPERTY_NAME : name)
+                               .collect(Collectors.toList());
+        });
+    }
+
+    private ReactiveCosmosQueryExecution getExecution(ReactiveCosmosParameterAccessor accessor,
+                                                      ReturnedType returnedType) {
         if (isDeleteQuery()) {
             return new ReactiveCosmosQueryExecution.DeleteExecution(operations);
         } else if (method.isPageQuery()) {
@@ -44,6 +91,10 @@ public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
                 "db");
         } else if (isExistsQuery()) {
             return new ReactiveCosmosQueryExecution.ExistsExecution(operations);
+        } else if (isCountQuery()) {
+            return new ReactiveCosmosQueryExecution.CountExecution(operations);
+        } else if (isProjectionQuery(returnedType)) {
+            return new ReactiveCosmosQueryExecution.ProjectionExecution(operations, returnedType.getReturnedType());
         } else {
             return new ReactiveCosmosQueryExecution.MultiEntityExecution(operations);
         }
@@ -59,4 +110,6 @@ public abstract class AbstractReactiveCosmosQuery implements RepositoryQuery {
 
     protected abstract boolean isExistsQuery();
 
+    protected abstract boolean isCountQuery();
+
 }
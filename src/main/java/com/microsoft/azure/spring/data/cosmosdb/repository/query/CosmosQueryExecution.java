@@ -41,6 +41,22 @@ public interface CosmosQueryExecution {
         }
     }
 
+    final class ProjectionExecution implements CosmosQueryExecution {
+
+        private final CosmosOperations operations;
+        private final Class<?> returnType;
+
+        public ProjectionExecution(CosmosOperations operations, Class<?> returnType) {
+            this.operations = operations;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.find(query, type, returnType, collection);
+        }
+    }
+
     final class ExistsExecution implements CosmosQueryExecution {
 
         private final CosmosOperations operations;
@@ -55,6 +71,20 @@ public interface CosmosQueryExecution {
         }
     }
 
+    final class CountExecution implements CosmosQueryExecution {
+
+        private final CosmosOperations operations;
+
+        public CountExecution(CosmosOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.count(query, type, collection);
+        }
+    }
+
     final class DeleteExecution implements CosmosQueryExecution {
 
         private final CosmosOperations operations;
@@ -90,4 +120,26 @@ public interface CosmosQueryExecution {
             return operations.paginationQuery(query, type, collection);
         }
     }
+
+    final class SlicedExecution implements CosmosQueryExecution {
+        private final CosmosOperations operations;
+        private final Pageable pageable;
+
+        public SlicedExecution(CosmosOperations operations, Pageable pageable) {
+            this.operations = operations;
+            this.pageable = pageable;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            if (pageable.getPageNumber() != 0 && !(pageable instanceof CosmosPageRequest)) {
+                throw new IllegalStateException("Not the first page but Pageable is not a valid " +
+                        "CosmosPageRequest, requestContinuation is required for non first page request");
+            }
+
+            query.with(pageable);
+
+            return operations.sliceQuery(query, type, collection);
+        }
+    }
 }
@@ -5,11 +5,15 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.repository.Query;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityMetadata;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 
 import java.lang.reflect.Method;
 
@@ -17,8 +21,28 @@ public class CosmosQueryMethod extends QueryMethod {
 
     private CosmosEntityMetadata<?> metadata;
 
+    private final String annotatedQuery;
+
     public CosmosQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
+
+        final Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        this.annotatedQuery = query == null ? null : query.value();
+    }
+
+    /**
+     * @return true if the method is annotated with a {@link Query}
+     */
+    public boolean hasAnnotatedQuery() {
+        return StringUtils.hasText(annotatedQuery);
+    }
+
+    /**
+     * @return the query of the {@link Query} annotation, or null if the method is not annotated
+     */
+    @Nullable
+    public String getAnnotatedQuery() {
+        return annotatedQuery;
     }
 
     @Override
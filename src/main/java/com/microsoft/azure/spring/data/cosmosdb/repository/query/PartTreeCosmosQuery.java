@@ -6,7 +6,10 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QuerySpecTemplate;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.mapping.context.MappingContext;
@@ -18,6 +21,7 @@ public class PartTreeCosmosQuery extends AbstractCosmosQuery {
     private final PartTree tree;
     private final MappingContext<?, CosmosPersistentProperty> mappingContext;
     private final ResultProcessor processor;
+    private final QuerySpecTemplate template;
 
     public PartTreeCosmosQuery(CosmosQueryMethod method, CosmosOperations operations) {
         super(method, operations);
@@ -25,6 +29,25 @@ public class PartTreeCosmosQuery extends AbstractCosmosQuery {
         this.processor = method.getResultProcessor();
         this.tree = new PartTree(method.getName(), processor.getReturnedType().getDomainType());
         this.mappingContext = operations.getConverter().getMappingContext();
+        this.template = compileTemplate(method, operations);
+    }
+
+    /**
+     * The query text only depends on the method, so it is generated once from placeholder parameters and each
+     * call only binds its parameter values.
+     */
+    private QuerySpecTemplate compileTemplate(CosmosQueryMethod method, CosmosOperations operations) {
+        if (tree.getParts().stream().anyMatch(part -> CriteriaType.isPartTypeUnSupported(part.getType()))) {
+            return null;
+        }
+
+        final Object[] placeholders = new Object[method.getParameters().getNumberOfParameters()];
+        final CosmosParameterAccessor accessor = new CosmosParameterParameterAccessor(method, placeholders);
+        final DocumentQuery query = new CosmosQueryCreator(tree, accessor, mappingContext).createQuery();
+
+        return new FindQuerySpecGenerator(operations.getConverter(), processor.getReturnedType().getDomainType())
+            .compile(query)
+            .orElse(null);
     }
 
     @Override
@@ -33,11 +56,21 @@ public class PartTreeCosmosQuery extends AbstractCosmosQuery {
 
         final DocumentQuery query = creator.createQuery();
 
-        if (tree.isLimiting()) {
-            throw new NotImplementedException("Limiting is not supported.");
+        final Integer maxResults = tree.getMaxResults();
+
+        if (maxResults != null) {
+            if (getQueryMethod().isPageQuery() || getQueryMethod().isSliceQuery()) {
+                throw new NotImplementedException("Limiting is not supported by paged queries.");
+            }
+
+            query.limit(maxResults);
         }
 
-        return query;
+        return template == null ? query : query.with(template);
+    }
+
+    PartTree getTree() {
+        return tree;
     }
 
     @Override
@@ -49,4 +82,9 @@ public class PartTreeCosmosQuery extends AbstractCosmosQuery {
     protected boolean isExistsQuery() {
         return tree.isExistsProjection();
     }
+
+    @Override
+    protected boolean isCountQuery() {
+        return tree.isCountProjection();
+    }
 }
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.azure.data.cosmos.ExcludedPath;
+import com.azure.data.cosmos.IncludedPath;
+import com.azure.data.cosmos.IndexingMode;
+import com.azure.data.cosmos.IndexingPolicy;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.repository.core.support.QueryCreationListener;
+import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds the derived query methods expensive in request units when the repositories are created, i.e. the methods
+ * which always run across partitions, sort on a path excluded from the index, filter with CONTAINING or ENDING_WITH,
+ * which scans the index, or read all matching documents without a limit or a page.
+ * <p>
+ * Only the criteria and sort of the method name are known, the sort and page parameters are not analyzed.
+ */
+@Slf4j
+public class PartTreeQueryAnalyzer implements QueryCreationListener<RepositoryQuery> {
+
+    private final QueryAnalysis analysis;
+
+    public PartTreeQueryAnalyzer(@NonNull QueryAnalysis analysis) {
+        this.analysis = analysis;
+    }
+
+    @Override
+    public void onCreation(@NonNull RepositoryQuery query) {
+        final List<String> findings = analyze(query);
+
+        if (findings.isEmpty() || analysis == QueryAnalysis.OFF) {
+            return;
+        }
+
+        final String method = query.getQueryMethod().toString();
+
+        if (analysis == QueryAnalysis.FAIL) {
+            throw new IllegalQueryException("Query method " + method + " is expensive: "
+                + String.join("; ", findings));
+        }
+
+        findings.forEach(finding -> log.warn("Query method {} is expensive: {}", method, finding));
+    }
+
+    /**
+     * Analyze a repository query.
+     *
+     * @param query the query
+     * @return the reasons the query is expensive, empty if the query is not derived from the method name
+     */
+    List<String> analyze(@NonNull RepositoryQuery query) {
+        if (query instanceof PartTreeCosmosQuery) {
+            final CosmosQueryMethod method = ((PartTreeCosmosQuery) query).getQueryMethod();
+
+            return analyze(((PartTreeCosmosQuery) query).getTree(), method,
+                method.isCollectionQuery() || method.isStreamQuery());
+        } else if (query instanceof PartTreeReactiveCosmosQuery) {
+            final ReactiveCosmosQueryMethod method = ((PartTreeReactiveCosmosQuery) query).getQueryMethod();
+
+            return analyze(((PartTreeReactiveCosmosQuery) query).getTree(), method, !method.isMonoQuery());
+        }
+
+        return Collections.emptyList();
+    }
+
+    private List<String> analyze(PartTree tree, QueryMethod method, boolean readsMany) {
+        final CosmosEntityInformation<?, ?> information =
+            new CosmosEntityInformation<>(method.getEntityInformation().getJavaType());
+        final List<String> findings = new ArrayList<>();
+        final String partitionKey = information.getPartitionKeyFieldName();
+
+        if (partitionKey != null && isAlwaysCrossPartition(tree, getPartitionKeySources(information))) {
+            findings.add("runs across partitions, no criteria matches partition key " + partitionKey
+                + " in each OR branch");
+        }
+
+        for (final Sort.Order order : tree.getSort()) {
+            if (!isIndexed(order.getProperty(), information.getIndexingPolicy())) {
+                findings.add("sorts on " + order.getProperty() + ", which is excluded from the indexing policy");
+            }
+        }
+
+        for (final Part part : tree.getParts()) {
+            if (isScan(part)) {
+                findings.add(part.getType().name() + " on " + part.getProperty().toDotPath() + " scans the index");
+            }
+        }
+
+        if (readsMany && !tree.isLimiting() && !tree.isDelete() && !tree.isCountProjection()
+            && !tree.isExistsProjection() && !method.isPageQuery() && !method.isSliceQuery()) {
+            findings.add("reads all matching documents, limit it with findFirstN or a Pageable");
+        }
+
+        return findings;
+    }
+
+    /**
+     * The sets of properties whose criteria bound the partition key, the partition key itself, the id when the
+     * partition key is derived from it, or all the components of a composed partition key.
+     */
+    private static List<Set<String>> getPartitionKeySources(CosmosEntityInformation<?, ?> information) {
+        final List<Set<String>> sources = new ArrayList<>();
+
+        sources.add(Collections.singleton(information.getPartitionKeyFieldName()));
+
+        if (information.isPartitionKeyDerivedFromId()) {
+            sources.add(Collections.singleton(information.getIdField().getName()));
+        }
+
+        if (!information.getPartitionKeyComponents().isEmpty()) {
+            sources.add(new HashSet<>(information.getPartitionKeyComponents()));
+        }
+
+        return sources;
+    }
+
+    private static boolean isAlwaysCrossPartition(PartTree tree, List<Set<String>> partitionKeySources) {
+        for (final PartTree.OrPart orPart : tree) {
+            final Set<String> bound = new HashSet<>();
+
+            for (final Part part : orPart) {
+                if (part.getType() == Part.Type.SIMPLE_PROPERTY || part.getType() == Part.Type.IN) {
+                    bound.add(part.getProperty().toDotPath());
+                }
+            }
+
+            if (partitionKeySources.stream().noneMatch(bound::containsAll)) {
+                return true;
+            }
+        }
+
+        // A method without criteria reads every partition.
+        return !tree.iterator().hasNext();
+    }
+
+    private static boolean isScan(Part part) {
+        switch (part.getType()) {
+            case ENDING_WITH:
+            case CONTAINING:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Resolve the indexing of a property path with the most specific included or excluded path matching it, as
+     * Cosmos DB does. Paths not matched by any are indexed by the default policy.
+     */
+    private static boolean isIndexed(String property, @Nullable IndexingPolicy policy) {
+        if (policy == null) {
+            return true;
+        } else if (policy.indexingMode() == IndexingMode.NONE) {
+            return false;
+        }
+
+        final String path = "/" + property.replace('.', '/');
+        int includedLength = -1;
+        int excludedLength = -1;
+
+        if (policy.includedPaths() != null) {
+            for (final IncludedPath includedPath : policy.includedPaths()) {
+                includedLength = Math.max(includedLength, matchLength(includedPath.path(), path));
+            }
+        }
+
+        if (policy.excludedPaths() != null) {
+            for (final ExcludedPath excludedPath : policy.excludedPaths()) {
+                excludedLength = Math.max(excludedLength, matchLength(excludedPath.path(), path));
+            }
+        }
+
+        return excludedLength < 0 || includedLength > excludedLength;
+    }
+
+    /**
+     * Get the length of an indexing path matching a property path, e.g. {@code /address/*} or
+     * {@code /address/city/?} for {@code /address/city}.
+     *
+     * @return the length of the matching path, -1 if it does not match
+     */
+    private static int matchLength(@Nullable String indexingPath, String path) {
+        if (indexingPath == null) {
+            return -1;
+        }
+
+        final String pattern = indexingPath.replace("\"", "");
+
+        if (pattern.endsWith("/?")) {
+            return pattern.substring(0, pattern.length() - 2).equals(path) ? pattern.length() : -1;
+        } else if (pattern.endsWith("/*")) {
+            final String prefix = pattern.substring(0, pattern.length() - 2);
+
+            return path.equals(prefix) || path.startsWith(prefix + "/") ? pattern.length() : -1;
+        }
+
+        return -1;
+    }
+}
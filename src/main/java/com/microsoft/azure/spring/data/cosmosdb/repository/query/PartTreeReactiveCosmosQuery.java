@@ -6,8 +6,11 @@
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QuerySpecTemplate;
 import org.apache.commons.lang3.NotImplementedException;
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.repository.query.ResultProcessor;
@@ -18,6 +21,7 @@ public class PartTreeReactiveCosmosQuery extends AbstractReactiveCosmosQuery {
     private final PartTree tree;
     private final MappingContext<?, CosmosPersistentProperty> mappingContext;
     private final ResultProcessor processor;
+    private final QuerySpecTemplate template;
 
     public PartTreeReactiveCosmosQuery(ReactiveCosmosQueryMethod method, ReactiveCosmosOperations operations) {
         super(method, operations);
@@ -25,6 +29,26 @@ public class PartTreeReactiveCosmosQuery extends AbstractReactiveCosmosQuery {
         this.processor = method.getResultProcessor();
         this.tree = new PartTree(method.getName(), processor.getReturnedType().getDomainType());
         this.mappingContext = operations.getConverter().getMappingContext();
+        this.template = compileTemplate(method, operations);
+    }
+
+    /**
+     * The query text only depends on the method, so it is generated once from placeholder parameters and each
+     * call only binds its parameter values.
+     */
+    private QuerySpecTemplate compileTemplate(ReactiveCosmosQueryMethod method, ReactiveCosmosOperations operations) {
+        if (tree.getParts().stream().anyMatch(part -> CriteriaType.isPartTypeUnSupported(part.getType()))) {
+            return null;
+        }
+
+        final Object[] placeholders = new Object[method.getParameters().getNumberOfParameters()];
+        final ReactiveCosmosParameterAccessor accessor =
+            new ReactiveCosmosParameterParameterAccessor(method, placeholders);
+        final DocumentQuery query = new ReactiveCosmosQueryCreator(tree, accessor, mappingContext).createQuery();
+
+        return new FindQuerySpecGenerator(operations.getConverter(), processor.getReturnedType().getDomainType())
+            .compile(query)
+            .orElse(null);
     }
 
     @Override
@@ -33,11 +57,21 @@ public class PartTreeReactiveCosmosQuery extends AbstractReactiveCosmosQuery {
 
         final DocumentQuery query = creator.createQuery();
 
-        if (tree.isLimiting()) {
-            throw new NotImplementedException("Limiting is not supported.");
+        final Integer maxResults = tree.getMaxResults();
+
+        if (maxResults != null) {
+            if (getQueryMethod().isPageQuery() || getQueryMethod().isSliceQuery()) {
+                throw new NotImplementedException("Limiting is not supported by paged queries.");
+            }
+
+            query.limit(maxResults);
         }
 
-        return query;
+        return template == null ? query : query.with(template);
+    }
+
+    PartTree getTree() {
+        return tree;
     }
 
     @Override
@@ -49,4 +83,9 @@ public class PartTreeReactiveCosmosQuery extends AbstractReactiveCosmosQuery {
     protected boolean isExistsQuery() {
         return tree.isExistsProjection();
     }
+
+    @Override
+    protected boolean isCountQuery() {
+        return tree.isCountProjection();
+    }
 }
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+/**
+ * What to do with the expensive derived query methods found by {@link PartTreeQueryAnalyzer} when the
+ * repositories are created.
+ */
+public enum QueryAnalysis {
+
+    /**
+     * Do not analyze the query methods.
+     */
+    OFF,
+
+    /**
+     * Log a warning for each expensive query method.
+     */
+    LOG,
+
+    /**
+     * Fail the creation of the repository declaring an expensive query method.
+     */
+    FAIL
+}
@@ -39,6 +39,22 @@ public interface ReactiveCosmosQueryExecution {
         }
     }
 
+    final class ProjectionExecution implements ReactiveCosmosQueryExecution {
+
+        private final ReactiveCosmosOperations operations;
+        private final Class<?> returnType;
+
+        public ProjectionExecution(ReactiveCosmosOperations operations, Class<?> returnType) {
+            this.operations = operations;
+            this.returnType = returnType;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.find(query, type, returnType, collection);
+        }
+    }
+
     final class ExistsExecution implements ReactiveCosmosQueryExecution {
 
         private final ReactiveCosmosOperations operations;
@@ -53,6 +69,20 @@ public interface ReactiveCosmosQueryExecution {
         }
     }
 
+    final class CountExecution implements ReactiveCosmosQueryExecution {
+
+        private final ReactiveCosmosOperations operations;
+
+        public CountExecution(ReactiveCosmosOperations operations) {
+            this.operations = operations;
+        }
+
+        @Override
+        public Object execute(DocumentQuery query, Class<?> type, String collection) {
+            return operations.count(query, type, collection);
+        }
+    }
+
     final class DeleteExecution implements ReactiveCosmosQueryExecution {
 
         private final ReactiveCosmosOperations operations;
@@ -5,11 +5,16 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.query;
 
+import com.microsoft.azure.spring.data.cosmosdb.repository.Query;
 import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityMetadata;
 import org.springframework.data.repository.core.RepositoryMetadata;
 import org.springframework.data.repository.query.QueryMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.Method;
 
@@ -17,8 +22,41 @@ public class ReactiveCosmosQueryMethod extends QueryMethod {
 
     private ReactiveCosmosEntityMetadata<?> metadata;
 
+    private final String annotatedQuery;
+
+    private final boolean monoQuery;
+
     public ReactiveCosmosQueryMethod(Method method, RepositoryMetadata metadata, ProjectionFactory factory) {
         super(method, metadata, factory);
+
+        final Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        this.annotatedQuery = query == null ? null : query.value();
+        this.monoQuery = Mono.class.isAssignableFrom(method.getReturnType());
+    }
+
+    /**
+     * Unlike {@link #isCollectionQuery()}, which depends on the order Spring Data matches the reactive wrapper
+     * types in, this always tells single value methods apart.
+     *
+     * @return true if the method returns a {@link Mono}
+     */
+    public boolean isMonoQuery() {
+        return monoQuery;
+    }
+
+    /**
+     * @return true if the method is annotated with a {@link Query}
+     */
+    public boolean hasAnnotatedQuery() {
+        return StringUtils.hasText(annotatedQuery);
+    }
+
+    /**
+     * @return the query of the {@link Query} annotation, or null if the method is not annotated
+     */
+    @Nullable
+    public String getAnnotatedQuery() {
+        return annotatedQuery;
     }
 
     @Override
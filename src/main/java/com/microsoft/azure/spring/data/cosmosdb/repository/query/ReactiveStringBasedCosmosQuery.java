@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the query of a {@link com.microsoft.azure.spring.data.cosmosdb.repository.Query} annotated method, which is
+ * parsed once when the repository is created.
+ */
+public class ReactiveStringBasedCosmosQuery implements RepositoryQuery {
+
+    private final ReactiveCosmosQueryMethod method;
+    private final ReactiveCosmosOperations operations;
+    private final StringQuery query;
+
+    public ReactiveStringBasedCosmosQuery(ReactiveCosmosQueryMethod method, ReactiveCosmosOperations operations) {
+        final String annotatedQuery = method.getAnnotatedQuery();
+
+        if (annotatedQuery == null) {
+            throw new IllegalQueryException("Method " + method.getName() + " has no @Query annotation.");
+        }
+
+        if (method.getParameters().hasPageableParameter() || method.getParameters().hasSortParameter()) {
+            throw new IllegalQueryException("Paging and sorting parameters are not supported by @Query method "
+                + method.getName() + ", page and sort in the query instead.");
+        }
+
+        this.method = method;
+        this.operations = operations;
+        this.query = new StringQuery(annotatedQuery, method.getParameters());
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        final ReactiveCosmosParameterAccessor accessor =
+            new ReactiveCosmosParameterParameterAccessor(method, parameters);
+        final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
+        final String collection =
+            ((ReactiveCosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
+
+        final SqlQuerySpec querySpec = query.bind(accessor, operations.getConverter());
+        final Flux<?> results = operations.runQuery(querySpec, returnedType.getDomainType(),
+            returnedType.getReturnedType(), collection);
+
+        return processor.processResult(method.isMonoQuery() ? single(results) : results);
+    }
+
+    /**
+     * Take the only result, failing with {@link IncorrectResultSizeDataAccessException} on more than one. The
+     * results beyond the second are not fetched.
+     */
+    private static <T> Mono<T> single(Flux<T> results) {
+        return results.take(2).collectList().flatMap(list -> {
+            if (list.size() > 1) {
+                return Mono.error(new IncorrectResultSizeDataAccessException(1));
+            }
+
+            return list.isEmpty() ? Mono.empty() : Mono.just(list.get(0));
+        });
+    }
+
+    @Override
+    public ReactiveCosmosQueryMethod getQueryMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.repository.query.RepositoryQuery;
+import org.springframework.data.repository.query.ResultProcessor;
+import org.springframework.data.repository.query.ReturnedType;
+
+import java.util.List;
+
+/**
+ * Runs the query of a {@link com.microsoft.azure.spring.data.cosmosdb.repository.Query} annotated method, which is
+ * parsed once when the repository is created.
+ */
+public class StringBasedCosmosQuery implements RepositoryQuery {
+
+    private final CosmosQueryMethod method;
+    private final CosmosOperations operations;
+    private final StringQuery query;
+
+    public StringBasedCosmosQuery(CosmosQueryMethod method, CosmosOperations operations) {
+        final String annotatedQuery = method.getAnnotatedQuery();
+
+        if (annotatedQuery == null) {
+            throw new IllegalQueryException("Method " + method.getName() + " has no @Query annotation.");
+        }
+
+        if (method.getParameters().hasPageableParameter() || method.getParameters().hasSortParameter()) {
+            throw new IllegalQueryException("Paging and sorting parameters are not supported by @Query method "
+                + method.getName() + ", page and sort in the query instead.");
+        }
+
+        this.method = method;
+        this.operations = operations;
+        this.query = new StringQuery(annotatedQuery, method.getParameters());
+    }
+
+    @Override
+    public Object execute(Object[] parameters) {
+        final CosmosParameterAccessor accessor = new CosmosParameterParameterAccessor(method, parameters);
+        final ResultProcessor processor = method.getResultProcessor().withDynamicProjection(accessor);
+        final ReturnedType returnedType = processor.getReturnedType();
+        final String collection = ((CosmosEntityMetadata) method.getEntityInformation()).getCollectionName();
+
+        final SqlQuerySpec querySpec = query.bind(accessor, operations.getConverter());
+        final List<?> results = operations.runQuery(querySpec, returnedType.getDomainType(),
+            returnedType.getReturnedType(), collection);
+
+        if (method.isCollectionQuery()) {
+            return processor.processResult(results);
+        } else if (method.isStreamQuery()) {
+            return processor.processResult(results.stream());
+        } else if (results.size() > 1) {
+            throw new IncorrectResultSizeDataAccessException(1, results.size());
+        }
+
+        return processor.processResult(results.isEmpty() ? null : results.get(0));
+    }
+
+    @Override
+    public CosmosQueryMethod getQueryMethod() {
+        return method;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.azure.data.cosmos.SqlParameter;
+import com.azure.data.cosmos.SqlParameterList;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import lombok.Getter;
+import org.springframework.data.repository.query.Parameter;
+import org.springframework.data.repository.query.ParameterAccessor;
+import org.springframework.data.repository.query.Parameters;
+import org.springframework.lang.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The query of a {@link com.microsoft.azure.spring.data.cosmosdb.repository.Query} annotated method, parsed once.
+ * Its parameter references are resolved to the bindable method parameters, and indexed references such as
+ * {@code @0} are renamed to valid SQL parameter names.
+ */
+final class StringQuery {
+
+    private static final String INDEXED_PARAMETER_PREFIX = "@_";
+
+    @Getter
+    private final String queryText;
+
+    /**
+     * Bindable parameter index by SQL parameter name, in order of first use.
+     */
+    private final Map<String, Integer> bindings = new LinkedHashMap<>();
+
+    StringQuery(@NonNull String query, @NonNull Parameters<?, ?> parameters) {
+        final Parameters<?, ?> bindableParameters = parameters.getBindableParameters();
+        final StringBuilder text = new StringBuilder(query.length());
+        int i = 0;
+
+        while (i < query.length()) {
+            final char c = query.charAt(i);
+
+            if (c == '\'' || c == '"') {
+                final int end = skipStringLiteral(query, i);
+                text.append(query, i, end);
+                i = end;
+            } else if (c == '@' && i + 1 < query.length() && isIdentifierPart(query.charAt(i + 1))) {
+                int end = i + 1;
+                while (end < query.length() && isIdentifierPart(query.charAt(end))) {
+                    end++;
+                }
+
+                final String reference = query.substring(i + 1, end);
+                final String name = bind(reference, bindableParameters, query);
+                text.append(name);
+                i = end;
+            } else {
+                text.append(c);
+                i++;
+            }
+        }
+
+        this.queryText = text.toString();
+    }
+
+    private String bind(String reference, Parameters<?, ?> bindableParameters, String query) {
+        if (reference.chars().allMatch(Character::isDigit)) {
+            final int index = Integer.parseInt(reference);
+
+            if (index >= bindableParameters.getNumberOfParameters()) {
+                throw new IllegalQueryException("No parameter at index " + index + " to bind in query " + query);
+            }
+
+            final String name = INDEXED_PARAMETER_PREFIX + index;
+            bindings.put(name, index);
+            return name;
+        }
+
+        for (final Parameter parameter : bindableParameters) {
+            final Optional<String> parameterName = parameter.getName();
+
+            if (parameterName.isPresent() && parameterName.get().equals(reference)) {
+                bindings.put("@" + reference, bindableIndexOf(bindableParameters, parameter));
+                return "@" + reference;
+            }
+        }
+
+        throw new IllegalQueryException("No parameter named " + reference + " to bind in query " + query
+            + ", annotate the parameter with @Param or compile with parameter names.");
+    }
+
+    private static int bindableIndexOf(Parameters<?, ?> bindableParameters, Parameter parameter) {
+        for (int i = 0; i < bindableParameters.getNumberOfParameters(); i++) {
+            if (bindableParameters.getParameter(i) == parameter) {
+                return i;
+            }
+        }
+
+        throw new IllegalStateException("Parameter is not bindable: " + parameter);
+    }
+
+    private static int skipStringLiteral(String query, int start) {
+        final char quote = query.charAt(start);
+        int i = start + 1;
+
+        while (i < query.length() && query.charAt(i) != quote) {
+            i += query.charAt(i) == '\\' ? 2 : 1;
+        }
+
+        return Math.min(i + 1, query.length());
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+
+    /**
+     * Bind the parameter values of a call, converted to the values stored in Cosmos DB.
+     *
+     * @param accessor  the parameters of the call
+     * @param converter the converter of the template
+     * @return the query spec
+     */
+    SqlQuerySpec bind(@NonNull ParameterAccessor accessor, @NonNull MappingCosmosConverter converter) {
+        final SqlParameterList parameters = new SqlParameterList();
+
+        bindings.forEach((name, index) ->
+            parameters.add(new SqlParameter(name, toCosmosDbValue(accessor.getBindableValue(index), converter))));
+
+        return new SqlQuerySpec(queryText, parameters);
+    }
+
+    private static Object toCosmosDbValue(Object value, MappingCosmosConverter converter) {
+        if (!(value instanceof Collection)) {
+            return converter.convertToCosmosDbValue(value);
+        }
+
+        final List<Object> values = new ArrayList<>(((Collection<?>) value).size());
+        ((Collection<?>) value).forEach(v -> values.add(converter.convertToCosmosDbValue(v)));
+
+        return values;
+    }
+}
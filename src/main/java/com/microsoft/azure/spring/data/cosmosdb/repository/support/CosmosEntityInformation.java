@@ -13,21 +13,31 @@ import com.azure.data.cosmos.IndexingPolicy;
 import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingPolicy;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.IdPartitionKeyStrategy;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import org.apache.commons.lang3.reflect.FieldUtils;
 
 import org.json.JSONObject;
+import org.springframework.beans.BeanUtils;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.repository.core.support.AbstractEntityInformation;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.ReflectionUtils;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.ExpressionResolver.resolveExpression;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T, ID> {
@@ -35,6 +45,8 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
     private static final String ETAG = "_etag";
     private Field id;
     private Field partitionKeyField;
+    private IdPartitionKeyStrategy idPartitionKeyStrategy;
+    private List<Field> partitionKeyComponentFields = Collections.emptyList();
     private String collectionName;
     private Integer requestUnit;
     private Integer timeToLive;
@@ -52,6 +64,8 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         this.partitionKeyField = getPartitionKeyField(domainClass);
         if (this.partitionKeyField != null) {
             ReflectionUtils.makeAccessible(this.partitionKeyField);
+            this.idPartitionKeyStrategy = getIdPartitionKeyStrategy(this.partitionKeyField);
+            this.partitionKeyComponentFields = getPartitionKeyComponentFields(domainClass, this.partitionKeyField);
         }
 
         this.requestUnit = getRequestUnit(domainClass);
@@ -105,8 +119,131 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
         }
     }
 
-    public String getPartitionKeyFieldValue(T entity) {
-        return partitionKeyField == null ? null : (String) ReflectionUtils.getField(partitionKeyField, entity);
+    /**
+     * Get the partition key value of an entity. When the partition key is derived from the id or composed from
+     * other properties, an unset partition key field is filled with the derived value.
+     */
+    public Object getPartitionKeyFieldValue(T entity) {
+        if (partitionKeyField == null) {
+            return null;
+        }
+
+        final Object value = ReflectionUtils.getField(partitionKeyField, entity);
+        final String derivedValue = derivePartitionKeyValue(entity);
+
+        if (derivedValue == null) {
+            return value;
+        } else if (value == null) {
+            ReflectionUtils.setField(partitionKeyField, entity, derivedValue);
+        } else if (!value.equals(derivedValue)) {
+            throw new IllegalArgumentException("partition key " + value + " of entity " + getId(entity)
+                + " differs from the partition key " + derivedValue + " derived from the entity");
+        }
+
+        return derivedValue;
+    }
+
+    @Nullable
+    private String derivePartitionKeyValue(T entity) {
+        if (idPartitionKeyStrategy != null) {
+            final ID entityId = getId(entity);
+
+            return entityId == null ? null : idPartitionKeyStrategy.getPartitionKey(entityId);
+        } else if (partitionKeyComponentFields.isEmpty()) {
+            return null;
+        }
+
+        final List<Object> components = partitionKeyComponentFields.stream()
+            .map(field -> ReflectionUtils.getField(field, entity))
+            .collect(Collectors.toList());
+
+        return components.contains(null) ? null : composePartitionKey(components);
+    }
+
+    private String composePartitionKey(List<?> components) {
+        final String delimiter = partitionKeyField.getAnnotation(PartitionKey.class).delimiter();
+
+        return components.stream().map(String::valueOf).collect(Collectors.joining(delimiter));
+    }
+
+    /**
+     * Get the names of the properties the partition key is composed of.
+     *
+     * @return the names, empty if the partition key is not composed
+     */
+    public List<String> getPartitionKeyComponents() {
+        return partitionKeyComponentFields.stream().map(Field::getName).collect(Collectors.toList());
+    }
+
+    public boolean isPartitionKeyDerivedFromId() {
+        return idPartitionKeyStrategy != null;
+    }
+
+    /**
+     * Get the partition key values of the documents a query can match, from its criteria on the partition key, or
+     * on the id or every component when the partition key is derived from them.
+     *
+     * @param query the query
+     * @return the values, empty if the criteria do not bound the partition key
+     */
+    public Optional<Set<Object>> getPartitionKeyValues(@NonNull DocumentQuery query) {
+        final String partitionKeyName = getPartitionKeyFieldName();
+
+        if (partitionKeyName == null) {
+            return Optional.empty();
+        }
+
+        final Optional<Set<Object>> values = query.getPartitionKeyValues(partitionKeyName);
+
+        if (values.isPresent()) {
+            return values;
+        } else if (idPartitionKeyStrategy != null) {
+            // Criteria match the id under its document key, whatever the name of the id field.
+            return query.getPartitionKeyValues(Constants.ID_PROPERTY_NAME).map(ids ->
+                ids.stream()
+                   .map(idPartitionKeyStrategy::getPartitionKey)
+                   .collect(Collectors.toCollection(LinkedHashSet::new)));
+        } else if (partitionKeyComponentFields.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // Compose the values of every combination of the component values.
+        List<List<Object>> combinations = Collections.singletonList(Collections.emptyList());
+
+        for (final Field field : partitionKeyComponentFields) {
+            final Optional<Set<Object>> componentValues = query.getPartitionKeyValues(field.getName());
+
+            if (!componentValues.isPresent()) {
+                return Optional.empty();
+            }
+
+            final List<List<Object>> expanded = new ArrayList<>();
+
+            for (final List<Object> combination : combinations) {
+                for (final Object componentValue : componentValues.get()) {
+                    final List<Object> next = new ArrayList<>(combination);
+                    next.add(componentValue);
+                    expanded.add(next);
+                }
+            }
+
+            combinations = expanded;
+        }
+
+        return Optional.of(combinations.stream()
+                                       .map(this::composePartitionKey)
+                                       .collect(Collectors.toCollection(LinkedHashSet::new)));
+    }
+
+    /**
+     * Get the partition key value derived from an id.
+     *
+     * @param id the id
+     * @return the partition key value, null if the partition key is not derived from the id
+     */
+    @Nullable
+    public String getIdPartitionKeyValue(@NonNull Object id) {
+        return idPartitionKeyStrategy == null ? null : idPartitionKeyStrategy.getPartitionKey(id);
     }
 
     public boolean isAutoCreateCollection() {
@@ -170,12 +307,59 @@ public class CosmosEntityInformation<T, ID> extends AbstractEntityInformation<T,
                     "only one field with @PartitionKey annotation!");
         }
 
-        if (partitionKey != null && partitionKey.getType() != String.class) {
-            throw new IllegalArgumentException("type of PartitionKey field must be String");
+        if (partitionKey != null && !isPartitionKeyType(partitionKey.getType())) {
+            throw new IllegalArgumentException("type of PartitionKey field must be String, a number or a boolean");
         }
         return partitionKey;
     }
 
+    private static boolean isPartitionKeyType(Class<?> type) {
+        final Class<?> boxedType = ClassUtils.resolvePrimitiveIfNecessary(type);
+
+        return boxedType == String.class || boxedType == Boolean.class || Number.class.isAssignableFrom(boxedType);
+    }
+
+    private List<Field> getPartitionKeyComponentFields(Class<?> domainClass, Field partitionKeyField) {
+        final String[] components = partitionKeyField.getAnnotation(PartitionKey.class).components();
+
+        if (components.length == 0) {
+            return Collections.emptyList();
+        } else if (idPartitionKeyStrategy != null) {
+            throw new IllegalArgumentException("PartitionKey can be derived from the id or composed, not both");
+        } else if (partitionKeyField.getType() != String.class) {
+            throw new IllegalArgumentException("type of a composed PartitionKey field must be String");
+        }
+
+        final List<Field> fields = new ArrayList<>(components.length);
+
+        for (final String component : components) {
+            final Field field = ReflectionUtils.findField(domainClass, component);
+
+            if (field == null || field.equals(partitionKeyField)) {
+                throw new IllegalArgumentException("PartitionKey component " + component
+                    + " is not another field of " + domainClass.getName());
+            }
+
+            ReflectionUtils.makeAccessible(field);
+            fields.add(field);
+        }
+
+        return fields;
+    }
+
+    private IdPartitionKeyStrategy getIdPartitionKeyStrategy(Field partitionKeyField) {
+        final Class<? extends IdPartitionKeyStrategy> strategyClass =
+            partitionKeyField.getAnnotation(PartitionKey.class).idStrategy();
+
+        if (strategyClass == IdPartitionKeyStrategy.class) {
+            return null;
+        } else if (partitionKeyField.getType() != String.class) {
+            throw new IllegalArgumentException("type of a PartitionKey derived from the id must be String");
+        }
+
+        return BeanUtils.instantiateClass(strategyClass);
+    }
+
     private Integer getRequestUnit(Class<?> domainClass) {
         Integer ru = Integer.parseInt(Constants.DEFAULT_REQUEST_UNIT);
         final Document annotation = domainClass.getAnnotation(Document.class);
@@ -9,6 +9,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.CosmosQueryMethod;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.PartTreeCosmosQuery;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.StringBasedCosmosQuery;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityInformation;
@@ -73,6 +74,11 @@ public class CosmosRepositoryFactory extends RepositoryFactorySupport {
 
             Assert.notNull(queryMethod, "queryMethod must not be null!");
             Assert.notNull(dbOperations, "dbOperations must not be null!");
+
+            if (queryMethod.hasAnnotatedQuery()) {
+                return new StringBasedCosmosQuery(queryMethod, dbOperations);
+            }
+
             return new PartTreeCosmosQuery(queryMethod, dbOperations);
 
         }
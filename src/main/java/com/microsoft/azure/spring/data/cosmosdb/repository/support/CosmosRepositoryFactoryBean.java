@@ -8,6 +8,8 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.PartTreeQueryAnalyzer;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.QueryAnalysis;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -27,6 +29,7 @@ public class CosmosRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exte
     private ApplicationContext applicationContext;
     private CosmosOperations operations;
     private boolean mappingContextConfigured = false;
+    private QueryAnalysis queryAnalysis = QueryAnalysis.OFF;
 
 
     public CosmosRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
@@ -38,9 +41,19 @@ public class CosmosRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exte
         this.operations = operations;
     }
 
+    public void setQueryAnalysis(QueryAnalysis queryAnalysis) {
+        this.queryAnalysis = queryAnalysis;
+    }
+
     @Override
     protected final RepositoryFactorySupport createRepositoryFactory() {
-        return getFactoryInstance(applicationContext);
+        final RepositoryFactorySupport factory = getFactoryInstance(applicationContext);
+
+        if (queryAnalysis != QueryAnalysis.OFF) {
+            factory.addQueryCreationListener(new PartTreeQueryAnalyzer(queryAnalysis));
+        }
+
+        return factory;
     }
 
     protected RepositoryFactorySupport getFactoryInstance(ApplicationContext applicationContext) {
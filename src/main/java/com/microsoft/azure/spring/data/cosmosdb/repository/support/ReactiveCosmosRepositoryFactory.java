@@ -8,6 +8,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.PartTreeReactiveCosmosQuery;
 import com.microsoft.azure.spring.data.cosmosdb.repository.query.ReactiveCosmosQueryMethod;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.ReactiveStringBasedCosmosQuery;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.projection.ProjectionFactory;
 import org.springframework.data.repository.core.EntityInformation;
@@ -77,6 +78,11 @@ public class ReactiveCosmosRepositoryFactory extends ReactiveRepositoryFactorySu
 
             Assert.notNull(queryMethod, "queryMethod must not be null!");
             Assert.notNull(cosmosOperations, "dbOperations must not be null!");
+
+            if (queryMethod.hasAnnotatedQuery()) {
+                return new ReactiveStringBasedCosmosQuery(queryMethod, cosmosOperations);
+            }
+
             return new PartTreeReactiveCosmosQuery(queryMethod, cosmosOperations);
 
         }
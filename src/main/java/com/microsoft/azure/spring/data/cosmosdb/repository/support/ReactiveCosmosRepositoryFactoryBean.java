@@ -7,6 +7,8 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.PartTreeQueryAnalyzer;
+import com.microsoft.azure.spring.data.cosmosdb.repository.query.QueryAnalysis;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
@@ -26,6 +28,7 @@ public class ReactiveCosmosRepositoryFactoryBean<T extends Repository<S, K>, S,
     private ApplicationContext applicationContext;
     private ReactiveCosmosOperations cosmosOperations;
     private boolean mappingContextConfigured = false;
+    private QueryAnalysis queryAnalysis = QueryAnalysis.OFF;
 
     public ReactiveCosmosRepositoryFactoryBean(Class<? extends T> repositoryInterface) {
         super(repositoryInterface);
@@ -36,9 +39,19 @@ public class ReactiveCosmosRepositoryFactoryBean<T extends Repository<S, K>, S,
         this.cosmosOperations = operations;
     }
 
+    public void setQueryAnalysis(QueryAnalysis queryAnalysis) {
+        this.queryAnalysis = queryAnalysis;
+    }
+
     @Override
     protected final RepositoryFactorySupport createRepositoryFactory() {
-        return getFactoryInstance(applicationContext);
+        final RepositoryFactorySupport factory = getFactoryInstance(applicationContext);
+
+        if (queryAnalysis != QueryAnalysis.OFF) {
+            factory.addQueryCreationListener(new PartTreeQueryAnalyzer(queryAnalysis));
+        }
+
+        return factory;
     }
 
     protected RepositoryFactorySupport getFactoryInstance(ApplicationContext applicationContext) {
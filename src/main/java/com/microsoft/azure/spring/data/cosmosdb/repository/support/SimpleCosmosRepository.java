@@ -8,10 +8,13 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
 import com.azure.data.cosmos.CosmosContainerProperties;
 import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.BulkWriteResult;
 import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.exception.CosmosDBAccessException;
 import com.microsoft.azure.spring.data.cosmosdb.repository.CosmosRepository;
 import org.springframework.context.ApplicationContext;
 import org.springframework.data.domain.Page;
@@ -22,7 +25,9 @@ import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
 
@@ -79,7 +84,16 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
         return entity;
     }
 
-    private PartitionKey createKey(String partitionKeyValue) {
+    /**
+     * The partition key of a document is known from its id alone when it is derived from the id.
+     */
+    private PartitionKey getIdPartitionKey(ID id) {
+        final String partitionKeyValue = information.getIdPartitionKeyValue(id);
+
+        return partitionKeyValue == null ? null : new PartitionKey(partitionKeyValue);
+    }
+
+    private PartitionKey createKey(Object partitionKeyValue) {
         if (StringUtils.isEmpty(partitionKeyValue)) {
             return PartitionKey.None;
         }
@@ -88,17 +102,44 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
     }
 
     /**
-     * batch save entities
+     * batch save entities, inserting the new ones and upserting the others in bulk
      *
      * @param entities
      * @param <S>
      * @return
+     * @throws CosmosDBAccessException if any entity failed to save, the others are saved
      */
     @Override
     public <S extends T> Iterable<S> saveAll(Iterable<S> entities) {
         Assert.notNull(entities, "Iterable entities should not be null");
 
-        entities.forEach(this::save);
+        final List<S> newEntities = new ArrayList<>();
+        final List<S> existingEntities = new ArrayList<>();
+
+        for (final S entity : entities) {
+            Assert.notNull(entity, "entity must not be null");
+
+            if (information.isNew(entity)) {
+                newEntities.add(entity);
+            } else {
+                existingEntities.add(entity);
+            }
+        }
+
+        final List<BulkWriteResult.ItemResult<S>> failures = new ArrayList<>();
+
+        if (!newEntities.isEmpty()) {
+            failures.addAll(operation.insertAll(information.getCollectionName(), newEntities).getFailures());
+        }
+
+        if (!existingEntities.isEmpty()) {
+            failures.addAll(operation.upsertAll(information.getCollectionName(), existingEntities).getFailures());
+        }
+
+        if (!failures.isEmpty()) {
+            throw new CosmosDBAccessException("Failed to save " + failures.size() + " of "
+                + (newEntities.size() + existingEntities.size()) + " entities", failures.get(0).getException());
+        }
 
         return entities;
     }
@@ -173,7 +214,7 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
     public void deleteById(ID id) {
         Assert.notNull(id, "id to be deleted should not be null");
 
-        operation.deleteById(information.getCollectionName(), id, null);
+        operation.deleteById(information.getCollectionName(), id, getIdPartitionKey(id));
     }
 
     @Override
@@ -193,7 +234,7 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
     public void delete(T entity) {
         Assert.notNull(entity, "entity to be deleted should not be null");
 
-        final String partitionKeyValue = information.getPartitionKeyFieldValue(entity);
+        final Object partitionKeyValue = information.getPartitionKeyFieldValue(entity);
 
         operation.deleteById(information.getCollectionName(),
                 information.getId(entity),
@@ -260,4 +301,27 @@ public class SimpleCosmosRepository<T, ID extends Serializable> implements Cosmo
 
         return operation.findAll(pageable, information.getJavaType(), information.getCollectionName());
     }
+
+    @Override
+    public <R> Optional<R> aggregate(@NonNull Aggregation aggregation, @NonNull Class<R> resultType) {
+        return Optional.ofNullable(operation.aggregate(allQuery(), information.getJavaType(), aggregation,
+            resultType, information.getCollectionName()));
+    }
+
+    @Override
+    public <K, R> Map<K, R> groupBy(@NonNull String property, @NonNull Class<K> keyType,
+                                    @NonNull Aggregation aggregation, @NonNull Class<R> resultType) {
+        return operation.groupBy(allQuery(), information.getJavaType(), property, keyType, aggregation, resultType,
+            information.getCollectionName());
+    }
+
+    @Override
+    public <V> List<V> findDistinct(@NonNull String property, @NonNull Class<V> valueType) {
+        return operation.distinct(allQuery(), information.getJavaType(), property, valueType,
+            information.getCollectionName());
+    }
+
+    private static DocumentQuery allQuery() {
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+    }
 }
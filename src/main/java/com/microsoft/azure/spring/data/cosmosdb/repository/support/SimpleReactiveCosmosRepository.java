@@ -8,6 +8,7 @@ package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 import com.azure.data.cosmos.CosmosContainerResponse;
 import com.azure.data.cosmos.PartitionKey;
 import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
 import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
@@ -22,6 +23,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.io.Serializable;
+import java.util.Map;
 
 public class SimpleReactiveCosmosRepository<T, K extends Serializable> implements ReactiveCosmosRepository<T, K> {
 
@@ -157,7 +159,7 @@ public class SimpleReactiveCosmosRepository<T, K extends Serializable> implement
     public Mono<Void> deleteById(K id) {
         Assert.notNull(id, "The given id must not be null!");
 
-        return cosmosOperations.deleteById(entityInformation.getCollectionName(), id, null);
+        return cosmosOperations.deleteById(entityInformation.getCollectionName(), id, getIdPartitionKey(id));
     }
 
     @Override
@@ -165,7 +167,7 @@ public class SimpleReactiveCosmosRepository<T, K extends Serializable> implement
         Assert.notNull(publisher, "Id must not be null!");
 
         return Mono.from(publisher).flatMap(id -> cosmosOperations.deleteById(entityInformation.getCollectionName(),
-            id, null)).then();
+            id, getIdPartitionKey(id))).then();
     }
 
     @Override
@@ -211,7 +213,39 @@ public class SimpleReactiveCosmosRepository<T, K extends Serializable> implement
             entityInformation.getPartitionKeyFieldName());
     }
 
-    private PartitionKey createKey(String partitionKeyValue) {
+    @Override
+    public <R> Mono<R> aggregate(@NonNull Aggregation aggregation, @NonNull Class<R> resultType) {
+        return cosmosOperations.aggregate(allQuery(), entityInformation.getJavaType(), aggregation, resultType,
+            entityInformation.getCollectionName());
+    }
+
+    @Override
+    public <G, R> Mono<Map<G, R>> groupBy(@NonNull String property, @NonNull Class<G> keyType,
+                                          @NonNull Aggregation aggregation, @NonNull Class<R> resultType) {
+        return cosmosOperations.groupBy(allQuery(), entityInformation.getJavaType(), property, keyType,
+            aggregation, resultType, entityInformation.getCollectionName());
+    }
+
+    @Override
+    public <V> Flux<V> findDistinct(@NonNull String property, @NonNull Class<V> valueType) {
+        return cosmosOperations.distinct(allQuery(), entityInformation.getJavaType(), property, valueType,
+            entityInformation.getCollectionName());
+    }
+
+    private static DocumentQuery allQuery() {
+        return new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+    }
+
+    /**
+     * The partition key of a document is known from its id alone when it is derived from the id.
+     */
+    private PartitionKey getIdPartitionKey(K id) {
+        final String partitionKeyValue = entityInformation.getIdPartitionKeyValue(id);
+
+        return partitionKeyValue == null ? null : new PartitionKey(partitionKeyValue);
+    }
+
+    private PartitionKey createKey(Object partitionKeyValue) {
         if (StringUtils.isEmpty(partitionKeyValue)) {
             return null;
         }
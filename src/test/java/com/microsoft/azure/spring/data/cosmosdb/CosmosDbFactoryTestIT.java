@@ -19,6 +19,7 @@ import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.COSM
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.COSMOSDB_INVALID_FAKE_CONNECTION_STRING;
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.DB_NAME;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @PropertySource(value = {"classpath:application.properties"})
 @RunWith(SpringJUnit4ClassRunner.class)
@@ -69,4 +70,17 @@ public class CosmosDbFactoryTestIT {
         final String uaSuffix = factory.getConfig().getConnectionPolicy().userAgentSuffix();
         assertThat(uaSuffix).contains("spring-data");
     }
+
+    @Test
+    public void testClientSharedUntilClosed() {
+        final CosmosDBConfig dbConfig =
+                CosmosDBConfig.builder(cosmosDbUri, cosmosDbKey, DB_NAME).build();
+        final CosmosDbFactory factory = new CosmosDbFactory(dbConfig);
+
+        assertThat(factory.getCosmosClient()).isSameAs(factory.getCosmosClient());
+
+        factory.destroy();
+
+        assertThatThrownBy(factory::getCosmosClient).isInstanceOf(IllegalStateException.class);
+    }
 }
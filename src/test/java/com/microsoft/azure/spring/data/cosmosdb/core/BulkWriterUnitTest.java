@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosClientException;
+import com.azure.data.cosmos.CosmosItemResponse;
+import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.internal.HttpConstants;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkWriterUnitTest {
+
+    private static final List<String> ENTITIES = Arrays.asList("a1", "b1", "a2", "b2", "a3");
+
+    private static final String FAILURE_MESSAGE = "Failed to insert item";
+
+    private static PartitionKey partitionKeyOf(String entity) {
+        return new PartitionKey(entity.substring(0, 1));
+    }
+
+    private static CosmosItemResponse response(double requestCharge) {
+        final CosmosItemResponse response = mock(CosmosItemResponse.class);
+
+        when(response.requestCharge()).thenReturn(requestCharge);
+        return response;
+    }
+
+    private static CosmosClientException exception(int statusCode) {
+        final CosmosClientException exception = mock(CosmosClientException.class);
+
+        when(exception.statusCode()).thenReturn(statusCode);
+        when(exception.retryAfterInMilliseconds()).thenReturn(1L);
+        return exception;
+    }
+
+    @Test
+    public void testWriteInOrderByPartition() {
+        final Map<String, PartitionKey> written = new ConcurrentHashMap<>();
+
+        final BulkWriteResult<String> result = BulkWriter.write(ENTITIES, BulkWriterUnitTest::partitionKeyOf,
+            (entity, partitionKey) -> {
+                written.put(entity, partitionKey);
+                return Mono.just(response(2));
+            }, (entity, response) -> entity.toUpperCase(), FAILURE_MESSAGE).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getEntities()).containsExactly("A1", "B1", "A2", "B2", "A3");
+        assertThat(result.getItems()).extracting(BulkWriteResult.ItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.getRequestCharge()).isEqualTo(10);
+        assertThat(written.get("a2")).isEqualTo(new PartitionKey("a"));
+        assertThat(written.get("b2")).isEqualTo(new PartitionKey("b"));
+    }
+
+    @Test
+    public void testRetryThrottledWrite() {
+        final AtomicInteger attempts = new AtomicInteger();
+
+        final BulkWriteResult<String> result = BulkWriter.write(ENTITIES.subList(0, 1),
+            BulkWriterUnitTest::partitionKeyOf,
+            (entity, partitionKey) -> attempts.incrementAndGet() < 3
+                ? Mono.error(exception(HttpConstants.StatusCodes.TOO_MANY_REQUESTS)) : Mono.just(response(1)),
+            (entity, response) -> entity, FAILURE_MESSAGE).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isSuccessful()).isTrue();
+        assertThat(result.getItems().get(0).getThrottledRetries()).isEqualTo(2);
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void testReportFailedAndSkippedWrites() {
+        final CosmosClientException conflict = exception(HttpConstants.StatusCodes.CONFLICT);
+
+        final BulkWriteResult<String> result = BulkWriter.write(ENTITIES, BulkWriterUnitTest::partitionKeyOf,
+            (entity, partitionKey) -> {
+                if ("b1".equals(entity)) {
+                    return Mono.error(conflict);
+                } else if ("a3".equals(entity)) {
+                    return Mono.empty();
+                }
+                return Mono.just(response(1));
+            }, (entity, response) -> entity, FAILURE_MESSAGE).block();
+
+        assertThat(result).isNotNull();
+        assertThat(result.isSuccessful()).isFalse();
+        assertThat(result.getFailures()).hasSize(1);
+        assertThat(result.getFailures().get(0).getEntity()).isEqualTo("b1");
+        assertThat(result.getFailures().get(0).getException()).hasMessageStartingWith(FAILURE_MESSAGE)
+                                                              .hasCause(conflict);
+        assertThat(result.getItems().get(4).isSuccessful()).isTrue();
+        assertThat(result.getEntities()).containsExactly("a1", "a2", "b2", "a3");
+        assertThat(result.getRequestCharge()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.AggregateQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CompactName;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Aggregation;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import lombok.Data;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ClientAggregationUnitTest {
+
+    private static final List<CosmosItemProperties> ITEMS = Arrays.asList(
+        new CosmosItemProperties("{\"groupKey\":\"Kim\",\"groupValue\":30}"),
+        new CosmosItemProperties("{\"groupKey\":\"Lee\",\"groupValue\":25.5}"),
+        new CosmosItemProperties("{\"groupKey\":\"Kim\",\"groupValue\":12}"),
+        new CosmosItemProperties("{\"groupKey\":\"Lee\"}"),
+        new CosmosItemProperties("{\"groupValue\":40}"));
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+    }
+
+    private <R> Map<String, R> groupByLastName(Aggregation aggregation, Class<R> resultType) {
+        final ClientAggregation clientAggregation = new ClientAggregation(
+            new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), "lastName", aggregation, converter,
+            Person.class);
+        final Map<Object, ClientAggregation.Accumulator> groups = new LinkedHashMap<>();
+
+        ITEMS.forEach(item -> clientAggregation.accumulate(groups, item));
+
+        return clientAggregation.toResult(groups, String.class, resultType);
+    }
+
+    @Test
+    public void testAggregateQueryPushedDown() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "lastName",
+            Collections.singletonList("Kim"));
+        final DocumentQuery query = new DocumentQuery(criteria);
+
+        assertThat(new AggregateQueryGenerator(converter, Person.class, Aggregation.sum("age"))
+            .generateCosmos(query).queryText())
+            .isEqualTo("SELECT VALUE SUM(r.age) FROM r WHERE r.lastName = @lastName ");
+        assertThat(new AggregateQueryGenerator(converter, Person.class, Aggregation.count())
+            .generateCosmos(query).queryText()).startsWith("SELECT VALUE COUNT(1) FROM r WHERE");
+    }
+
+    @Test
+    public void testGroupQuerySelectsAggregatedProperties() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+            .with(Sort.by("firstName"));
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, "lastName", Aggregation.max("age"), converter, Person.class);
+
+        assertThat(clientAggregation.getQuery().getSort().isUnsorted()).isTrue();
+        assertThat(new FindQuerySpecGenerator(converter, Person.class)
+            .generateCosmos(clientAggregation.getQuery()).queryText())
+            .startsWith("SELECT r[\"lastName\"] AS groupKey, r[\"age\"] AS groupValue FROM ROOT r");
+    }
+
+    @Test
+    public void testNestedPropertiesSelectedUnderAliases() {
+        final ClientAggregation clientAggregation = new ClientAggregation(
+            new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), "address.city",
+            Aggregation.count("owner.city"), converter, Person.class);
+
+        assertThat(new FindQuerySpecGenerator(converter, Person.class)
+            .generateCosmos(clientAggregation.getQuery()).queryText())
+            .startsWith("SELECT r[\"address\"][\"city\"] AS groupKey, r[\"owner\"][\"city\"] AS groupValue FROM");
+    }
+
+    @Test
+    public void testDefaultValuesOfCompactEntities() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL));
+
+        assertThat(new AggregateQueryGenerator(converter, Counter.class, Aggregation.avg("count"))
+            .generateCosmos(query).queryText())
+            .isEqualTo("SELECT VALUE AVG((IS_DEFINED(r.c) ? r.c : 0)) FROM r  ");
+
+        final ClientAggregation clientAggregation =
+            new ClientAggregation(query, "active", Aggregation.min("count"), converter, Counter.class);
+        final Map<Object, ClientAggregation.Accumulator> groups = new LinkedHashMap<>();
+
+        clientAggregation.accumulate(groups, new CosmosItemProperties("{\"groupKey\":true,\"groupValue\":3}"));
+        clientAggregation.accumulate(groups, new CosmosItemProperties("{\"groupKey\":true}"));
+        clientAggregation.accumulate(groups, new CosmosItemProperties("{\"groupValue\":5}"));
+
+        assertThat(clientAggregation.toResult(groups, Boolean.class, Integer.class))
+            .containsExactly(entry(true, 0), entry(false, 5));
+        assertThat(clientAggregation.toDistinctValues(groups, Boolean.class)).containsExactly(true, false);
+    }
+
+    @Test
+    public void testGroupsReducedOnClient() {
+        assertThat(groupByLastName(Aggregation.count(), Long.class))
+            .containsExactly(entry("Kim", 2L), entry("Lee", 2L), entry(null, 1L));
+        assertThat(groupByLastName(Aggregation.count("age"), Long.class))
+            .containsExactly(entry("Kim", 2L), entry("Lee", 1L), entry(null, 1L));
+        assertThat(groupByLastName(Aggregation.sum("age"), Double.class))
+            .containsExactly(entry("Kim", 42.0), entry("Lee", 25.5), entry(null, 40.0));
+        assertThat(groupByLastName(Aggregation.avg("age"), Double.class))
+            .containsExactly(entry("Kim", 21.0), entry("Lee", 25.5), entry(null, 40.0));
+        assertThat(groupByLastName(Aggregation.min("age"), Integer.class))
+            .containsExactly(entry("Kim", 12), entry("Lee", 25), entry(null, 40));
+        assertThat(groupByLastName(Aggregation.max("age"), Integer.class))
+            .containsExactly(entry("Kim", 30), entry("Lee", 25), entry(null, 40));
+    }
+
+    @Test
+    public void testDistinctValues() {
+        final ClientAggregation clientAggregation = new ClientAggregation(
+            new DocumentQuery(Criteria.getInstance(CriteriaType.ALL)), "lastName", Aggregation.count(), converter,
+            Person.class);
+        final Map<Object, ClientAggregation.Accumulator> groups = new LinkedHashMap<>();
+
+        ITEMS.forEach(item -> clientAggregation.accumulate(groups, item));
+
+        assertThat(clientAggregation.toDistinctValues(groups, String.class)).containsExactly("Kim", "Lee");
+    }
+
+    @Data
+    @Document(compact = true)
+    static class Counter {
+        @Id
+        private String id;
+        @CompactName("c")
+        private int count;
+        private boolean active;
+    }
+}
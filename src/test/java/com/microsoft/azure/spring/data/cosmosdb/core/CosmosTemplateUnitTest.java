@@ -6,16 +6,105 @@
 
 package com.microsoft.azure.spring.data.cosmosdb.core;
 
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.CosmosClient;
+import com.azure.data.cosmos.CosmosContainer;
+import com.azure.data.cosmos.CosmosDatabase;
+import com.azure.data.cosmos.CosmosItem;
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.CosmosItemRequestOptions;
+import com.azure.data.cosmos.CosmosItemResponse;
+import com.azure.data.cosmos.FeedOptions;
+import com.azure.data.cosmos.FeedResponse;
+import com.azure.data.cosmos.PartitionKey;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
 import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.config.CosmosDBConfig;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.QueryExplanation;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CosmosTemplateUnitTest {
 
+    private static final String CONTACTS = "contacts";
+
+    @Mock
+    private CosmosDbFactory cosmosDbFactory;
+
+    @Mock
+    private CosmosClient cosmosClient;
+
+    @Mock
+    private CosmosDatabase cosmosDatabase;
+
+    @Mock
+    private CosmosContainer cosmosContainer;
+
+    @Mock
+    private CosmosItem cosmosItem;
+
+    @Mock
+    private CosmosItemResponse cosmosItemResponse;
+
+    private CosmosTemplate createTemplate(CosmosDBConfig config) {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        when(cosmosDbFactory.getCosmosClient()).thenReturn(cosmosClient);
+        when(cosmosDbFactory.getConfig()).thenReturn(config);
+        when(cosmosClient.getDatabase(TestConstants.DB_NAME)).thenReturn(cosmosDatabase);
+        when(cosmosDatabase.getContainer(anyString())).thenReturn(cosmosContainer);
+
+        return new CosmosTemplate(cosmosDbFactory,
+            new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper()), TestConstants.DB_NAME);
+    }
+
+    private static CosmosDBConfig createConfig() {
+        return CosmosDBConfig.builder(TestConstants.COSMOSDB_FAKE_HOST, TestConstants.COSMOSDB_FAKE_KEY,
+            TestConstants.DB_NAME).build();
+    }
+
+    private static CosmosItemProperties item(String id, String firstName, boolean selectFirstName) {
+        return new CosmosItemProperties(selectFirstName ? String.format("{\"id\":\"%s\",\"firstName\":\"%s\"}",
+            id, firstName) : String.format("{\"id\":\"%s\"}", id));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void rejectNullDbFactory() {
         final CosmosDBConfig dbConfig = CosmosDBConfig.builder("", "", TestConstants.DB_NAME).build();
@@ -23,4 +112,180 @@ public class CosmosTemplateUnitTest {
 
         new CosmosTemplate(cosmosDbFactory, null, TestConstants.DB_NAME);
     }
+
+    @Test
+    public void testExplainWithoutQueryMetrics() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+        when(cosmosDbFactory.getCosmosClient()).thenReturn(cosmosClient);
+        when(cosmosDbFactory.getConfig()).thenReturn(CosmosDBConfig.builder(TestConstants.COSMOSDB_FAKE_HOST,
+            TestConstants.COSMOSDB_FAKE_KEY, TestConstants.DB_NAME).build());
+        final CosmosTemplate cosmosTemplate = new CosmosTemplate(cosmosDbFactory,
+            new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper()), TestConstants.DB_NAME);
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "lastName",
+            Collections.singletonList(Arrays.asList("Kim", "Lee"))));
+
+        final QueryExplanation explanation = cosmosTemplate.explain(query, Person.class);
+
+        assertThat(explanation.getQuerySpec().queryText())
+            .startsWith("SELECT * FROM ROOT r WHERE ARRAY_CONTAINS(@lastName, r.lastName)");
+        assertThat(explanation.isCrossPartition()).isFalse();
+        assertThat(explanation.getPartitionKeys()).containsExactly(new PartitionKey("Kim"), new PartitionKey("Lee"));
+        assertThat(explanation.getSampleExecution()).isNull();
+        verifyZeroInteractions(cosmosClient);
+    }
+
+    @Test
+    public void testFindByIdReadsCachedPartition() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+        final MappingCosmosConverter converter =
+            new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+        final CosmosDBConfig config = CosmosDBConfig.builder(TestConstants.COSMOSDB_FAKE_HOST,
+            TestConstants.COSMOSDB_FAKE_KEY, TestConstants.DB_NAME).build();
+        config.setPartitionKeyCacheSize(10);
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final PartitionKey partitionKey = new PartitionKey(TestConstants.LAST_NAME);
+
+        when(cosmosDbFactory.getCosmosClient()).thenReturn(cosmosClient);
+        when(cosmosDbFactory.getConfig()).thenReturn(config);
+        when(cosmosClient.getDatabase(TestConstants.DB_NAME)).thenReturn(cosmosDatabase);
+        when(cosmosDatabase.getContainer(anyString())).thenReturn(cosmosContainer);
+        when(cosmosContainer.getItem(TestConstants.ID_1, partitionKey)).thenReturn(cosmosItem);
+        when(cosmosItem.read()).thenReturn(Mono.just(cosmosItemResponse));
+        when(cosmosItemResponse.properties()).thenReturn(converter.writeCosmosItemProperties(person));
+        final CosmosTemplate cosmosTemplate = new CosmosTemplate(cosmosDbFactory, converter, TestConstants.DB_NAME);
+
+        assertThat(cosmosTemplate.findById(TestConstants.ID_1, Person.class, partitionKey)).isEqualTo(person);
+        assertThat(cosmosTemplate.findById(TestConstants.ID_1, Person.class)).isEqualTo(person);
+
+        verify(cosmosContainer, never()).queryItems(any(SqlQuerySpec.class), any());
+    }
+
+    @Test
+    public void testSortedProjectionMergedAcrossPartitions() {
+        final CosmosTemplate cosmosTemplate = createTemplate(createConfig());
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.IN, "lastName",
+            Collections.singletonList(Arrays.asList("Kim", "Lee"))))
+            .with(Sort.by("firstName"))
+            .project(Collections.singletonList("id"));
+
+        when(cosmosContainer.queryItems(any(SqlQuerySpec.class), any(FeedOptions.class))).thenAnswer(invocation -> {
+            final SqlQuerySpec querySpec = invocation.getArgument(0);
+            final FeedOptions options = invocation.getArgument(1);
+            // Documents only hold the selected properties, as returned by Cosmos DB.
+            final boolean selectFirstName =
+                querySpec.queryText().startsWith("SELECT r[\"id\"], r[\"firstName\"] FROM");
+            final List<CosmosItemProperties> items = options.partitionKey().equals(new PartitionKey("Kim")) ?
+                Arrays.asList(item("1", "Ann", selectFirstName), item("3", "Eve", selectFirstName)) :
+                Arrays.asList(item("2", "Bob", selectFirstName), item("4", "Zoe", selectFirstName));
+
+            return Flux.just(BridgeInternal.createFeedResponse(items, Collections.emptyMap()));
+        });
+
+        final List<String> ids = cosmosTemplate.find(query, Person.class, "person").stream()
+                                               .map(Person::getId)
+                                               .collect(Collectors.toList());
+
+        assertThat(ids).containsExactly("1", "2", "3", "4");
+        assertThat(query.getProjection()).containsExactly("id");
+    }
+
+    @Test
+    public void testFindByEmptyIds() {
+        final CosmosTemplate cosmosTemplate = createTemplate(createConfig());
+
+        assertThat(cosmosTemplate.findByIds(Collections.emptyList(), Person.class, "person")).isEmpty();
+        verify(cosmosContainer, never()).queryItems(any(SqlQuerySpec.class), any());
+    }
+
+    @Test
+    public void testFindByIdsInChunks() {
+        final CosmosTemplate cosmosTemplate = createTemplate(createConfig());
+        final List<String> ids = IntStream.range(0, Constants.DEFAULT_IN_QUERY_CHUNK_SIZE * 2 + 500)
+                                          .mapToObj(String::valueOf)
+                                          .collect(Collectors.toList());
+        final List<String> requestedIds = Collections.synchronizedList(new ArrayList<>());
+
+        when(cosmosContainer.queryItems(any(SqlQuerySpec.class), any(FeedOptions.class))).thenAnswer(invocation -> {
+            final SqlQuerySpec querySpec = invocation.getArgument(0);
+            final List<String> chunk = ((List<?>) querySpec.parameters().get(0).value(List.class)).stream()
+                                                                                     .map(String::valueOf)
+                                                                                     .collect(Collectors.toList());
+            final List<CosmosItemProperties> items = chunk.stream()
+                                                          .map(id -> item(id, "Ann", true))
+                                                          .collect(Collectors.toList());
+            final Flux<FeedResponse<CosmosItemProperties>> response =
+                Flux.just(BridgeInternal.createFeedResponse(items, Collections.emptyMap()));
+
+            requestedIds.addAll(chunk);
+            // The first chunk completes last, the results still follow the order of the chunks.
+            return chunk.contains("0") ? response.delayElements(Duration.ofMillis(100)) : response;
+        });
+
+        final List<String> foundIds = cosmosTemplate.findByIds(ids, Person.class, "person").stream()
+                                                    .map(Person::getId)
+                                                    .collect(Collectors.toList());
+
+        verify(cosmosContainer, times(3)).queryItems(any(SqlQuerySpec.class), any(FeedOptions.class));
+        assertThat(requestedIds).hasSameSizeAs(ids).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(foundIds).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    public void testSaveAfterWriteByReactiveTemplate() {
+        final CosmosDBConfig config = createConfig();
+        config.setDirtyTracking(true);
+        final CosmosTemplate cosmosTemplate = createTemplate(config);
+        final MappingCosmosConverter converter = cosmosTemplate.getConverter();
+        final ReactiveCosmosTemplate reactiveTemplate =
+            new ReactiveCosmosTemplate(cosmosDbFactory, converter, TestConstants.DB_NAME);
+        final Contact read = new Contact(TestConstants.ID_1, "v1");
+        final CosmosItemResponse upsertResponse = mock(CosmosItemResponse.class);
+
+        when(cosmosContainer.getItem(TestConstants.ID_1, PartitionKey.None)).thenReturn(cosmosItem);
+        when(cosmosItem.read()).thenReturn(Mono.just(cosmosItemResponse));
+        when(cosmosItemResponse.properties()).thenReturn(converter.writeCosmosItemProperties(read));
+        when(cosmosContainer.upsertItem(any(), any(CosmosItemRequestOptions.class)))
+            .thenReturn(Mono.just(upsertResponse));
+        when(upsertResponse.properties())
+            .thenReturn(converter.writeCosmosItemProperties(new Contact(TestConstants.ID_1, "v2")));
+
+        assertThat(cosmosTemplate.findById(CONTACTS, TestConstants.ID_1, Contact.class)).isEqualTo(read);
+        reactiveTemplate.upsert(CONTACTS, new Contact(TestConstants.ID_1, "v2"), null).block();
+        cosmosTemplate.upsert(CONTACTS, read, null);
+
+        verify(cosmosContainer, times(2)).upsertItem(any(), any(CosmosItemRequestOptions.class));
+    }
+
+    @Test
+    public void testSaveOfUnchangedVersionedEntity() {
+        final CosmosDBConfig config = createConfig();
+        config.setDirtyTracking(true);
+        final CosmosTemplate cosmosTemplate = createTemplate(config);
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final PartitionKey partitionKey = new PartitionKey(TestConstants.LAST_NAME);
+
+        when(cosmosContainer.getItem(TestConstants.ID_1, partitionKey)).thenReturn(cosmosItem);
+        when(cosmosItem.read()).thenReturn(Mono.just(cosmosItemResponse));
+        when(cosmosItemResponse.properties())
+            .thenReturn(cosmosTemplate.getConverter().writeCosmosItemProperties(person));
+        when(cosmosContainer.upsertItem(any(), any(CosmosItemRequestOptions.class)))
+            .thenReturn(Mono.just(cosmosItemResponse));
+
+        final Person read = cosmosTemplate.findById(TestConstants.ID_1, Person.class, partitionKey);
+        cosmosTemplate.upsert(read, partitionKey);
+
+        verify(cosmosContainer).upsertItem(any(), any(CosmosItemRequestOptions.class));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class Contact {
+        private String id;
+        private String name;
+    }
 }
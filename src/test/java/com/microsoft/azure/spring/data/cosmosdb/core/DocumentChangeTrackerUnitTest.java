@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.CosmosDbFactory;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class DocumentChangeTrackerUnitTest {
+
+    private static final String CONTAINER = "person";
+
+    private MappingCosmosConverter converter;
+
+    private DocumentChangeTracker tracker;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+        tracker = new DocumentChangeTracker(2);
+    }
+
+    @Test
+    public void testUnchangedDocument() {
+        final byte[] digest = digest(createPerson(TestConstants.ID_1, TestConstants.FIRST_NAME));
+        tracker.track(CONTAINER, TestConstants.ID_1, digest);
+
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_1,
+            digest(createPerson(TestConstants.ID_1, TestConstants.FIRST_NAME)))).isTrue();
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_1,
+            digest(createPerson(TestConstants.ID_1, TestConstants.NEW_FIRST_NAME)))).isFalse();
+        assertThat(tracker.isUnchanged("other", TestConstants.ID_1, digest)).isFalse();
+    }
+
+    @Test
+    public void testUntrack() {
+        final byte[] digest = digest(createPerson(TestConstants.ID_1, TestConstants.FIRST_NAME));
+        tracker.track(CONTAINER, TestConstants.ID_1, digest);
+        tracker.track(CONTAINER, TestConstants.ID_2, digest);
+
+        tracker.untrack(CONTAINER, TestConstants.ID_1);
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_1, digest)).isFalse();
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_2, digest)).isTrue();
+
+        tracker.untrackAll(CONTAINER);
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_2, digest)).isFalse();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        final byte[] digest = digest(createPerson(TestConstants.ID_1, TestConstants.FIRST_NAME));
+        tracker.track(CONTAINER, TestConstants.ID_1, digest);
+        tracker.track(CONTAINER, TestConstants.ID_2, digest);
+
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_1, digest)).isTrue();
+        tracker.track(CONTAINER, TestConstants.ID_3, digest);
+
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_1, digest)).isTrue();
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_2, digest)).isFalse();
+        assertThat(tracker.isUnchanged(CONTAINER, TestConstants.ID_3, digest)).isTrue();
+    }
+
+    @Test
+    public void testReadDocumentUnchanged() throws Exception {
+        final CosmosItemProperties written = converter.writeCosmosItemProperties(
+            createPerson(TestConstants.ID_1, TestConstants.FIRST_NAME));
+        final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        final ObjectNode writtenNode = (ObjectNode) objectMapper.readTree(written.toJson());
+        final List<String> names = new ArrayList<>();
+        writtenNode.fieldNames().forEachRemaining(names::add);
+        Collections.reverse(names);
+
+        // Documents read hold the system properties, and their properties may come in another order.
+        final ObjectNode readNode = objectMapper.createObjectNode().put("_rid", "rid").put("_ts", 1);
+        names.forEach(name -> readNode.set(name, writtenNode.get(name)));
+        readNode.put("_etag", "\"etag\"");
+
+        assertThat(tracker.digest(new CosmosItemProperties(objectMapper.writeValueAsString(readNode))))
+            .isEqualTo(tracker.digest(written));
+    }
+
+    private byte[] digest(Person person) {
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(person);
+
+        return tracker.digest(document);
+    }
+
+    private static Person createPerson(String id, String firstName) {
+        return new Person(id, firstName, TestConstants.LAST_NAME, TestConstants.HOBBIES, TestConstants.ADDRESSES);
+    }
+
+    @Test
+    public void testTrackerSharedByFactory() {
+        final CosmosDbFactory factory = mock(CosmosDbFactory.class);
+
+        assertThat(DocumentChangeTracker.of(factory)).isSameAs(DocumentChangeTracker.of(factory))
+                                                   .isNotSameAs(DocumentChangeTracker.of(mock(CosmosDbFactory.class)));
+    }
+}
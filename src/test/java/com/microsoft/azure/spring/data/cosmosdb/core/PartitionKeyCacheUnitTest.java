@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionKeyCacheUnitTest {
+
+    private static final String CONTAINER = "person";
+
+    private final PartitionKeyCache cache = new PartitionKeyCache(2);
+
+    @Test
+    public void testCachedPartitionKey() {
+        cache.put(CONTAINER, TestConstants.ID_1, TestConstants.LAST_NAME);
+        cache.put(CONTAINER, TestConstants.ID_2, null);
+
+        assertThat(cache.get(CONTAINER, TestConstants.ID_1)).isEqualTo(new PartitionKey(TestConstants.LAST_NAME));
+        assertThat(cache.get(CONTAINER, TestConstants.ID_2)).isNull();
+        assertThat(cache.get("other", TestConstants.ID_1)).isNull();
+    }
+
+    @Test
+    public void testEvict() {
+        cache.put(CONTAINER, TestConstants.ID_1, TestConstants.LAST_NAME);
+        cache.put(CONTAINER, TestConstants.ID_2, TestConstants.LAST_NAME);
+
+        cache.evict(CONTAINER, TestConstants.ID_1);
+        assertThat(cache.get(CONTAINER, TestConstants.ID_1)).isNull();
+        assertThat(cache.get(CONTAINER, TestConstants.ID_2)).isNotNull();
+
+        cache.evictAll(CONTAINER);
+        assertThat(cache.get(CONTAINER, TestConstants.ID_2)).isNull();
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        cache.put(CONTAINER, TestConstants.ID_1, TestConstants.LAST_NAME);
+        cache.put(CONTAINER, TestConstants.ID_2, TestConstants.LAST_NAME);
+
+        assertThat(cache.get(CONTAINER, TestConstants.ID_1)).isNotNull();
+        cache.put(CONTAINER, TestConstants.ID_3, TestConstants.LAST_NAME);
+
+        assertThat(cache.get(CONTAINER, TestConstants.ID_1)).isNotNull();
+        assertThat(cache.get(CONTAINER, TestConstants.ID_2)).isNull();
+        assertThat(cache.get(CONTAINER, TestConstants.ID_3)).isNotNull();
+    }
+}
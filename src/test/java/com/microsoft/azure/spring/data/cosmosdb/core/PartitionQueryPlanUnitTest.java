@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.FeedOptions;
+import com.azure.data.cosmos.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.repository.support.CosmosEntityInformation;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionQueryPlanUnitTest {
+
+    private static final String PARTITION_KEY = "lastName";
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+    }
+
+    private PartitionQueryPlan plan(DocumentQuery query, int fanOutLimit) {
+        return PartitionQueryPlan.of(query, new CosmosEntityInformation<>(Person.class), converter, fanOutLimit);
+    }
+
+    private static Criteria lastNameIn(String... lastNames) {
+        return Criteria.getInstance(CriteriaType.IN, PARTITION_KEY,
+            Collections.singletonList(Arrays.asList(lastNames)));
+    }
+
+    private static CosmosItemProperties item(String id, int age) {
+        return new CosmosItemProperties(String.format("{\"id\":\"%s\",\"age\":%d}", id, age));
+    }
+
+    @Test
+    public void testSinglePartitionPinned() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.AND, lastNameIn("Kim", "Lee"),
+            Criteria.getInstance(CriteriaType.IS_EQUAL, PARTITION_KEY, Collections.singletonList("Lee")));
+        final PartitionQueryPlan plan = plan(new DocumentQuery(criteria), 10);
+
+        assertThat(plan.getSinglePartitionKey()).contains(new PartitionKey("Lee"));
+
+        final List<FeedOptions> options = plan.getFeedOptions(new FeedOptions().enableCrossPartitionQuery(true));
+        assertThat(options).hasSize(1);
+        assertThat(options.get(0).partitionKey()).isEqualTo(new PartitionKey("Lee"));
+        assertThat(options.get(0).enableCrossPartitionQuery()).isFalse();
+    }
+
+    @Test
+    public void testFewPartitionsFannedOut() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.OR, lastNameIn("Kim", "Lee"),
+            Criteria.getInstance(CriteriaType.IS_EQUAL, PARTITION_KEY, Collections.singletonList("Park")));
+        final PartitionQueryPlan plan = plan(new DocumentQuery(criteria), 10);
+
+        final List<PartitionKey> partitionKeys = plan.getFeedOptions(new FeedOptions()).stream()
+                                                     .map(FeedOptions::partitionKey)
+                                                     .collect(Collectors.toList());
+
+        assertThat(plan.isCrossPartition()).isFalse();
+        assertThat(plan.getSinglePartitionKey()).isEmpty();
+        assertThat(partitionKeys).containsExactly(new PartitionKey("Kim"), new PartitionKey("Lee"),
+            new PartitionKey("Park"));
+    }
+
+    @Test
+    public void testUnboundedOrManyPartitionsCrossPartition() {
+        final Criteria unbounded = Criteria.getInstance(CriteriaType.OR, lastNameIn("Kim"),
+            Criteria.getInstance(CriteriaType.IS_EQUAL, "firstName", Collections.singletonList("Lee")));
+
+        assertThat(plan(new DocumentQuery(unbounded), 10).isCrossPartition()).isTrue();
+        assertThat(plan(new DocumentQuery(lastNameIn("Kim", "Lee", "Park")), 2).isCrossPartition()).isTrue();
+    }
+
+    @Test
+    public void testContradictingCriteriaReadNoPartition() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.AND, lastNameIn("Kim"), lastNameIn("Lee"));
+        final PartitionQueryPlan plan = plan(new DocumentQuery(criteria), 10);
+
+        assertThat(plan.getFeedOptions(new FeedOptions())).isEmpty();
+        assertThat(plan.merge(Collections.emptyList()).collectList().block()).isEmpty();
+    }
+
+    @Test
+    public void testSortedResultsMerged() {
+        final DocumentQuery query = new DocumentQuery(lastNameIn("Kim", "Lee"))
+            .with(Sort.by(Sort.Direction.DESC, "age"));
+        final PartitionQueryPlan plan = plan(query, 10);
+
+        final List<String> ids = plan.merge(Arrays.asList(Flux.just(item("1", 50), item("2", 20)),
+            Flux.just(item("3", 40), item("4", 30), item("5", 10))))
+                                     .map(CosmosItemProperties::id)
+                                     .collectList()
+                                     .block();
+
+        assertThat(ids).containsExactly("1", "3", "4", "2", "5");
+    }
+
+    @Test
+    public void testSortPropertiesProjectedWhenMerged() {
+        final DocumentQuery query = new DocumentQuery(lastNameIn("Kim", "Lee"))
+            .with(Sort.by("firstName", "shippingAddresses.city"))
+            .project(Arrays.asList("id", "firstName"));
+
+        final DocumentQuery projected = plan(query, 10).projectSortProperties(query);
+
+        assertThat(projected.getProjection()).containsExactly("id", "firstName", "shippingAddresses");
+        assertThat(projected.getSort()).isEqualTo(query.getSort());
+        assertThat(query.getProjection()).containsExactly("id", "firstName");
+
+        final DocumentQuery singlePartition = new DocumentQuery(lastNameIn("Kim")).with(Sort.by("firstName"))
+                                                                                  .project(Arrays.asList("id"));
+
+        assertThat(plan(singlePartition, 10).projectSortProperties(singlePartition).getProjection())
+            .containsExactly("id");
+    }
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CompactName;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.MappingException;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompactDocumentUnitTest {
+
+    private CosmosMappingContext mappingContext;
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setup() {
+        mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+    }
+
+    @Test
+    public void shouldWriteShortNamesWithoutNullValues() {
+        final Order order = new Order("order-1", "Alice", null, 0, false, 3);
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(order);
+
+        assertThat(document.id()).isEqualTo("order-1");
+        assertThat(document.getString("c")).isEqualTo("Alice");
+        assertThat(document.getInt("q")).isEqualTo(3);
+        assertThat(document.has("orderId")).isFalse();
+        assertThat(document.has("customerName")).isFalse();
+        assertThat(document.has("comment")).isFalse();
+        assertThat(document.getInt("d")).isEqualTo(0);
+        assertThat(document.getBoolean("shipped")).isFalse();
+    }
+
+    @Test
+    public void shouldReadCompactDocument() {
+        final Order order = new Order("order-1", "Alice", null, 0, false, 3);
+
+        final Order read = converter.read(Order.class, converter.writeCosmosItemProperties(order));
+
+        assertThat(read).isEqualTo(order);
+    }
+
+    @Test
+    public void shouldQueryStoredNames() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "customerName",
+            Collections.singletonList("Alice"));
+        final DocumentQuery query = new DocumentQuery(criteria).with(Sort.by("quantity"))
+                                                               .project(Arrays.asList("id", "customerName"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator(converter, Order.class).generateCosmos(query);
+
+        assertThat(querySpec.queryText())
+            .isEqualTo("SELECT r[\"id\"], r[\"c\"] FROM ROOT r WHERE r.c = @c ORDER BY r.q ASC");
+    }
+
+    @Test
+    public void shouldMatchOmittedNullValues() {
+        final Criteria discount = Criteria.getInstance(CriteriaType.IS_EQUAL, "discount",
+            Collections.singletonList(0));
+        final Criteria comment = Criteria.getInstance(CriteriaType.IS_NULL, "comment", Collections.emptyList());
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.AND, discount, comment));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator(converter, Order.class).generateCosmos(query);
+
+        assertThat(querySpec.queryText()).isEqualTo("SELECT * FROM ROOT r WHERE r.d = @d "
+            + "AND (NOT IS_DEFINED(r.comment) OR IS_NULL(r.comment)) ");
+    }
+
+    @Test
+    public void shouldMatchEqualToNullWhenOmitted() {
+        assertThat(generateWhere(CriteriaType.IS_EQUAL, "comment", (Object) null))
+            .isEqualTo("(NOT IS_DEFINED(r.comment) OR r.comment = @comment)");
+    }
+
+    @Test
+    public void shouldNotMatchOmittedValuesWithIsNotNull() {
+        assertThat(generateWhere(CriteriaType.IS_NOT_NULL, "comment"))
+            .isEqualTo("(IS_DEFINED(r.comment) AND NOT IS_NULL(r.comment))");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithNot() {
+        assertThat(generateWhere(CriteriaType.NOT, "discount", 5)).isEqualTo("r.d <> @d");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithLessThan() {
+        assertThat(generateWhere(CriteriaType.LESS_THAN, "discount", 5)).isEqualTo("r.d < @d");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithLessThanEqual() {
+        assertThat(generateWhere(CriteriaType.LESS_THAN_EQUAL, "discount", 0)).isEqualTo("r.d <= @d");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithGreaterThanEqual() {
+        assertThat(generateWhere(CriteriaType.GREATER_THAN_EQUAL, "discount", -1)).isEqualTo("r.d >= @d");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithBetween() {
+        assertThat(generateWhere(CriteriaType.BETWEEN, "discount", -1, 1)).isEqualTo("(r.d BETWEEN @start AND @end)");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithIn() {
+        assertThat(generateWhere(CriteriaType.IN, "shipped", Arrays.asList(false, true)))
+            .isEqualTo("ARRAY_CONTAINS(@shipped, r.shipped)");
+    }
+
+    @Test
+    public void shouldMatchStoredDefaultValuesWithFalse() {
+        assertThat(generateWhere(CriteriaType.FALSE, "shipped")).isEqualTo("r.shipped = false");
+    }
+
+    @Test
+    public void shouldSortStoredDefaultValues() {
+        final Order order = new Order("order-1", "Alice", null, 0, false, 0);
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+            .with(Sort.by("quantity"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator(converter, Order.class).generateCosmos(query);
+
+        assertThat(querySpec.queryText()).isEqualTo("SELECT * FROM ROOT r  ORDER BY r.q ASC");
+        assertThat(converter.writeCosmosItemProperties(order).getInt("q")).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldKeepPartitionKey() {
+        final CosmosItemProperties shard = converter.writeCosmosItemProperties(new ShardedOrder("order-1", 0, "Alice"));
+        final CosmosItemProperties tenant = converter.writeCosmosItemProperties(new TenantOrder("order-1", null));
+
+        assertThat(shard.getInt("shard")).isEqualTo(0);
+        assertThat(tenant.has("tenant")).isTrue();
+        assertThat(tenant.get("tenant")).isNull();
+        assertThat(converter.read(ShardedOrder.class, shard)).isEqualTo(new ShardedOrder("order-1", 0, "Alice"));
+    }
+
+    @Test(expected = MappingException.class)
+    public void shouldRejectCompactNameOnId() {
+        mappingContext.getPersistentEntity(CompactId.class);
+    }
+
+    private String generateWhere(CriteriaType type, String subject, Object... values) {
+        final Criteria criteria = Criteria.getInstance(type, subject, Arrays.asList(values));
+        final String queryText = new FindQuerySpecGenerator(converter, Order.class)
+            .generateCosmos(new DocumentQuery(criteria)).queryText();
+
+        return queryText.substring("SELECT * FROM ROOT r WHERE ".length()).trim();
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document(compact = true)
+    static class Order {
+        @Id
+        private String orderId;
+        @CompactName("c")
+        private String customerName;
+        private String comment;
+        @CompactName("d")
+        private int discount;
+        private boolean shipped;
+        @CompactName("q")
+        private int quantity;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document(compact = true)
+    static class ShardedOrder {
+        @Id
+        private String id;
+        @PartitionKey
+        private int shard;
+        @CompactName("c")
+        private String customerName;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document(compact = true)
+    static class TenantOrder {
+        @Id
+        private String id;
+        @PartitionKey
+        private String tenant;
+    }
+
+    @Data
+    @Document(compact = true)
+    static class CompactId {
+        @Id
+        @CompactName("i")
+        private String id;
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CompressedPropertyCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.DeflateCompressionCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.GzipCompressionCodec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Compressed;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mapping.MappingException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompressedPropertyCodecUnitTest {
+
+    private static final String LARGE_TEXT = String.join(" ", Collections.nCopies(500, "lorem ipsum"));
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private CosmosMappingContext mappingContext;
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setup() {
+        mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, objectMapper);
+    }
+
+    @Test
+    public void shouldCompressLargeValues() throws IOException {
+        final Article article = new Article("id", LARGE_TEXT, LARGE_TEXT.getBytes(StandardCharsets.UTF_8), "short");
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(article);
+        final JsonNode stored = objectMapper.readTree(document.toJson());
+
+        assertThat(stored.get("body").get(CompressedPropertyCodec.CODEC_FIELD_NAME).asText())
+            .isEqualTo(GzipCompressionCodec.NAME);
+        assertThat(stored.get("attachment").get(CompressedPropertyCodec.CODEC_FIELD_NAME).asText())
+            .isEqualTo(DeflateCompressionCodec.NAME);
+        assertThat(stored.get("summary").asText()).isEqualTo("short");
+        assertThat(document.toJson().length()).isLessThan(LARGE_TEXT.length());
+    }
+
+    @Test
+    public void shouldReadCompressedValues() {
+        final Article article = new Article("id", LARGE_TEXT, LARGE_TEXT.getBytes(StandardCharsets.UTF_8), "short");
+
+        final CosmosItemProperties document = new CosmosItemProperties(
+            converter.writeCosmosItemProperties(article).toJson());
+
+        assertThat(converter.read(Article.class, document)).isEqualTo(article);
+    }
+
+    @Test
+    public void shouldKeepValuesBelowThreshold() {
+        final Article article = new Article("id", "text", "data".getBytes(StandardCharsets.UTF_8), null);
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(article);
+
+        assertThat(document.getString("body")).isEqualTo("text");
+        assertThat(converter.read(Article.class, document)).isEqualTo(article);
+    }
+
+    @Test
+    public void shouldReadValuesCompressedByOtherCodec() throws IOException {
+        final byte[] attachment = LARGE_TEXT.getBytes(StandardCharsets.UTF_8);
+        final ObjectNode document = objectMapper.createObjectNode();
+        final ObjectNode compressed = document.putObject("attachment");
+
+        document.put("id", "id");
+        compressed.put(CompressedPropertyCodec.CODEC_FIELD_NAME, GzipCompressionCodec.NAME);
+        compressed.put(CompressedPropertyCodec.DATA_FIELD_NAME, new GzipCompressionCodec().compress(attachment));
+
+        final Article article = converter.read(Article.class, new CosmosItemProperties(document.toString()));
+
+        assertThat(article.getAttachment()).isEqualTo(attachment);
+    }
+
+    @Test
+    public void shouldCompressBase64TextOfBinaryValues() throws IOException {
+        final byte[] attachment = LARGE_TEXT.getBytes(StandardCharsets.UTF_8);
+        final CosmosPersistentEntity<?> entity = mappingContext.getPersistentEntity(Article.class);
+        final CompressedPropertyCodec codec = new CompressedPropertyCodec(objectMapper);
+        final ObjectNode document = objectMapper.createObjectNode();
+
+        document.put("attachment", Base64Variants.getDefaultVariant().encode(attachment));
+
+        final ObjectNode compressed = codec.compress(entity, document);
+        final byte[] data = compressed.get("attachment").get(CompressedPropertyCodec.DATA_FIELD_NAME).binaryValue();
+
+        assertThat(new DeflateCompressionCodec().decompress(data)).isEqualTo(attachment);
+        assertThat(codec.decompress(entity, compressed).get("attachment").binaryValue()).isEqualTo(attachment);
+    }
+
+    @Test(expected = MappingException.class)
+    public void shouldRejectUnsupportedPropertyType() {
+        converter.writeCosmosItemProperties(new Counter("id", 1));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Article {
+        private String id;
+        @Compressed
+        private String body;
+        @Compressed(codec = DeflateCompressionCodec.class, threshold = 512)
+        private byte[] attachment;
+        @Compressed
+        private String summary;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Counter {
+        private String id;
+        @Compressed
+        private int count;
+    }
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosCustomConversions;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosCustomConversionsUnitTest {
+
+    private static final long EPOCH_MILLIS = 1_539_011_167_992L;
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setup() {
+        final CosmosCustomConversions conversions = new CosmosCustomConversions(Arrays.asList(
+            TemperatureToDoubleConverter.INSTANCE, DoubleToTemperatureConverter.INSTANCE));
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+        converter.setCustomConversions(conversions);
+    }
+
+    @Test
+    public void shouldConvertValuesWithStoreConverters() {
+        final UUID uuid = UUID.randomUUID();
+        final ZonedDateTime dateTime = ZonedDateTime.of(2018, 10, 8, 15, 6, 7, 992000000, ZoneId.of("UTC"));
+
+        assertThat(converter.convertToCosmosDbValue(new Date(EPOCH_MILLIS))).isEqualTo(EPOCH_MILLIS);
+        assertThat(converter.convertToCosmosDbValue(Instant.ofEpochMilli(EPOCH_MILLIS))).isEqualTo(1_539_011_167.992);
+        assertThat(converter.convertToCosmosDbValue(dateTime)).isEqualTo("2018-10-08T15:06:07:992Z");
+        assertThat(converter.convertToCosmosDbValue(Importance.HIGH)).isEqualTo(Importance.HIGH.toString());
+        assertThat(converter.convertToCosmosDbValue(uuid)).isEqualTo(uuid.toString());
+        assertThat(converter.convertToCosmosDbValue(new BigDecimal("1.5"))).isEqualTo(1.5d);
+        assertThat(converter.convertToCosmosDbValue("value")).isEqualTo("value");
+        assertThat(converter.convertToCosmosDbValue(1)).isEqualTo(1);
+        assertThat(converter.convertToCosmosDbValue(null)).isNull();
+    }
+
+    @Test
+    public void userConvertersShouldTakePrecedence() {
+        final MappingCosmosConverter instantConverter = new MappingCosmosConverter(new CosmosMappingContext(), null);
+
+        instantConverter.setCustomConversions(new CosmosCustomConversions(
+            Collections.singletonList(InstantToStringConverter.INSTANCE)));
+
+        assertThat(instantConverter.convertToCosmosDbValue(Instant.ofEpochMilli(EPOCH_MILLIS)))
+            .isEqualTo(Instant.ofEpochMilli(EPOCH_MILLIS).toString());
+    }
+
+    @Test
+    public void shouldApplyUserConvertersToDocuments() {
+        final Measurement measurement = new Measurement("id", new Temperature(21.5));
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(measurement);
+        final Measurement read = converter.read(Measurement.class, document);
+
+        assertThat(document.getDouble("temperature")).isEqualTo(21.5);
+        assertThat(read).isEqualTo(measurement);
+    }
+
+    @Test
+    public void shouldApplyUserConvertersToQueryParameters() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "temperature",
+            Collections.singletonList(new Temperature(21.5)));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator(converter).generateCosmos(
+            new DocumentQuery(criteria));
+
+        assertThat(querySpec.parameters().get(0).value(Double.class)).isEqualTo(21.5);
+    }
+
+    @Test
+    public void shouldBindInstantAsStoredInDocuments() {
+        final Instant createdAt = Instant.ofEpochSecond(1_539_011_167L, 992_123_456);
+        final Event event = new Event("id", createdAt);
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "createdAt",
+            Collections.singletonList(createdAt));
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(event);
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator(converter).generateCosmos(
+            new DocumentQuery(criteria));
+
+        assertThat(document.getDouble("createdAt"))
+            .isEqualTo(querySpec.parameters().get(0).value(Double.class));
+        assertThat(converter.read(Event.class, document)).isEqualTo(event);
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Event {
+        private String id;
+        private Instant createdAt;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class Temperature {
+        private double celsius;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Measurement {
+        private String id;
+        private Temperature temperature;
+    }
+
+    @WritingConverter
+    enum TemperatureToDoubleConverter implements Converter<Temperature, Double> {
+        INSTANCE;
+
+        @Override
+        public Double convert(Temperature source) {
+            return source.getCelsius();
+        }
+    }
+
+    @ReadingConverter
+    enum DoubleToTemperatureConverter implements Converter<Double, Temperature> {
+        INSTANCE;
+
+        @Override
+        public Temperature convert(Double source) {
+            return new Temperature(source);
+        }
+    }
+
+    @WritingConverter
+    enum InstantToStringConverter implements Converter<Instant, String> {
+        INSTANCE;
+
+        @Override
+        public String convert(Instant source) {
+            return source.toString();
+        }
+    }
+}
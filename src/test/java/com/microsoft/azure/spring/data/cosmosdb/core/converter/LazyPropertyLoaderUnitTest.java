@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.LazyPropertyLoader;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.LazyProperty;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.MappingStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mapping.MappingException;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LazyPropertyLoaderUnitTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setup() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, objectMapper);
+    }
+
+    @Test
+    public void shouldParseLazyPropertiesOnFirstAccess() {
+        final Shipment shipment = createShipment();
+
+        final Shipment read = converter.read(Shipment.class, converter.writeCosmosItemProperties(shipment));
+
+        assertThat(read.getCarrier()).isEqualTo("carrier");
+        assertThat(LazyPropertyLoader.isLoaded(read.getItems())).isFalse();
+        assertThat(LazyPropertyLoader.isLoaded(read.getDimensions())).isFalse();
+
+        assertThat(read.getItems()).hasSize(2);
+        assertThat(read.getItems().get(1).getName()).isEqualTo("lamp");
+        assertThat(LazyPropertyLoader.isLoaded(read.getItems())).isTrue();
+        assertThat(LazyPropertyLoader.isLoaded(read.getDimensions())).isFalse();
+
+        assertThat(read.getDimensions().getWeight()).isEqualTo(12.5);
+        assertThat(read).isEqualTo(shipment);
+    }
+
+    @Test
+    public void shouldWriteUnloadedPropertiesFromDocument() throws IOException {
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(createShipment());
+
+        final Shipment read = converter.read(Shipment.class, document);
+        final CosmosItemProperties written = converter.writeCosmosItemProperties(read);
+
+        assertThat(LazyPropertyLoader.isLoaded(read.getItems())).isFalse();
+        assertThat(objectMapper.readTree(written.toJson())).isEqualTo(objectMapper.readTree(document.toJson()));
+    }
+
+    @Test
+    public void shouldReadLazyPropertiesByPersistentEntity() {
+        final Parcel parcel = new Parcel("id", Arrays.asList(new Item("book", 2)));
+
+        final Parcel read = converter.read(Parcel.class, converter.writeCosmosItemProperties(parcel));
+
+        assertThat(LazyPropertyLoader.isLoaded(read.getItems())).isFalse();
+        assertThat(read).isEqualTo(parcel);
+    }
+
+    @Test(expected = MappingException.class)
+    public void shouldRejectFinalPropertyType() {
+        final Label label = new Label("id", "text");
+
+        converter.read(Label.class, converter.writeCosmosItemProperties(label));
+    }
+
+    private static Shipment createShipment() {
+        return new Shipment("id", "carrier", Arrays.asList(new Item("book", 2), new Item("lamp", 1)),
+            new Dimensions(10, 20, 12.5));
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Shipment {
+        private String id;
+        private String carrier;
+        @LazyProperty
+        private List<Item> items;
+        @LazyProperty
+        private Dimensions dimensions;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document(mappingStrategy = MappingStrategy.PERSISTENT_ENTITY)
+    static class Parcel {
+        private String id;
+        @LazyProperty
+        private List<Item> items;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class Item {
+        private String name;
+        private int quantity;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class Dimensions {
+        private int width;
+        private int height;
+        private double weight;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Document
+    static class Label {
+        private String id;
+        @LazyProperty
+        private String text;
+    }
+}
@@ -13,6 +13,7 @@ import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContex
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Memo;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import lombok.Data;
 import org.json.JSONObject;
 import org.junit.Before;
 import org.junit.Test;
@@ -59,6 +60,17 @@ public class MappingCosmosConverterUnitTest {
         assertThat(cosmosItemProperties.getString(TestConstants.PROPERTY_STREET)).isEqualTo(testAddress.getStreet());
     }
 
+    @Test
+    public void convertedDocumentShouldSerializeToJson() {
+        final Address testAddress = new Address(TestConstants.POSTAL_CODE, TestConstants.CITY, TestConstants.STREET);
+        final CosmosItemProperties cosmosItemProperties = mappingCosmosConverter.writeCosmosItemProperties(testAddress);
+
+        final JSONObject jsonObject = new JSONObject(cosmosItemProperties.toJson());
+
+        assertThat(jsonObject.getString(TestConstants.PROPERTY_ID)).isEqualTo(testAddress.getPostalCode());
+        assertThat(jsonObject.getString(TestConstants.PROPERTY_CITY)).isEqualTo(testAddress.getCity());
+    }
+
     @Test
     public void convertDocumentToAddressCorrectly() {
         final JSONObject jsonObject = new JSONObject();
@@ -75,6 +87,21 @@ public class MappingCosmosConverterUnitTest {
         assertThat(address.getStreet()).isEqualTo(TestConstants.STREET);
     }
 
+    @Test
+    public void readDocumentShouldNotModifySource() {
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties(jsonObject.toString());
+        cosmosItemProperties.id(TestConstants.POSTAL_CODE);
+
+        final Address address = mappingCosmosConverter.read(Address.class, cosmosItemProperties);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(cosmosItemProperties.id()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(cosmosItemProperties.has("postalCode")).isFalse();
+    }
+
     @Test
     public void canWritePojoWithDateToDocument() throws ParseException {
         final Memo memo = new Memo(TestConstants.ID_1, TestConstants.MESSAGE, DATE.parse(TestConstants.DATE_STRING),
@@ -110,5 +137,56 @@ public class MappingCosmosConverterUnitTest {
 
         assertThat(time).isEqualTo(TestConstants.MILLI_SECONDS);
     }
-}
 
+    @Test
+    public void readDocumentToDtoProjection() {
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties(jsonObject.toString());
+        cosmosItemProperties.id(TestConstants.POSTAL_CODE);
+
+        final AddressDto address = mappingCosmosConverter.readProjection(Address.class, AddressDto.class,
+            cosmosItemProperties);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(address.getCity()).isEqualTo(TestConstants.CITY);
+        assertThat(cosmosItemProperties.has("postalCode")).isFalse();
+    }
+
+    @Test
+    public void readDocumentToInterfaceProjection() {
+        final JSONObject jsonObject = new JSONObject();
+        jsonObject.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+
+        final CosmosItemProperties cosmosItemProperties = new CosmosItemProperties(jsonObject.toString());
+        cosmosItemProperties.id(TestConstants.POSTAL_CODE);
+
+        final AddressView address = mappingCosmosConverter.readProjection(Address.class, AddressView.class,
+            cosmosItemProperties);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(address.getCity()).isEqualTo(TestConstants.CITY);
+    }
+
+    @Test
+    public void readDocumentToDomainTypeProjection() {
+        final Address testAddress = new Address(TestConstants.POSTAL_CODE, TestConstants.CITY, TestConstants.STREET);
+        final CosmosItemProperties cosmosItemProperties = mappingCosmosConverter.writeCosmosItemProperties(testAddress);
+
+        assertThat(mappingCosmosConverter.readProjection(Address.class, Address.class, cosmosItemProperties))
+            .isEqualTo(testAddress);
+    }
+
+    @Data
+    static class AddressDto {
+        private String postalCode;
+        private String city;
+    }
+
+    interface AddressView {
+        String getPostalCode();
+
+        String getCity();
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.converter;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.PersistentEntityDocumentMapper;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.MappingStrategy;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Importance;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import lombok.Getter;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentEntityDocumentMapperUnitTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private CosmosMappingContext mappingContext;
+
+    private PersistentEntityDocumentMapper documentMapper;
+
+    @Before
+    public void setup() {
+        mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        documentMapper = new PersistentEntityDocumentMapper(objectMapper);
+    }
+
+    @Test
+    public void shouldWriteSameDocumentAsJackson() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+
+        final ObjectNode document = documentMapper.write(getEntity(Person.class), person);
+
+        assertThat(document).isEqualTo(objectMapper.valueToTree(person));
+    }
+
+    @Test
+    public void shouldReadEntityWithSetters() throws IOException {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final ObjectNode document = objectMapper.valueToTree(person);
+
+        final Person read = documentMapper.read(getEntity(Person.class), document);
+
+        assertThat(read).isEqualTo(person);
+        assertThat(read.getShippingAddresses().get(0)).isInstanceOf(Address.class);
+    }
+
+    @Test
+    public void shouldReadEntityThroughConstructorAndRenamedId() throws IOException {
+        final ObjectNode document = objectMapper.createObjectNode();
+
+        document.put(TestConstants.PROPERTY_ID, TestConstants.POSTAL_CODE);
+        document.put(TestConstants.PROPERTY_CITY, TestConstants.CITY);
+        document.put(TestConstants.PROPERTY_STREET, TestConstants.STREET);
+
+        final Address address = documentMapper.read(getEntity(Address.class), document);
+
+        assertThat(address.getPostalCode()).isEqualTo(TestConstants.POSTAL_CODE);
+        assertThat(address.getCity()).isEqualTo(TestConstants.CITY);
+        assertThat(address.getStreet()).isEqualTo(TestConstants.STREET);
+    }
+
+    @Test
+    public void shouldSkipNullValuesWhenExcludedByObjectMapper() {
+        final ObjectMapper nonNullMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        final Person person = new Person(TestConstants.ID_1, null, TestConstants.LAST_NAME, null, null);
+
+        final ObjectNode document = new PersistentEntityDocumentMapper(nonNullMapper)
+            .write(getEntity(Person.class), person);
+
+        assertThat(document.has(TestConstants.PROPERTY_FIRST_NAME)).isFalse();
+        assertThat(document).isEqualTo(nonNullMapper.valueToTree(person));
+    }
+
+    @Test
+    public void converterShouldUseMappingStrategyOfEntity() {
+        final MappingCosmosConverter converter = new MappingCosmosConverter(mappingContext, objectMapper);
+        final Book book = new Book("isbn", "title", 320, Importance.HIGH);
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(book);
+        final Book read = converter.read(Book.class, document);
+
+        assertThat(document.id()).isEqualTo("isbn");
+        assertThat(document.getString("importance")).isEqualTo(Importance.HIGH.name());
+        assertThat(read.getIsbn()).isEqualTo(book.getIsbn());
+        assertThat(read.getTitle()).isEqualTo(book.getTitle());
+        assertThat(read.getPages()).isEqualTo(book.getPages());
+        assertThat(read.getImportance()).isEqualTo(book.getImportance());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> CosmosPersistentEntity<T> getEntity(Class<T> type) {
+        return (CosmosPersistentEntity<T>) mappingContext.getPersistentEntity(type);
+    }
+
+    /**
+     * Immutable entity, which Jackson cannot bind without annotations.
+     */
+    @Getter
+    @Document(mappingStrategy = MappingStrategy.PERSISTENT_ENTITY)
+    static class Book {
+        @Id
+        private final String isbn;
+        private final String title;
+        private final int pages;
+        private final Importance importance;
+
+        Book(String isbn, String title, int pages, Importance importance) {
+            this.isbn = isbn;
+            this.title = title;
+            this.pages = pages;
+            this.importance = importance;
+        }
+    }
+}
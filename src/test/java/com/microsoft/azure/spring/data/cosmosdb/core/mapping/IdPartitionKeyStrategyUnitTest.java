@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.mapping;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdPartitionKeyStrategyUnitTest {
+
+    @Test
+    public void testHashBucket() {
+        final IdPartitionKeyStrategy strategy = new HashBucketIdPartitionKeyStrategy(4);
+        final Set<String> buckets = new HashSet<>();
+
+        IntStream.range(0, 100).forEach(i -> buckets.add(strategy.getPartitionKey("id-" + i)));
+
+        assertThat(buckets).containsExactlyInAnyOrder("0", "1", "2", "3");
+        assertThat(strategy.getPartitionKey("id-1")).isEqualTo(strategy.getPartitionKey("id-1"));
+        assertThat(strategy.getPartitionKey(42)).isEqualTo(strategy.getPartitionKey("42"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectNoBucket() {
+        new HashBucketIdPartitionKeyStrategy(0);
+    }
+
+    @Test
+    public void testPrefix() {
+        assertThat(new PrefixIdPartitionKeyStrategy().getPartitionKey("acme:42")).isEqualTo("acme");
+        assertThat(new PrefixIdPartitionKeyStrategy().getPartitionKey("42")).isEqualTo("42");
+        assertThat(new PrefixIdPartitionKeyStrategy("/").getPartitionKey("acme/eu/42")).isEqualTo("acme");
+    }
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosPageRequestUnitTest {
+
+    private static final String CONTINUATION = "continuation";
+
+    @Test
+    public void testNextPageKeepsReusedTotal() {
+        final CosmosPageRequest first = CosmosPageRequest.of(0, 10, null, Sort.unsorted()).reuseTotal();
+        assertThat(first.isTotalReused()).isTrue();
+        assertThat(first.getTotal()).isNull();
+
+        final CosmosPageRequest counted = CosmosPageRequest.of(0, 0, 10, CONTINUATION, Sort.unsorted())
+                                                           .reuseTotal()
+                                                           .withTotal(42);
+        final CosmosPageRequest next = (CosmosPageRequest) counted.next();
+
+        assertThat(next.getPageNumber()).isEqualTo(1);
+        assertThat(next.getOffset()).isEqualTo(10);
+        assertThat(next.getRequestContinuation()).isEqualTo(CONTINUATION);
+        assertThat(next.isTotalReused()).isTrue();
+        assertThat(next.getTotal()).isEqualTo(42L);
+    }
+
+    @Test
+    public void testTotalNotKeptByDefault() {
+        final CosmosPageRequest request = CosmosPageRequest.of(0, 10, CONTINUATION, Sort.unsorted()).withTotal(42);
+
+        assertThat(request.isTotalReused()).isFalse();
+        assertThat(request.getTotal()).isNull();
+        assertThat(((CosmosPageRequest) request.next()).getTotal()).isNull();
+    }
+
+    @Test
+    public void testEqualityIncludesTotal() {
+        final CosmosPageRequest request = CosmosPageRequest.of(0, 10, CONTINUATION, Sort.unsorted());
+        final CosmosPageRequest reused = request.reuseTotal();
+
+        assertThat(request.reuseTotal()).isEqualTo(reused).hasSameHashCodeAs(reused);
+        assertThat(reused).isNotEqualTo(request);
+        assertThat(reused.withTotal(42)).isNotEqualTo(reused).isNotEqualTo(reused.withTotal(43));
+        assertThat(reused.withTotal(42)).isEqualTo(reused.withTotal(42)).hasSameHashCodeAs(reused.withTotal(42));
+    }
+}
@@ -5,12 +5,18 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.core.query;
 
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.ExistsQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
 
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_KEY;
 import static com.microsoft.azure.spring.data.cosmosdb.common.TestConstants.CRITERIA_OBJECT;
@@ -28,4 +34,94 @@ public class DocumentQueryUnitTest {
         Assert.assertEquals(Sort.unsorted(), query.getSort());
         Assert.assertEquals(Pageable.unpaged(), query.getPageable());
     }
+
+    @Test
+    public void testProjectedDocumentQuerySelectsProperties() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final DocumentQuery query = new DocumentQuery(criteria).project(Arrays.asList("id", "city"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        Assert.assertEquals(Arrays.asList("id", "city"), query.getProjection());
+        Assert.assertTrue(querySpec.queryText().startsWith("SELECT r[\"id\"], r[\"city\"] FROM ROOT r WHERE"));
+    }
+
+    @Test
+    public void testUnprojectedDocumentQuerySelectsDocuments() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final DocumentQuery query = new DocumentQuery(criteria);
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        Assert.assertTrue(query.getProjection().isEmpty());
+        Assert.assertTrue(querySpec.queryText().startsWith("SELECT * FROM ROOT r WHERE"));
+    }
+
+    @Test
+    public void testLimitedDocumentQuerySelectsTop() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final DocumentQuery query = new DocumentQuery(criteria).limit(10).project(Arrays.asList("id", "city"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        Assert.assertTrue(query.isLimited());
+        Assert.assertTrue(querySpec.queryText()
+                                   .startsWith("SELECT TOP 10 r[\"id\"], r[\"city\"] FROM ROOT r WHERE"));
+    }
+
+    @Test
+    public void testProjectedKeywordPropertiesQuoted() {
+        final DocumentQuery query = new DocumentQuery(Criteria.getInstance(CriteriaType.ALL))
+            .project(Arrays.asList("value", "order.top"));
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        Assert.assertTrue(querySpec.queryText().startsWith("SELECT r[\"value\"], r[\"order\"][\"top\"] FROM ROOT r"));
+    }
+
+    @Test
+    public void testLimitedDocumentQueryWithTemplate() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+        final QuerySpecTemplate template = new FindQuerySpecGenerator().compile(new DocumentQuery(criteria)).get();
+        final DocumentQuery query = new DocumentQuery(criteria).limit(1).with(template);
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        Assert.assertTrue(querySpec.queryText().startsWith("SELECT TOP 1 * FROM ROOT r WHERE"));
+    }
+
+    @Test
+    public void testExistsQuerySelectsSingleValue() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Arrays.asList(CRITERIA_OBJECT));
+
+        final SqlQuerySpec querySpec = new ExistsQueryGenerator().generateCosmos(new DocumentQuery(criteria));
+
+        Assert.assertTrue(querySpec.queryText().startsWith("SELECT TOP 1 VALUE 1 FROM r WHERE"));
+    }
+
+    @Test
+    public void testPartitionKeyValues() {
+        final Criteria inCriteria = Criteria.getInstance(CriteriaType.IN, CRITERIA_KEY,
+                Collections.singletonList(Arrays.asList("a", "b")));
+        final Criteria otherCriteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "other",
+                Collections.singletonList("c"));
+        final Criteria equalCriteria = Criteria.getInstance(CriteriaType.IS_EQUAL, CRITERIA_KEY,
+                Collections.singletonList("c"));
+
+        final DocumentQuery and = new DocumentQuery(Criteria.getInstance(CriteriaType.AND, inCriteria, otherCriteria));
+        final DocumentQuery or = new DocumentQuery(Criteria.getInstance(CriteriaType.OR, inCriteria, equalCriteria));
+        final DocumentQuery unbounded =
+            new DocumentQuery(Criteria.getInstance(CriteriaType.OR, inCriteria, otherCriteria));
+
+        Assert.assertEquals(Optional.of(new HashSet<>(Arrays.asList("a", "b"))),
+            and.getPartitionKeyValues(CRITERIA_KEY));
+        Assert.assertEquals(Optional.of(new HashSet<>(Arrays.asList("a", "b", "c"))),
+            or.getPartitionKeyValues(CRITERIA_KEY));
+        Assert.assertFalse(unbounded.getPartitionKeyValues(CRITERIA_KEY).isPresent());
+    }
 }
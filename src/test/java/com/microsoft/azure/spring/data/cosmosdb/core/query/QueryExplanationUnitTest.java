@@ -0,0 +1,58 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import com.azure.data.cosmos.BridgeInternal;
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.azure.data.cosmos.FeedResponse;
+import com.azure.data.cosmos.internal.QueryMetrics;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class QueryExplanationUnitTest {
+
+    private static final String METRICS = "retrievedDocumentCount=%d;retrievedDocumentSize=0;outputDocumentCount=%d;"
+        + "outputDocumentSize=0;indexUtilizationRatio=%.2f;totalExecutionTimeInMs=1.0;queryCompileTimeInMs=0;"
+        + "queryLogicalPlanBuildTimeInMs=0;queryPhysicalPlanBuildTimeInMs=0;queryOptimizationTimeInMs=0;"
+        + "indexLookupTimeInMs=0;documentLoadTimeInMs=0;VMExecutionTimeInMs=0;writeOutputTimeInMs=0;"
+        + "systemFunctionExecuteTimeInMs=0;userFunctionExecuteTimeInMs=0";
+
+    private static FeedResponse<CosmosItemProperties> page(String requestCharge, long retrievedDocumentCount,
+                                                           long outputDocumentCount, double indexHitRatio) {
+        final ConcurrentMap<String, QueryMetrics> metricsByRange = new ConcurrentHashMap<>();
+        metricsByRange.put("0", QueryMetrics.createFromDelimitedString(String.format(METRICS,
+            retrievedDocumentCount, outputDocumentCount, indexHitRatio)));
+
+        return BridgeInternal.createFeedResponseWithQueryMetrics(Collections.emptyList(),
+            Collections.singletonMap("x-ms-request-charge", requestCharge), metricsByRange);
+    }
+
+    @Test
+    public void testSampleExecutionSummedOverQueries() {
+        final QueryExplanation.SampleExecution sample = QueryExplanation.SampleExecution.of(Arrays.asList(
+            page("2.5", 10, 4, 1.0), page("3.5", 30, 2, 0.0)));
+
+        assertThat(sample.getRequestCharge()).isCloseTo(6.0, within(0.001));
+        assertThat(sample.getRetrievedDocumentCount()).isEqualTo(40);
+        assertThat(sample.getOutputDocumentCount()).isEqualTo(6);
+        assertThat(sample.getIndexHitRatio()).isCloseTo(0.25, within(0.001));
+    }
+
+    @Test
+    public void testSampleExecutionWithoutDocuments() {
+        final QueryExplanation.SampleExecution sample = QueryExplanation.SampleExecution.of(Collections.emptyList());
+
+        assertThat(sample.getRequestCharge()).isZero();
+        assertThat(sample.getIndexHitRatio()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.core.query;
+
+import com.azure.data.cosmos.SqlParameter;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.CountQueryGenerator;
+import com.microsoft.azure.spring.data.cosmosdb.core.generator.FindQuerySpecGenerator;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QuerySpecTemplateUnitTest {
+
+    private static final Sort SORT = Sort.by(Sort.Direction.DESC, "age");
+
+    private static DocumentQuery createQuery(Object name, Object start, Object end) {
+        final Criteria nameCriteria = Criteria.getInstance(CriteriaType.IS_EQUAL, "name",
+            Collections.singletonList(name));
+        final Criteria ageCriteria = Criteria.getInstance(CriteriaType.BETWEEN, "age", Arrays.asList(start, end));
+        final Criteria cityCriteria = Criteria.getInstance(CriteriaType.IS_NULL, "address.city",
+            Collections.emptyList());
+        final Criteria criteria = Criteria.getInstance(CriteriaType.OR,
+            Criteria.getInstance(CriteriaType.AND, nameCriteria, ageCriteria), cityCriteria);
+
+        return new DocumentQuery(criteria).with(SORT);
+    }
+
+    private static List<Object> getParameterValues(SqlQuerySpec querySpec) {
+        return querySpec.parameters().stream().map(p -> p.value(Object.class)).collect(Collectors.toList());
+    }
+
+    private static List<String> getParameterNames(SqlQuerySpec querySpec) {
+        return querySpec.parameters().stream().map(SqlParameter::name).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testBoundTemplateMatchesGeneratedQuery() {
+        final Optional<QuerySpecTemplate> template =
+            new FindQuerySpecGenerator().compile(createQuery(null, null, null));
+        assertThat(template).isPresent();
+
+        final SqlQuerySpec expected = new FindQuerySpecGenerator().generateCosmos(createQuery("Kim", 20, 30));
+        final SqlQuerySpec bound = new FindQuerySpecGenerator().generateCosmos(
+            createQuery("Kim", 20, 30).with(template.get()));
+
+        assertThat(bound.queryText()).isEqualTo(expected.queryText());
+        assertThat(getParameterNames(bound)).isEqualTo(getParameterNames(expected));
+        assertThat(getParameterValues(bound)).containsExactly("Kim", 20, 30);
+    }
+
+    @Test
+    public void testTemplateKeepsQueryHead() {
+        final QuerySpecTemplate template = new FindQuerySpecGenerator().compile(createQuery(null, null, null)).get();
+
+        final SqlQuerySpec expected = new CountQueryGenerator().generateCosmos(createQuery("Kim", 20, 30));
+        final SqlQuerySpec bound = new CountQueryGenerator().generateCosmos(
+            createQuery("Kim", 20, 30).with(template));
+
+        assertThat(bound.queryText()).isEqualTo(expected.queryText());
+        assertThat(bound.queryText()).startsWith("SELECT VALUE COUNT(1) FROM r WHERE");
+    }
+
+    @Test
+    public void testTemplateIgnoredForOtherSort() {
+        final QuerySpecTemplate template = new FindQuerySpecGenerator().compile(createQuery(null, null, null)).get();
+        final DocumentQuery query = createQuery("Kim", 20, 30).with(Sort.by("name")).with(template);
+
+        final SqlQuerySpec querySpec = new FindQuerySpecGenerator().generateCosmos(query);
+
+        assertThat(querySpec.queryText()).endsWith("ORDER BY r.name ASC,r.age DESC");
+    }
+
+    @Test
+    public void testInCriteriaBoundAsArray() {
+        final Criteria criteria = Criteria.getInstance(CriteriaType.NOT_IN, "name",
+            Collections.singletonList(Arrays.asList("Kim", "Lee")));
+        final QuerySpecTemplate template = new FindQuerySpecGenerator().compile(new DocumentQuery(criteria)).get();
+
+        final SqlQuerySpec expected = new FindQuerySpecGenerator().generateCosmos(new DocumentQuery(criteria));
+        final SqlQuerySpec bound = new FindQuerySpecGenerator().generateCosmos(
+            new DocumentQuery(criteria).with(template));
+
+        assertThat(expected.queryText())
+            .isEqualTo("SELECT * FROM ROOT r WHERE (IS_DEFINED(r.name) AND NOT ARRAY_CONTAINS(@name, r.name)) ");
+        assertThat(bound.queryText()).isEqualTo(expected.queryText());
+
+        assertThat(bound.parameters().get(0).toJson()).contains("[\"Kim\",\"Lee\"]");
+    }
+}
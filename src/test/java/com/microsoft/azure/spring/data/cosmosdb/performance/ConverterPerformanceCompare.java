@@ -0,0 +1,217 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.performance;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.azure.spring.data.cosmosdb.Constants;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosItemPropertiesUtils;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.PersistentEntityDocumentMapper;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosPersistentEntity;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONObject;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Micro benchmark of the document mapping done by {@link MappingCosmosConverter}, runs without any
+ * Cosmos DB account. Reports CPU time and allocated bytes per document, measured on the current thread.
+ */
+@Slf4j
+public class ConverterPerformanceCompare {
+    private static final int WARM_UP_TIMES = 20_000;
+    private static final int RECURSIVE_TIMES = 100_000;
+
+    private static final List<String> REPORT = new ArrayList<>();
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private MappingCosmosConverter converter;
+
+    private PersistentEntityDocumentMapper documentMapper;
+
+    private CosmosPersistentEntity<Person> personEntity;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, objectMapper);
+        documentMapper = new PersistentEntityDocumentMapper(objectMapper);
+        personEntity = (CosmosPersistentEntity<Person>) mappingContext.getPersistentEntity(Person.class);
+    }
+
+    @AfterClass
+    public static void printReport() {
+        REPORT.forEach(System.out::println);
+    }
+
+    @Test
+    public void readDocumentWithRenamedIdTest() {
+        final Address address = new Address(TestConstants.POSTAL_CODE, TestConstants.STREET, TestConstants.CITY);
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(address);
+
+        final Cost legacyCost = measure(document, d -> readByJsonText(d, Address.class, "postalCode"));
+        final Cost cost = measure(document, d -> converter.read(Address.class, d));
+
+        report("read Address", legacyCost, cost);
+        assertThat(cost.allocatedBytes).isLessThan(legacyCost.allocatedBytes);
+    }
+
+    @Test
+    public void readDocumentWithNestedPropertiesTest() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(person);
+
+        final Cost legacyCost = measure(document, d -> readByJsonText(d, Person.class, Constants.ID_PROPERTY_NAME));
+        final Cost cost = measure(document, d -> converter.read(Person.class, d));
+
+        report("read Person", legacyCost, cost);
+        assertThat(cost.allocatedBytes).isLessThan(legacyCost.allocatedBytes);
+    }
+
+    @Test
+    public void writeDocumentTest() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+
+        final Cost legacyCost = measure(person, this::writeByJsonText);
+        final Cost cost = measure(person, converter::writeCosmosItemProperties);
+
+        report("write Person", legacyCost, cost);
+        assertThat(cost.allocatedBytes).isLessThan(legacyCost.allocatedBytes);
+    }
+
+    @Test
+    public void readDocumentByPersistentEntityTest() throws IOException {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(person);
+        final ObjectNode objectNode = CosmosItemPropertiesUtils.getObjectNode(document, objectMapper);
+
+        final Cost jacksonCost = measure(objectNode, this::readByJackson);
+        final Cost cost = measure(objectNode, this::readByPersistentEntity);
+
+        report("read Person by persistent entity", jacksonCost, cost);
+        assertThat(readByPersistentEntity(objectNode)).isEqualTo(readByJackson(objectNode));
+    }
+
+    @Test
+    public void writeDocumentByPersistentEntityTest() {
+        final Person person = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME, TestConstants.LAST_NAME,
+            TestConstants.HOBBIES, TestConstants.ADDRESSES);
+
+        final Cost jacksonCost = measure(person, p -> (ObjectNode) objectMapper.valueToTree(p));
+        final Cost cost = measure(person, p -> documentMapper.write(personEntity, p));
+
+        report("write Person by persistent entity", jacksonCost, cost);
+        assertThat(documentMapper.write(personEntity, person)).isEqualTo(objectMapper.valueToTree(person));
+    }
+
+    private Person readByJackson(ObjectNode objectNode) {
+        try {
+            return objectMapper.treeToValue(objectNode, Person.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Person readByPersistentEntity(ObjectNode objectNode) {
+        try {
+            return documentMapper.read(personEntity, objectNode);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The text based read path, which serializes the document, re-parses it to rename the id and parses it
+     * again into the entity.
+     */
+    private <T> T readByJsonText(CosmosItemProperties document, Class<T> type, String idName) {
+        final JSONObject jsonObject = new JSONObject(document.toJson());
+
+        jsonObject.remove(Constants.ID_PROPERTY_NAME);
+        jsonObject.put(idName, document.id());
+
+        try {
+            return objectMapper.readValue(jsonObject.toString(), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The text based write path, which serializes the entity and parses the text back into a document.
+     */
+    private CosmosItemProperties writeByJsonText(Person person) {
+        try {
+            final CosmosItemProperties document = new CosmosItemProperties(objectMapper.writeValueAsString(person));
+            document.id(person.getId());
+            return document;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T, R> Cost measure(T argument, Function<T, R> function) {
+        final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < WARM_UP_TIMES; i++) {
+            function.apply(argument);
+        }
+
+        final long startCpu = bean.getCurrentThreadCpuTime();
+        final long startBytes = bean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < RECURSIVE_TIMES; i++) {
+            function.apply(argument);
+        }
+        final long cpu = bean.getCurrentThreadCpuTime() - startCpu;
+        final long bytes = bean.getThreadAllocatedBytes(threadId) - startBytes;
+
+        return new Cost(cpu / RECURSIVE_TIMES, bytes / RECURSIVE_TIMES);
+    }
+
+    private static void report(String operation, Cost baseline, Cost cost) {
+        final String item = String.format("[type=%s, baselineCpuNanos=%d, cpuNanos=%d, baselineBytes=%d, bytes=%d]",
+            operation, baseline.cpuNanos, cost.cpuNanos, baseline.allocatedBytes, cost.allocatedBytes);
+
+        log.info(item);
+        REPORT.add(item);
+    }
+
+    private static final class Cost {
+        private final long cpuNanos;
+        private final long allocatedBytes;
+
+        private Cost(long cpuNanos, long allocatedBytes) {
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+}
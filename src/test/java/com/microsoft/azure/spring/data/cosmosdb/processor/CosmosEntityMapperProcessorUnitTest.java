@@ -0,0 +1,262 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.processor;
+
+import com.azure.data.cosmos.CosmosItemProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosEntityMapper;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.CosmosEntityMapperUtils;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.FileSystemUtils;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CosmosEntityMapperProcessorUnitTest {
+
+    private static final String BOOK_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;",
+        "import org.springframework.data.annotation.Id;",
+        "import java.util.List;",
+        "@Document(collection = \"books\")",
+        "public class Book {",
+        "    public enum Genre { NOVEL, POETRY }",
+        "    @Id",
+        "    private String isbn;",
+        "    private String title;",
+        "    private int pages;",
+        "    private Double price;",
+        "    private boolean available;",
+        "    private Genre genre;",
+        "    private List<String> authors;",
+        "    public String getIsbn() { return isbn; }",
+        "    public void setIsbn(String isbn) { this.isbn = isbn; }",
+        "    public String getTitle() { return title; }",
+        "    public void setTitle(String title) { this.title = title; }",
+        "    public int getPages() { return pages; }",
+        "    public void setPages(int pages) { this.pages = pages; }",
+        "    public Double getPrice() { return price; }",
+        "    public void setPrice(Double price) { this.price = price; }",
+        "    public boolean isAvailable() { return available; }",
+        "    public void setAvailable(boolean available) { this.available = available; }",
+        "    public Genre getGenre() { return genre; }",
+        "    public void setGenre(Genre genre) { this.genre = genre; }",
+        "    public List<String> getAuthors() { return authors; }",
+        "    public void setAuthors(List<String> authors) { this.authors = authors; }",
+        "}");
+
+    private static final String ANNOTATED_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.fasterxml.jackson.annotation.JsonProperty;",
+        "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;",
+        "@Document",
+        "public class Annotated {",
+        "    private String id;",
+        "    @JsonProperty(\"renamed\")",
+        "    private String name;",
+        "    public String getId() { return id; }",
+        "    public void setId(String id) { this.id = id; }",
+        "    public String getName() { return name; }",
+        "    public void setName(String name) { this.name = name; }",
+        "}");
+
+    private static final String COMPUTED_SOURCE = String.join("\n",
+        "package sample;",
+        "import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;",
+        "@Document",
+        "public class Computed {",
+        "    private String id;",
+        "    private double price;",
+        "    public String getId() { return id; }",
+        "    public void setId(String id) { this.id = id; }",
+        "    public double getPrice() { return price; }",
+        "    public void setPrice(double price) { this.price = price; }",
+        "    public double getPriceWithTax() { return price * 1.2; }",
+        "}");
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private Path workDirectory;
+
+    private URLClassLoader classLoader;
+
+    @Before
+    public void setup() throws IOException {
+        workDirectory = Files.createTempDirectory("cosmos-entity-mapper");
+
+        final Path sourceDirectory = Files.createDirectories(workDirectory.resolve("src").resolve("sample"));
+        final Path bookSource = sourceDirectory.resolve("Book.java");
+        final Path annotatedSource = sourceDirectory.resolve("Annotated.java");
+        final Path computedSource = sourceDirectory.resolve("Computed.java");
+        final Path classesDirectory = Files.createDirectories(workDirectory.resolve("classes"));
+
+        Files.write(bookSource, BOOK_SOURCE.getBytes(StandardCharsets.UTF_8));
+        Files.write(annotatedSource, ANNOTATED_SOURCE.getBytes(StandardCharsets.UTF_8));
+        Files.write(computedSource, COMPUTED_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final int result = compiler.run(null, output, output,
+            "-classpath", System.getProperty("java.class.path"),
+            "-processor", CosmosEntityMapperProcessor.class.getName(),
+            "-d", classesDirectory.toString(),
+            bookSource.toString(), annotatedSource.toString(), computedSource.toString());
+
+        assertThat(result).as(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(0);
+
+        classLoader = new URLClassLoader(new URL[]{classesDirectory.toUri().toURL()}, getClass().getClassLoader());
+    }
+
+    @After
+    public void cleanup() throws IOException {
+        classLoader.close();
+        FileSystemUtils.deleteRecursively(workDirectory);
+    }
+
+    @Test
+    public void shouldGenerateMapperForPlainEntity() throws ClassNotFoundException {
+        final Optional<? extends CosmosEntityMapper<?>> mapper =
+            CosmosEntityMapperUtils.findEntityMapper(classLoader.loadClass("sample.Book"));
+
+        assertThat(mapper).isPresent();
+    }
+
+    @Test
+    public void shouldNotGenerateMapperForJacksonAnnotatedEntity() throws ClassNotFoundException {
+        final Optional<? extends CosmosEntityMapper<?>> mapper =
+            CosmosEntityMapperUtils.findEntityMapper(classLoader.loadClass("sample.Annotated"));
+
+        assertThat(mapper).isNotPresent();
+    }
+
+    @Test
+    public void shouldNotGenerateMapperForComputedProperty() throws ClassNotFoundException {
+        final Optional<? extends CosmosEntityMapper<?>> mapper =
+            CosmosEntityMapperUtils.findEntityMapper(classLoader.loadClass("sample.Computed"));
+
+        assertThat(mapper).isNotPresent();
+    }
+
+    @Test
+    public void generatedMapperShouldMatchJacksonMapping() throws Exception {
+        final Class<?> bookClass = classLoader.loadClass("sample.Book");
+        final Object book = newBook(bookClass);
+        final MappingCosmosConverter converter = newConverter(objectMapper);
+
+        assertThat(CosmosEntityMapperUtils.isCompatible(objectMapper)).isTrue();
+
+        final CosmosItemProperties document = converter.writeCosmosItemProperties(book);
+        final ObjectNode expected = objectMapper.valueToTree(book);
+        final JsonNode actual = objectMapper.readTree(document.toJson());
+
+        expected.put("id", "isbn-1");
+        assertThat(actual).isEqualTo(expected);
+
+        final Object read = converter.read(bookClass, document);
+
+        assertThat(objectMapper.<JsonNode>valueToTree(read)).isEqualTo(objectMapper.valueToTree(book));
+    }
+
+    @Test
+    public void generatedMapperShouldReadNullAndMissingValues() throws Exception {
+        final Class<?> bookClass = classLoader.loadClass("sample.Book");
+        final ObjectNode document = objectMapper.createObjectNode();
+
+        document.put("id", "isbn-1");
+        document.putNull("title");
+        document.putNull("pages");
+
+        final Object read = newConverter(objectMapper).read(bookClass, new CosmosItemProperties(document.toString()));
+
+        assertThat(bookClass.getMethod("getIsbn").invoke(read)).isEqualTo("isbn-1");
+        assertThat(bookClass.getMethod("getTitle").invoke(read)).isNull();
+        assertThat(bookClass.getMethod("getPages").invoke(read)).isEqualTo(0);
+        assertThat(bookClass.getMethod("getAuthors").invoke(read)).isNull();
+    }
+
+    @Test
+    public void configuredObjectMapperShouldBeFollowed() throws Exception {
+        final Class<?> bookClass = classLoader.loadClass("sample.Book");
+        final Object book = newBook(bookClass);
+        final SimpleModule upperCaseStrings = new SimpleModule().addSerializer(String.class,
+            new StdSerializer<String>(String.class) {
+                @Override
+                public void serialize(String value, JsonGenerator generator, SerializerProvider provider)
+                    throws IOException {
+                    generator.writeString(value.toUpperCase(Locale.ROOT));
+                }
+            });
+        final List<ObjectMapper> configuredMappers = Arrays.asList(
+            objectMapper.copy().setPropertyNamingStrategy(PropertyNamingStrategy.UPPER_CAMEL_CASE),
+            objectMapper.copy().setSerializationInclusion(JsonInclude.Include.NON_NULL),
+            objectMapper.copy().registerModule(upperCaseStrings));
+
+        bookClass.getMethod("setTitle", String.class).invoke(book, (Object) null);
+
+        for (final ObjectMapper configuredMapper : configuredMappers) {
+            final CosmosItemProperties document = newConverter(configuredMapper).writeCosmosItemProperties(book);
+            final ObjectNode expected = configuredMapper.valueToTree(book);
+
+            expected.put("id", "isbn-1");
+            assertThat(CosmosEntityMapperUtils.isCompatible(configuredMapper)).isFalse();
+            assertThat(objectMapper.readTree(document.toJson())).isEqualTo(expected);
+        }
+    }
+
+    private static MappingCosmosConverter newConverter(ObjectMapper objectMapper) {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        return new MappingCosmosConverter(mappingContext, objectMapper);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object newBook(Class<?> bookClass) throws Exception {
+        final Object book = BeanUtils.instantiateClass(bookClass);
+        final Class<? extends Enum> genreClass = (Class<? extends Enum>) bookClass.getClassLoader()
+                                                                                .loadClass("sample.Book$Genre");
+
+        bookClass.getMethod("setIsbn", String.class).invoke(book, "isbn-1");
+        bookClass.getMethod("setTitle", String.class).invoke(book, "title");
+        bookClass.getMethod("setPages", int.class).invoke(book, 320);
+        bookClass.getMethod("setPrice", Double.class).invoke(book, 12.5);
+        bookClass.getMethod("setAvailable", boolean.class).invoke(book, true);
+        bookClass.getMethod("setGenre", genreClass).invoke(book, Enum.valueOf(genreClass, "POETRY"));
+        bookClass.getMethod("setAuthors", List.class)
+                 .invoke(book, Collections.unmodifiableList(Arrays.asList("first", "second")));
+
+        return book;
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CosmosPageRequest;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.repository.CosmosRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartTreeCosmosQueryUnitTest {
+
+    @Mock
+    private CosmosOperations operations;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        when(operations.getConverter())
+            .thenReturn(new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper()));
+    }
+
+    private PartTreeCosmosQuery createQuery(String methodName, Class<?>... parameterTypes) throws Exception {
+        final Method method = PersonPartTreeRepository.class.getMethod(methodName, parameterTypes);
+
+        return new PartTreeCosmosQuery(new CosmosQueryMethod(method,
+            new DefaultRepositoryMetadata(PersonPartTreeRepository.class), new SpelAwareProxyProjectionFactory()),
+            operations);
+    }
+
+    @Test
+    public void testSliceQuerySkipsCount() throws Exception {
+        final Pageable pageable = CosmosPageRequest.of(0, 10, null, Sort.unsorted());
+        final Slice<Person> slice = new SliceImpl<>(Collections.emptyList(), pageable, false);
+        when(operations.sliceQuery(any(), eq(Person.class), anyString())).thenReturn(slice);
+
+        final Object result = createQuery("findByLastName", String.class, Pageable.class)
+            .execute(new Object[]{TestConstants.LAST_NAME, pageable});
+
+        final ArgumentCaptor<DocumentQuery> captor = ArgumentCaptor.forClass(DocumentQuery.class);
+        verify(operations).sliceQuery(captor.capture(), eq(Person.class), anyString());
+        verify(operations, never()).count(any(DocumentQuery.class), any(), anyString());
+
+        assertThat(result).isSameAs(slice);
+        assertThat(captor.getValue().getPageable()).isEqualTo(pageable);
+    }
+
+    @Test
+    public void testCountQueryCountsOnServer() throws Exception {
+        when(operations.count(any(DocumentQuery.class), eq(Person.class), anyString())).thenReturn(3L);
+
+        final Object result = createQuery("countByLastName", String.class)
+            .execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(result).isEqualTo(3L);
+        verify(operations, never()).find(any(DocumentQuery.class), any(), anyString());
+    }
+
+    @Test
+    public void testExistsQueryChecksOnServer() throws Exception {
+        when(operations.exists(any(DocumentQuery.class), eq(Person.class), anyString())).thenReturn(true);
+
+        final Object result = createQuery("existsByLastName", String.class)
+            .execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(result).isEqualTo(true);
+        verify(operations, never()).find(any(DocumentQuery.class), any(), anyString());
+    }
+
+    private DocumentQuery executeProjection(String methodName, Class<?> returnType) throws Exception {
+        when(operations.find(any(DocumentQuery.class), eq(Person.class), eq(returnType), anyString()))
+            .thenReturn(Collections.emptyList());
+
+        createQuery(methodName, String.class).execute(new Object[]{TestConstants.LAST_NAME});
+
+        final ArgumentCaptor<DocumentQuery> captor = ArgumentCaptor.forClass(DocumentQuery.class);
+        verify(operations).find(captor.capture(), eq(Person.class), eq(returnType), anyString());
+
+        return captor.getValue();
+    }
+
+    @Test
+    public void testClosedProjectionSelectsProperties() throws Exception {
+        assertThat(executeProjection("findNamesByLastName", FirstName.class).getProjection())
+            .containsExactly("firstName");
+    }
+
+    @Test
+    public void testOpenProjectionSelectsDocument() throws Exception {
+        assertThat(executeProjection("findFullNamesByLastName", FullName.class).getProjection()).isEmpty();
+    }
+
+    interface FirstName {
+        String getFirstName();
+    }
+
+    interface FullName {
+        String getFirstName();
+
+        @Value("#{target.firstName + ' ' + target.lastName}")
+        String getFullName();
+    }
+
+    interface PersonPartTreeRepository extends CosmosRepository<Person, String> {
+
+        List<FirstName> findNamesByLastName(String lastName);
+
+        List<FullName> findFullNamesByLastName(String lastName);
+
+        Slice<Person> findByLastName(String lastName, Pageable pageable);
+
+        long countByLastName(String lastName);
+
+        boolean existsByLastName(String lastName);
+    }
+}
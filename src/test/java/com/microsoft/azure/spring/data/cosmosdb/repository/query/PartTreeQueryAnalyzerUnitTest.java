@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.DocumentIndexingPolicy;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.CosmosRepository;
+import lombok.Data;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartTreeQueryAnalyzerUnitTest {
+
+    private final PartTreeQueryAnalyzer analyzer = new PartTreeQueryAnalyzer(QueryAnalysis.FAIL);
+
+    @Mock
+    private CosmosOperations operations;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        when(operations.getConverter())
+            .thenReturn(new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper()));
+    }
+
+    private PartTreeCosmosQuery createQuery(String methodName, Class<?>... parameterTypes) throws Exception {
+        final Method method = TicketRepository.class.getMethod(methodName, parameterTypes);
+
+        return new PartTreeCosmosQuery(new CosmosQueryMethod(method,
+            new DefaultRepositoryMetadata(TicketRepository.class), new SpelAwareProxyProjectionFactory()),
+            operations);
+    }
+
+    @Test
+    public void testBoundedQueriesPass() throws Exception {
+        assertThat(analyzer.analyze(createQuery("findTop10ByRegionOrderByTitle", String.class))).isEmpty();
+        assertThat(analyzer.analyze(createQuery("findByRegionIn", List.class, Pageable.class))).isEmpty();
+        analyzer.onCreation(createQuery("findTop10ByRegionOrderByTitle", String.class));
+    }
+
+    @Test
+    public void testExpensiveQueriesFound() throws Exception {
+        assertThat(analyzer.analyze(createQuery("findByRegion", String.class)))
+            .containsExactly("reads all matching documents, limit it with findFirstN or a Pageable");
+        assertThat(analyzer.analyze(createQuery("findFirstByRegionOrderByNotes", String.class)))
+            .containsExactly("sorts on notes, which is excluded from the indexing policy");
+        assertThat(analyzer.analyze(createQuery("existsByRegionOrTitle", String.class, String.class)))
+            .containsExactly("runs across partitions, no criteria matches partition key region in each OR branch");
+        assertThat(analyzer.analyze(createQuery("findByTitleEndingWith", String.class))).hasSize(3);
+        assertThat(analyzer.analyze(createQuery("findByRegionInAndTagsContaining", List.class, String.class,
+            Pageable.class))).containsExactly("CONTAINING on tags scans the index");
+    }
+
+    @Test(expected = IllegalQueryException.class)
+    public void testFailOnExpensiveQuery() throws Exception {
+        analyzer.onCreation(createQuery("findByTitleEndingWith", String.class));
+    }
+
+    @Test
+    public void testLogExpensiveQuery() throws Exception {
+        new PartTreeQueryAnalyzer(QueryAnalysis.LOG).onCreation(createQuery("findByTitleEndingWith", String.class));
+    }
+
+    @Data
+    @Document(collection = "tickets")
+    @DocumentIndexingPolicy(includePaths = "{\"path\":\"/*\"}", excludePaths = "{\"path\":\"/notes/*\"}")
+    static class Ticket {
+
+        @Id
+        private String id;
+
+        @PartitionKey
+        private String region;
+
+        private String title;
+
+        private String notes;
+
+        private List<String> tags;
+    }
+
+    interface TicketRepository extends CosmosRepository<Ticket, String> {
+
+        List<Ticket> findTop10ByRegionOrderByTitle(String region);
+
+        Page<Ticket> findByRegionIn(List<String> regions, Pageable pageable);
+
+        Page<Ticket> findByRegionInAndTagsContaining(List<String> regions, String tag, Pageable pageable);
+
+        List<Ticket> findByRegion(String region);
+
+        Ticket findFirstByRegionOrderByNotes(String region);
+
+        boolean existsByRegionOrTitle(String region, String title);
+
+        List<Ticket> findByTitleEndingWith(String suffix);
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See LICENSE in the project root for
+ * license information.
+ */
+package com.microsoft.azure.spring.data.cosmosdb.repository.query;
+
+import com.azure.data.cosmos.SqlParameter;
+import com.azure.data.cosmos.SqlQuerySpec;
+import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
+import com.microsoft.azure.spring.data.cosmosdb.core.CosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.ReactiveCosmosOperations;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.MappingCosmosConverter;
+import com.microsoft.azure.spring.data.cosmosdb.core.convert.ObjectMapperFactory;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.CosmosMappingContext;
+import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
+import com.microsoft.azure.spring.data.cosmosdb.exception.IllegalQueryException;
+import com.microsoft.azure.spring.data.cosmosdb.repository.CosmosRepository;
+import com.microsoft.azure.spring.data.cosmosdb.repository.Query;
+import com.microsoft.azure.spring.data.cosmosdb.repository.ReactiveCosmosRepository;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.data.repository.core.support.DefaultRepositoryMetadata;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StringBasedCosmosQueryUnitTest {
+
+    private static final Person PERSON = new Person(TestConstants.ID_1, TestConstants.FIRST_NAME,
+        TestConstants.LAST_NAME, TestConstants.HOBBIES, TestConstants.ADDRESSES);
+
+    @Mock
+    private CosmosOperations operations;
+
+    @Mock
+    private ReactiveCosmosOperations reactiveOperations;
+
+    private MappingCosmosConverter converter;
+
+    @Before
+    public void setUp() {
+        final CosmosMappingContext mappingContext = new CosmosMappingContext();
+        mappingContext.afterPropertiesSet();
+
+        converter = new MappingCosmosConverter(mappingContext, ObjectMapperFactory.getObjectMapper());
+    }
+
+    private StringBasedCosmosQuery createQuery(String methodName, Class<?>... parameterTypes) throws Exception {
+        final Method method = PersonQueryRepository.class.getMethod(methodName, parameterTypes);
+
+        return new StringBasedCosmosQuery(new CosmosQueryMethod(method,
+            new DefaultRepositoryMetadata(PersonQueryRepository.class), new SpelAwareProxyProjectionFactory()),
+            operations);
+    }
+
+    private SqlQuerySpec captureQuerySpec(Class<?> returnType) {
+        final ArgumentCaptor<SqlQuerySpec> captor = ArgumentCaptor.forClass(SqlQuerySpec.class);
+
+        verify(operations).runQuery(captor.capture(), eq(Person.class), eq(returnType), anyString());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testBindNamedAndIndexedParameters() throws Exception {
+        when(operations.getConverter()).thenReturn(converter);
+        when(operations.runQuery(any(), any(), any(), anyString())).thenReturn(Collections.singletonList(PERSON));
+        final StringBasedCosmosQuery query = createQuery("findByNames", String.class, Collection.class);
+
+        final Object result = query.execute(new Object[]{TestConstants.LAST_NAME,
+            Arrays.asList(TestConstants.FIRST_NAME, TestConstants.NEW_FIRST_NAME)});
+
+        final SqlQuerySpec querySpec = captureQuerySpec(Person.class);
+        assertThat(result).isEqualTo(Collections.singletonList(PERSON));
+        assertThat(querySpec.queryText()).isEqualTo("SELECT * FROM r WHERE r.lastName = @lastName "
+            + "AND ARRAY_CONTAINS(@_1, r.firstName) AND r.email != 'user@example.com'");
+
+        final List<String> names = querySpec.parameters().stream().map(SqlParameter::name)
+                                            .collect(Collectors.toList());
+        assertThat(names).containsExactly("@lastName", "@_1");
+        assertThat(querySpec.parameters().get(1).toJson()).contains("[\"first_name_li\",\"new_first_name\"]");
+    }
+
+    @Test
+    public void testSingleValueResult() throws Exception {
+        when(operations.getConverter()).thenReturn(converter);
+        when(operations.runQuery(any(), any(), any(), anyString())).thenReturn(Collections.singletonList(3L));
+        final StringBasedCosmosQuery query = createQuery("countByLastName", String.class);
+
+        final Object result = query.execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(result).isEqualTo(3L);
+        assertThat(captureQuerySpec(long.class).queryText())
+            .isEqualTo("SELECT VALUE COUNT(1) FROM r WHERE r.lastName = @_0");
+    }
+
+    @Test(expected = IncorrectResultSizeDataAccessException.class)
+    public void testRejectSeveralResultsOfSingleValueMethod() throws Exception {
+        when(operations.getConverter()).thenReturn(converter);
+        when(operations.runQuery(any(), any(), any(), anyString())).thenReturn(Arrays.asList(3L, 4L));
+        final StringBasedCosmosQuery query = createQuery("countByLastName", String.class);
+
+        query.execute(new Object[]{TestConstants.LAST_NAME});
+    }
+
+    @Test(expected = IllegalQueryException.class)
+    public void testRejectUnknownParameter() throws Exception {
+        createQuery("findByUnknown", String.class);
+    }
+
+    @Test
+    public void testReactiveSingleResult() throws Exception {
+        when(reactiveOperations.getConverter()).thenReturn(converter);
+        when(reactiveOperations.runQuery(any(), any(), any(), anyString())).thenReturn(Flux.just(PERSON));
+        final Method method = ReactivePersonQueryRepository.class.getMethod("findOneByLastName", String.class);
+        final ReactiveStringBasedCosmosQuery query = new ReactiveStringBasedCosmosQuery(
+            new ReactiveCosmosQueryMethod(method, new DefaultRepositoryMetadata(ReactivePersonQueryRepository.class),
+                new SpelAwareProxyProjectionFactory()), reactiveOperations);
+
+        final Object result = query.execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(result).isInstanceOf(Mono.class);
+        assertThat(((Mono<?>) result).block()).isEqualTo(PERSON);
+    }
+
+    private ReactiveStringBasedCosmosQuery createReactiveQuery(String methodName) throws Exception {
+        final Method method = ReactivePersonQueryRepository.class.getMethod(methodName, String.class);
+
+        return new ReactiveStringBasedCosmosQuery(new ReactiveCosmosQueryMethod(method,
+            new DefaultRepositoryMetadata(ReactivePersonQueryRepository.class), new SpelAwareProxyProjectionFactory()),
+            reactiveOperations);
+    }
+
+    /**
+     * Spring Data reports Mono methods as collection queries too, which returned the whole Flux.
+     */
+    @Test
+    public void testReactiveMonoValueResult() throws Exception {
+        when(reactiveOperations.getConverter()).thenReturn(converter);
+        when(reactiveOperations.runQuery(any(), any(), any(), anyString())).thenReturn(Flux.just(3L));
+        final ReactiveStringBasedCosmosQuery query = createReactiveQuery("countByLastName");
+
+        final Object result = query.execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(query.getQueryMethod().isMonoQuery()).isTrue();
+        assertThat(result).isInstanceOf(Mono.class);
+        assertThat(((Mono<?>) result).block()).isEqualTo(3L);
+    }
+
+    @Test
+    public void testReactiveRejectSeveralResultsOfMonoMethod() throws Exception {
+        when(reactiveOperations.getConverter()).thenReturn(converter);
+        when(reactiveOperations.runQuery(any(), any(), any(), anyString())).thenReturn(Flux.just(3L, 4L));
+        final ReactiveStringBasedCosmosQuery query = createReactiveQuery("countByLastName");
+
+        final Mono<?> result = (Mono<?>) query.execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThatThrownBy(result::block).isInstanceOf(IncorrectResultSizeDataAccessException.class);
+    }
+
+    @Test
+    public void testReactiveFluxResult() throws Exception {
+        when(reactiveOperations.getConverter()).thenReturn(converter);
+        when(reactiveOperations.runQuery(any(), any(), any(), anyString())).thenReturn(Flux.just(PERSON, PERSON));
+        final ReactiveStringBasedCosmosQuery query = createReactiveQuery("findByLastName");
+
+        final Object result = query.execute(new Object[]{TestConstants.LAST_NAME});
+
+        assertThat(query.getQueryMethod().isMonoQuery()).isFalse();
+        assertThat(result).isInstanceOf(Flux.class);
+        assertThat(((Flux<?>) result).collectList().block()).containsExactly(PERSON, PERSON);
+    }
+
+    interface PersonQueryRepository extends CosmosRepository<Person, String> {
+
+        @Query("SELECT * FROM r WHERE r.lastName = @lastName AND ARRAY_CONTAINS(@1, r.firstName) "
+            + "AND r.email != 'user@example.com'")
+        List<Person> findByNames(@Param("lastName") String lastName,
+                                 @Param("firstNames") Collection<String> firstNames);
+
+        @Query("SELECT VALUE COUNT(1) FROM r WHERE r.lastName = @0")
+        long countByLastName(String lastName);
+
+        @Query("SELECT * FROM r WHERE r.lastName = @name")
+        List<Person> findByUnknown(@Param("lastName") String lastName);
+    }
+
+    interface ReactivePersonQueryRepository extends ReactiveCosmosRepository<Person, String> {
+
+        @Query("SELECT * FROM r WHERE r.lastName = @lastName")
+        Mono<Person> findOneByLastName(@Param("lastName") String lastName);
+
+        @Query("SELECT VALUE COUNT(1) FROM r WHERE r.lastName = @0")
+        Mono<Long> countByLastName(String lastName);
+
+        @Query("SELECT * FROM r WHERE r.lastName = @0")
+        Flux<Person> findByLastName(String lastName);
+    }
+}
@@ -5,17 +5,24 @@
  */
 package com.microsoft.azure.spring.data.cosmosdb.repository.support;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.microsoft.azure.spring.data.cosmosdb.common.TestConstants;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.Document;
 import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PartitionKey;
+import com.microsoft.azure.spring.data.cosmosdb.core.mapping.PrefixIdPartitionKeyStrategy;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.Criteria;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.CriteriaType;
+import com.microsoft.azure.spring.data.cosmosdb.core.query.DocumentQuery;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Address;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Person;
 import com.microsoft.azure.spring.data.cosmosdb.domain.Student;
 import lombok.Data;
 import org.junit.Test;
 
+import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -128,6 +135,92 @@ public class CosmosEntityInformationUnitTest {
         assertThat(isVersioned).isFalse();
     }
 
+    @Test
+    public void testPartitionKeyDerivedFromId() {
+        final CosmosEntityInformation<TenantVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(TenantVolunteer.class);
+        final TenantVolunteer volunteer = new TenantVolunteer();
+        volunteer.setId("acme:42");
+
+        assertThat(entityInformation.getIdPartitionKeyValue("acme:7")).isEqualTo("acme");
+        assertThat(entityInformation.getPartitionKeyFieldValue(volunteer)).isEqualTo("acme");
+        assertThat(volunteer.getTenant()).isEqualTo("acme");
+    }
+
+    @Test
+    public void testPartitionKeyValuesOfQueryById() {
+        final CosmosEntityInformation<CodeVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(CodeVolunteer.class);
+        final Criteria ids = Criteria.getInstance(CriteriaType.IN, "id",
+            Collections.singletonList(Arrays.asList("acme:7", "umbrella:8")));
+
+        assertThat(entityInformation.getPartitionKeyValues(new DocumentQuery(ids)))
+            .hasValueSatisfying(values -> assertThat(values).containsExactly("acme", "umbrella"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectPartitionKeyDifferentFromId() {
+        final CosmosEntityInformation<TenantVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(TenantVolunteer.class);
+        final TenantVolunteer volunteer = new TenantVolunteer();
+        volunteer.setId("acme:42");
+        volunteer.setTenant("other");
+
+        entityInformation.getPartitionKeyFieldValue(volunteer);
+    }
+
+    @Test
+    public void testPartitionKeyNotDerivedFromId() {
+        final CosmosEntityInformation<VolunteerWithPartitionKey, String> entityInformation =
+                new CosmosEntityInformation<>(VolunteerWithPartitionKey.class);
+
+        assertThat(entityInformation.getIdPartitionKeyValue("acme:7")).isNull();
+    }
+
+    @Test
+    public void testComposedPartitionKey() {
+        final CosmosEntityInformation<ShiftVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(ShiftVolunteer.class);
+        final ShiftVolunteer volunteer = new ShiftVolunteer();
+        volunteer.setId("42");
+        volunteer.setTenant("acme");
+        volunteer.setMonth(202001);
+
+        assertThat(entityInformation.getPartitionKeyComponents()).containsExactly("tenant", "month");
+        assertThat(entityInformation.getPartitionKeyFieldValue(volunteer)).isEqualTo("acme|202001");
+        assertThat(volunteer.getShard()).isEqualTo("acme|202001");
+    }
+
+    @Test
+    public void testComposedPartitionKeyValuesOfQuery() {
+        final CosmosEntityInformation<ShiftVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(ShiftVolunteer.class);
+        final Criteria tenant = Criteria.getInstance(CriteriaType.IS_EQUAL, "tenant",
+            Collections.singletonList("acme"));
+        final Criteria months = Criteria.getInstance(CriteriaType.IN, "month",
+            Collections.singletonList(Arrays.asList(202001, 202002)));
+
+        assertThat(entityInformation.getPartitionKeyValues(
+            new DocumentQuery(Criteria.getInstance(CriteriaType.AND, tenant, months))))
+            .hasValueSatisfying(values -> assertThat(values).containsExactly("acme|202001", "acme|202002"));
+        assertThat(entityInformation.getPartitionKeyValues(new DocumentQuery(tenant))).isEmpty();
+    }
+
+    @Test
+    public void testNumericPartitionKey() {
+        final CosmosEntityInformation<RegionVolunteer, String> entityInformation =
+                new CosmosEntityInformation<>(RegionVolunteer.class);
+        final RegionVolunteer volunteer = new RegionVolunteer();
+        volunteer.setRegion(7);
+
+        assertThat(entityInformation.getPartitionKeyFieldValue(volunteer)).isEqualTo(7);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRejectUnsupportedPartitionKeyType() {
+        new CosmosEntityInformation<>(AddressVolunteer.class);
+    }
+
     @Document(collection = "testCollection")
     private static class Volunteer {
         String id;
@@ -180,6 +273,49 @@ public class CosmosEntityInformationUnitTest {
         }
     }
 
+    @Data
+    @Document
+    private static class TenantVolunteer {
+        private String id;
+        @PartitionKey(idStrategy = PrefixIdPartitionKeyStrategy.class)
+        private String tenant;
+    }
+
+    @Data
+    @Document
+    private static class CodeVolunteer {
+        @Id
+        private String code;
+        @PartitionKey(idStrategy = PrefixIdPartitionKeyStrategy.class)
+        private String tenant;
+    }
+
+    @Data
+    @Document
+    private static class ShiftVolunteer {
+        private String id;
+        private String tenant;
+        private int month;
+        @PartitionKey(components = {"tenant", "month"})
+        private String shard;
+    }
+
+    @Data
+    @Document
+    private static class RegionVolunteer {
+        private String id;
+        @PartitionKey
+        private int region;
+    }
+
+    @Data
+    @Document
+    private static class AddressVolunteer {
+        private String id;
+        @PartitionKey
+        private Address address;
+    }
+
     @Data
     @Document(collection = "testCollection")
     private static class VersionedVolunteer {